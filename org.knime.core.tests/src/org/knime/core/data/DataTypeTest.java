@@ -0,0 +1,145 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests the lookup of {@link DataType}s.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DataTypeTest {
+
+    /** Cell class that is used by this test only, hence its type is created in {@link #testConcurrentGetType()}. */
+    @SuppressWarnings("serial")
+    private static final class ConcurrentTestCell extends DataCell implements DoubleValue {
+        @Override
+        public double getDoubleValue() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "0";
+        }
+
+        @Override
+        protected boolean equalsDataCell(final DataCell dc) {
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    /**
+     * Tests that native types are unique, no matter through which method they are requested.
+     */
+    @Test
+    public void testNativeTypeIdentity() {
+        assertSame(StringCell.TYPE, DataType.getType(StringCell.class));
+        assertSame(DataType.getType(DoubleCell.class), DataType.getType(DoubleCell.class, null));
+        assertSame(DataType.getType(DoubleCell.class),
+            DataType.getType(DoubleCell.class, null, Collections.emptyList()));
+    }
+
+    /**
+     * Tests that threads requesting the type of a new cell class at the same time all get the same instance.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void testConcurrentGetType() throws Exception {
+        final int nrThreads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(nrThreads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<DataType>> futures = new ArrayList<>();
+            for (int i = 0; i < nrThreads; i++) {
+                final Callable<DataType> task = () -> {
+                    start.await();
+                    return DataType.getType(ConcurrentTestCell.class);
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            final DataType type = DataType.getType(ConcurrentTestCell.class);
+            for (Future<DataType> f : futures) {
+                assertSame(type, f.get());
+            }
+            assertSame(type, DataType.getType(ConcurrentTestCell.class, null));
+            assertEquals(DoubleValue.class, type.getPreferredValueClass());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the comparator of a type is the one of its preferred value and stays the same.
+     */
+    @Test
+    public void testComparator() {
+        final DataValueComparator comparator = DoubleCell.TYPE.getComparator();
+        assertSame(DoubleValue.UTILITY.getComparator(), comparator);
+        assertSame(comparator, DoubleCell.TYPE.getComparator());
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.collection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataType;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests {@link IntListCell}, {@link LongListCell} and {@link DoubleListCell} against {@link ListCell}s with the same
+ * elements.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PrimitiveListCellTest {
+
+    private static List<DataCell> createCells(final Random random, final int size, final int kind) {
+        List<DataCell> cells = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // the first element is never missing so that there is an element type
+            if (i > 0 && random.nextInt(10) == 0) {
+                cells.add(DataType.getMissingCell());
+            } else if (kind == 0) {
+                cells.add(new IntCell(random.nextInt()));
+            } else if (kind == 1) {
+                cells.add(new LongCell(random.nextLong()));
+            } else {
+                // include a few NaNs, NaN is equal to NaN for DoubleCells
+                cells.add(new DoubleCell(random.nextInt(20) == 0 ? Double.NaN : random.nextGaussian()));
+            }
+        }
+        return cells;
+    }
+
+    private static void assertSameList(final ListCell expected, final ListCell actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getElementType(), actual.getElementType());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+        Iterator<DataCell> it = actual.iterator();
+        for (DataCell c : expected) {
+            assertEquals(c, it.next());
+        }
+        assertFalse(it.hasNext());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertTrue(expected.equals(actual));
+        assertTrue(actual.equals(expected));
+    }
+
+    /**
+     * Tests that the factory creates primitive lists only if all elements are of the same primitive cell class.
+     */
+    @Test
+    public void testFactoryCreatesPrimitiveLists() {
+        Random random = new Random(1);
+        assertSame(IntListCell.class, CollectionCellFactory.createListCell(createCells(random, 100, 0)).getClass());
+        assertSame(LongListCell.class, CollectionCellFactory.createListCell(createCells(random, 100, 1)).getClass());
+        assertSame(DoubleListCell.class,
+            CollectionCellFactory.createListCell(createCells(random, 100, 2)).getClass());
+
+        // mixed types, other types, missing values with error message, no element type
+        assertSame(ListCell.class, CollectionCellFactory
+            .createListCell(Arrays.asList(new IntCell(1), new DoubleCell(2))).getClass());
+        assertSame(ListCell.class,
+            CollectionCellFactory.createListCell(Arrays.asList(new StringCell("a"), new StringCell("b"))).getClass());
+        assertSame(ListCell.class,
+            CollectionCellFactory.createListCell(Arrays.asList(new IntCell(1), new MissingCell("error"))).getClass());
+        assertSame(ListCell.class,
+            CollectionCellFactory.createListCell(Arrays.asList(DataType.getMissingCell())).getClass());
+        assertSame(ListCell.class, CollectionCellFactory.createListCell(Collections.<DataCell> emptyList()).getClass());
+    }
+
+    /**
+     * Tests elements, equality and hash code against list cells with the same elements.
+     */
+    @Test
+    public void testSameAsListCell() {
+        Random random = new Random(2);
+        for (int kind = 0; kind < 3; kind++) {
+            for (int size : new int[]{1, 63, 64, 65, 1000}) {
+                List<DataCell> cells = createCells(random, size, kind);
+                ListCell reference = new ListCell(BlobSupportDataCellList.create(cells));
+                ListCell primitive = CollectionCellFactory.createListCell(cells);
+                assertTrue(primitive instanceof AbstractPrimitiveListCell);
+                assertSameList(reference, primitive);
+                assertSameList(reference, new ListCell(primitive.getList()));
+
+                List<DataCell> otherCells = new ArrayList<>(cells);
+                otherCells.set(size / 2, otherCells.get(size / 2).isMissing() ? createCells(random, 1, kind).get(0)
+                    : DataType.getMissingCell());
+                assertNotEquals(primitive, CollectionCellFactory.createListCell(otherCells));
+            }
+        }
+    }
+
+    /**
+     * Tests the accessors of the values.
+     */
+    @Test
+    public void testValueAccess() {
+        double[] values = {1.0, -2.5, Double.NaN};
+        DoubleListCell cell = CollectionCellFactory.createDoubleListCell(values);
+        values[0] = 17;
+        assertEquals(1.0, cell.getDouble(0), 0.0);
+        assertArrayEquals(new double[]{1.0, -2.5, Double.NaN}, cell.toDoubleArray(), 0.0);
+        assertFalse(cell.containsMissing());
+        assertEquals(new DoubleCell(-2.5), cell.get(1));
+
+        IntListCell intCell = (IntListCell)CollectionCellFactory
+            .createListCell(Arrays.asList(new IntCell(4), DataType.getMissingCell(), new IntCell(6)));
+        assertTrue(intCell.containsMissing());
+        assertTrue(intCell.isMissing(1));
+        assertFalse(intCell.isMissing(2));
+        assertEquals(6, intCell.getInt(2));
+        assertArrayEquals(new long[]{3, 4}, CollectionCellFactory.createLongListCell(new long[]{3, 4}).toLongArray());
+        try {
+            intCell.get(3);
+            throw new AssertionError("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Tests the bulk serializers, with lists larger than a serialization chunk.
+     *
+     * @throws IOException if that happens
+     */
+    @Test
+    public void testSerialization() throws IOException {
+        Random random = new Random(3);
+        testSerialization(new IntListCell.IntListCellSerializer(),
+            (IntListCell)CollectionCellFactory.createListCell(createCells(random, 20000, 0)));
+        testSerialization(new LongListCell.LongListCellSerializer(),
+            (LongListCell)CollectionCellFactory.createListCell(createCells(random, 20000, 1)));
+        testSerialization(new DoubleListCell.DoubleListCellSerializer(),
+            (DoubleListCell)CollectionCellFactory.createListCell(createCells(random, 20000, 2)));
+        testSerialization(new DoubleListCell.DoubleListCellSerializer(),
+            CollectionCellFactory.createDoubleListCell(new double[0]));
+    }
+
+    private static <T extends AbstractPrimitiveListCell> void testSerialization(final DataCellSerializer<T> serializer,
+        final T cell) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TestOutput out = new TestOutput(bytes)) {
+            serializer.serialize(cell, out);
+        }
+        T read;
+        try (TestInput in = new TestInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = serializer.deserialize(in);
+            assertEquals(-1, in.read());
+        }
+        assertSameList(cell, read);
+    }
+
+    private static final class TestOutput extends DataOutputStream implements DataCellDataOutput {
+        TestOutput(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void writeDataCell(final DataCell cell) throws IOException {
+            throw new UnsupportedOperationException("Elements must not be written as cells");
+        }
+    }
+
+    private static final class TestInput extends DataInputStream implements DataCellDataInput {
+        TestInput(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public DataCell readDataCell() throws IOException {
+            throw new UnsupportedOperationException("Elements must not be read as cells");
+        }
+    }
+}
@@ -54,6 +54,7 @@
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -64,6 +65,7 @@
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.stream.IntStream;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.eclipse.core.runtime.Platform;
@@ -75,12 +77,15 @@
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
+import org.knime.core.data.MissingCell;
 import org.knime.core.data.MissingValue;
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.util.ObjectToDataCellConverter;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
@@ -88,7 +93,9 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.DefaultNodeProgressMonitor;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettings;
 import org.knime.core.util.DuplicateKeyException;
 import org.knime.core.util.FileUtil;
 
@@ -636,6 +643,137 @@ public void run() {
         }
     } // testBigFile()
 
+    /** Tests that string columns written to disc are read back with shared cell instances per distinct value, also
+     * for columns with more distinct values than fit into the dictionary and for columns whose values only show up
+     * once the dictionary budget of the table is used up. */
+    public void testStringDictionaryEncoding() {
+        DataTableSpec spec = new DataTableSpec(new String[]{"nominal", "unique", "long", "late"},
+            new DataType[]{StringCell.TYPE, StringCell.TYPE, StringCell.TYPE, StringCell.TYPE});
+        final int rowCount = 10000;
+        final int lateStart = rowCount - 10;
+        final String longString = RandomStringUtils.randomAlphanumeric(1000);
+        DataContainer container = new DataContainer(spec, true, /* no rows in mem */ 0);
+        for (int i = 0; i < rowCount; i++) {
+            DataCell nominal = i % 10 == 9 ? DataType.getMissingCell() : new StringCell("Value " + (i % 10));
+            DataCell late = i < lateStart ? DataType.getMissingCell() : new StringCell("Late " + (i % 2));
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), nominal,
+                new StringCell("Unique " + i), new StringCell(longString), late));
+        }
+        container.close();
+        ContainerTable table = container.getBufferedTable();
+        assertTrue(table.getBuffer().isFlushedToDisk());
+
+        DataCell[] nominalCells = new DataCell[10];
+        int i = 0;
+        for (DataRow row : table) {
+            DataCell nominal = row.getCell(0);
+            if (i % 10 == 9) {
+                assertTrue(nominal.isMissing());
+            } else {
+                assertEquals(new StringCell("Value " + (i % 10)), nominal);
+                if (nominalCells[i % 10] == null) {
+                    nominalCells[i % 10] = nominal;
+                } else {
+                    assertSame(nominalCells[i % 10], nominal);
+                }
+            }
+            assertEquals(new StringCell("Unique " + i), row.getCell(1));
+            assertEquals(new StringCell(longString), row.getCell(2));
+            if (i < lateStart) {
+                assertTrue(row.getCell(3).isMissing());
+            } else {
+                assertEquals(new StringCell("Late " + (i % 2)), row.getCell(3));
+            }
+            i++;
+        }
+        assertEquals(rowCount, i);
+    }
+
+    /** Strings with unpaired surrogates, which UTF-8 can't represent, are read back unchanged. */
+    public void testStringsWithUnpairedSurrogates() {
+        final String[] values = new String[]{"x\ud800y", "\udc00", "a\ud83d", "\ud83d\ude00 paired",
+            "x\ud800y" + RandomStringUtils.randomAlphanumeric(1000), "plain"};
+        DataTableSpec spec = new DataTableSpec(new String[]{"string"}, new DataType[]{StringCell.TYPE});
+        DataContainer container = new DataContainer(spec, true, /* no rows in mem */ 0);
+        for (int i = 0; i < 2 * values.length; i++) {
+            container.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)i), new StringCell(values[i % values.length])));
+        }
+        container.close();
+        ContainerTable table = container.getBufferedTable();
+        assertTrue(table.getBuffer().isFlushedToDisk());
+        int i = 0;
+        for (DataRow row : table) {
+            assertEquals("Row " + i, values[i % values.length], ((StringCell)row.getCell(0)).getStringValue());
+            i++;
+        }
+        assertEquals(2 * values.length, i);
+    }
+
+    /** Round trip of the core cell types, which are written without serializer, and of missing cells, which are
+     * written as row bit mask or individually, depending on their number. */
+    public void testCoreCellTypesAndMissingCells() {
+        final int coreColCount = 5;
+        final int colCount = coreColCount + 15;
+        String[] colNames = new String[colCount];
+        DataType[] colTypes = new DataType[colCount];
+        DataType[] coreTypes = new DataType[]{IntCell.TYPE, LongCell.TYPE, DoubleCell.TYPE, BooleanCell.TYPE,
+            StringCell.TYPE};
+        for (int c = 0; c < colCount; c++) {
+            colNames[c] = "Column " + c;
+            colTypes[c] = c < coreColCount ? coreTypes[c] : IntCell.TYPE;
+        }
+        final int rowCount = 3000;
+        final String unicodeString = "\u00e4\u00f6\u00fc \u20ac \ud83d\ude00 \u0000 ";
+        DataContainer container = new DataContainer(new DataTableSpec(colNames, colTypes), true, /* no rows in mem */ 0);
+        for (int i = 0; i < rowCount; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), createCoreCellTypesRow(i, colCount,
+                unicodeString)));
+        }
+        container.close();
+        ContainerTable table = container.getBufferedTable();
+        assertTrue(table.getBuffer().isFlushedToDisk());
+
+        int i = 0;
+        for (DataRow row : table) {
+            DataCell[] expected = createCoreCellTypesRow(i, colCount, unicodeString);
+            assertEquals(colCount, row.getNumCells());
+            for (int c = 0; c < colCount; c++) {
+                assertEquals("Cell " + c + " in row " + i, expected[c], row.getCell(c));
+                if (expected[c] instanceof MissingCell) {
+                    assertEquals(((MissingCell)expected[c]).getError(), ((MissingCell)row.getCell(c)).getError());
+                }
+            }
+            i++;
+        }
+        assertEquals(rowCount, i);
+    }
+
+    /** Row i of {@link #testCoreCellTypesAndMissingCells()}: all core cells missing (written as bit mask), a single
+     * missing cell (written individually) or a missing cell with error cause. */
+    private static DataCell[] createCoreCellTypesRow(final int i, final int colCount, final String unicodeString) {
+        DataCell[] cells = new DataCell[colCount];
+        cells[0] = new IntCell(i % 2 == 0 ? i : Integer.MIN_VALUE + i);
+        cells[1] = new LongCell(Long.MAX_VALUE - i);
+        cells[2] = new DoubleCell(i % 7 == 0 ? Double.NaN : i / 3.0);
+        cells[3] = BooleanCell.get(i % 2 == 0);
+        cells[4] = new StringCell(i % 5 == 0 ? unicodeString + i : unicodeString);
+        for (int c = 5; c < colCount; c++) {
+            cells[c] = new IntCell(c * i);
+        }
+        switch (i % 3) {
+            case 0:
+                Arrays.fill(cells, 0, 5, DataType.getMissingCell());
+                break;
+            case 1:
+                cells[i % colCount] = DataType.getMissingCell();
+                break;
+            default:
+                cells[i % 5] = new MissingCell("Error in row " + i);
+        }
+        return cells;
+    }
+
     /** Test if the domain is retained. */
     public void testTableDomain() {
         RowKey r1Key = new RowKey("row 1");
@@ -808,6 +946,64 @@ public void run() {
         }
     }
 
+    /**
+     * Tests saving tables with the binary data written as plain file next to the zip file (see
+     * {@link org.knime.core.node.KNIMEConstants#PROPERTY_TABLE_PLAIN_DATA_FILE}) and reading them back, both for a
+     * table held in memory and for a table flushed to disk.
+     *
+     * @throws Exception if writing or reading fails
+     */
+    @Test
+    public void testWriteReadPlainDataFile() throws Exception {
+        final String oldValue = System.getProperty(KNIMEConstants.PROPERTY_TABLE_PLAIN_DATA_FILE);
+        System.setProperty(KNIMEConstants.PROPERTY_TABLE_PLAIN_DATA_FILE, Boolean.TRUE.toString());
+        final File dir = FileUtil.createTempDir("testWriteReadPlainDataFile");
+        try {
+            for (int maxCellsInMemory : new int[]{0, Integer.MAX_VALUE}) {
+                final DataContainer c = new DataContainer(SPEC_STR_INT_DBL, true, maxCellsInMemory);
+                IntStream.range(0, 1000).mapToObj(i -> new DefaultRow(RowKey.createRowKey((long)i),
+                    new StringCell(Integer.toString(i)), new IntCell(i), new DoubleCell(i + .5)))
+                    .forEach(r -> c.addRowToTable(r));
+                c.close();
+                final ContainerTable writeTable = c.getBufferedTable();
+
+                final File file = new File(dir, "data.zip");
+                writeTable.saveToFile(file, new NodeSettings("table"), new ExecutionMonitor());
+                final File plainDataFile = new File(dir, "data.bin");
+                Assert.assertTrue("No plain data file written", plainDataFile.isFile());
+                try (ZipFile zipFile = new ZipFile(file)) {
+                    Assert.assertNull("Data must not be added to zip file", zipFile.getEntry(Buffer.ZIP_ENTRY_DATA));
+                }
+
+                final ContainerTable readTable = DataContainer.readFromZip(file);
+                try (final CloseableRowIterator writeIt = writeTable.iterator();
+                        final CloseableRowIterator readIt = readTable.iterator()) {
+                    while (writeIt.hasNext() && readIt.hasNext()) {
+                        final DataRow refRow = writeIt.next();
+                        final DataRow dataRow = readIt.next();
+                        Assert.assertEquals("Row key", refRow.getKey(), dataRow.getKey());
+                        for (int j = 0; j < refRow.getNumCells(); j++) {
+                            Assert.assertEquals("Cell " + j + " in row " + refRow.getKey(), refRow.getCell(j),
+                                dataRow.getCell(j));
+                        }
+                    }
+                    Assert.assertFalse("Read table has " + writeTable.size() + " rows",
+                        writeIt.hasNext() || readIt.hasNext());
+                }
+                readTable.clear();
+                Assert.assertTrue("Plain data file deleted with read table", plainDataFile.isFile());
+                writeTable.clear();
+            }
+        } finally {
+            if (oldValue == null) {
+                System.clearProperty(KNIMEConstants.PROPERTY_TABLE_PLAIN_DATA_FILE);
+            } else {
+                System.setProperty(KNIMEConstants.PROPERTY_TABLE_PLAIN_DATA_FILE, oldValue);
+            }
+            FileUtil.deleteRecursively(dir);
+        }
+    }
+
     /**
      * Test that even medium-sized tables (larger then the container's maximum number of cells) are kept in memory. Also
      * test that once the table has been evicted from memory, it is read back into memory on next iteration.
@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.convert;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Date;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.convert.datacell.JavaToDataCellBatchConverter;
+import org.knime.core.data.convert.datacell.JavaToDataCellConverterRegistry;
+import org.knime.core.data.convert.java.DataCellToJavaBatchConverter;
+import org.knime.core.data.convert.java.DataCellToJavaConverterRegistry;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests the batch converters of the {@link DataCellToJavaConverterRegistry} and the
+ * {@link JavaToDataCellConverterRegistry}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BatchConversionTest {
+
+    private static <D> DataCellToJavaBatchConverter<D> toJava(final DataType type, final Class<D> destType) {
+        return DataCellToJavaConverterRegistry.getInstance().getBatchConverter(type, destType).get();
+    }
+
+    private static <S> JavaToDataCellBatchConverter<S> toCells(final Class<S> sourceType, final DataType type) {
+        return JavaToDataCellConverterRegistry.getInstance().getBatchConverter(sourceType, type, null).get();
+    }
+
+    /**
+     * Tests conversion of double cells (including a missing cell) into a double array and back.
+     *
+     * @throws Exception When something went wrong
+     */
+    @Test
+    public void testDoubleRoundTrip() throws Exception {
+        final DataCell[] cells = {new DoubleCell(1.5), DataType.getMissingCell(), new DoubleCell(-3.0)};
+        final double[] values = new double[4];
+        final boolean[] missing = new boolean[4];
+        toJava(DoubleCell.TYPE, double[].class).convert(cells, cells.length, values, 1, missing);
+        assertArrayEquals(new double[]{0.0, 1.5, Double.NaN, -3.0}, values, 0.0);
+        assertArrayEquals(new boolean[]{false, false, true, false}, missing);
+
+        final DataCell[] converted = new DataCell[3];
+        toCells(double[].class, DoubleCell.TYPE).convert(values, 1, 3, converted, missing);
+        assertArrayEquals(cells, converted);
+    }
+
+    /**
+     * Tests the fast paths of the other built-in types.
+     *
+     * @throws Exception When something went wrong
+     */
+    @Test
+    public void testBuiltInTypes() throws Exception {
+        final DataCell[] ints = {new IntCell(3), new IntCell(-7)};
+        final int[] intValues = new int[2];
+        toJava(IntCell.TYPE, int[].class).convert(ints, 2, intValues, 0, null);
+        assertArrayEquals(new int[]{3, -7}, intValues);
+
+        final long[] longValues = new long[2];
+        toJava(IntCell.TYPE, long[].class).convert(ints, 2, longValues, 0, null);
+        assertArrayEquals(new long[]{3L, -7L}, longValues);
+
+        final DataCell[] longs = {new LongCell(Long.MAX_VALUE), new LongCell(1L)};
+        final DataCell[] longCells = new DataCell[2];
+        toJava(LongCell.TYPE, long[].class).convert(longs, 2, longValues, 0, null);
+        toCells(long[].class, LongCell.TYPE).convert(longValues, 0, 2, longCells, null);
+        assertArrayEquals(longs, longCells);
+
+        final DataCell[] booleans = {BooleanCell.TRUE, BooleanCell.FALSE};
+        final boolean[] booleanValues = new boolean[2];
+        final DataCell[] booleanCells = new DataCell[2];
+        toJava(BooleanCell.TYPE, boolean[].class).convert(booleans, 2, booleanValues, 0, null);
+        toCells(boolean[].class, BooleanCell.TYPE).convert(booleanValues, 0, 2, booleanCells, null);
+        assertArrayEquals(booleans, booleanCells);
+
+        final DataCell[] strings = {new StringCell("foo"), DataType.getMissingCell()};
+        final String[] stringValues = new String[2];
+        final DataCell[] stringCells = new DataCell[2];
+        toJava(StringCell.TYPE, String[].class).convert(strings, 2, stringValues, 0, null);
+        assertArrayEquals(new String[]{"foo", null}, stringValues);
+        toCells(String[].class, StringCell.TYPE).convert(stringValues, 0, 2, stringCells, null);
+        assertArrayEquals(strings, stringCells);
+    }
+
+    /**
+     * Tests that types without fast path are converted via the registered converters.
+     *
+     * @throws Exception When something went wrong
+     */
+    @Test
+    public void testFallback() throws Exception {
+        final DataCell[] cells = {new IntCell(42), DataType.getMissingCell()};
+        final Integer[] values = new Integer[2];
+        toJava(IntCell.TYPE, Integer[].class).convert(cells, 2, values, 0, null);
+        assertArrayEquals(new Integer[]{42, null}, values);
+
+        final DataCell[] converted = new DataCell[2];
+        toCells(Integer[].class, IntCell.TYPE).convert(values, 0, 2, converted, null);
+        assertArrayEquals(cells, converted);
+    }
+
+    /**
+     * Tests that missing cells in primitive arrays must be flagged.
+     *
+     * @throws Exception When something went wrong
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testMissingWithoutFlags() throws Exception {
+        toJava(IntCell.TYPE, int[].class).convert(new DataCell[]{DataType.getMissingCell()}, 1, new int[1], 0, null);
+    }
+
+    /**
+     * Tests that conversions between incompatible types are not offered.
+     */
+    @Test
+    public void testNoConverter() {
+        assertFalse(DataCellToJavaConverterRegistry.getInstance()
+            .getBatchConverter(StringCell.TYPE, Date[].class).isPresent());
+    }
+}
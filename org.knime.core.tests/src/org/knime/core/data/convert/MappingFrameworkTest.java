@@ -59,6 +59,7 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.junit.Test;
@@ -80,6 +81,8 @@
 import org.knime.core.data.convert.map.CellValueProducer;
 import org.knime.core.data.convert.map.CellValueProducerFactory;
 import org.knime.core.data.convert.map.ConsumptionPath;
+import org.knime.core.data.convert.map.DataRowConsumer;
+import org.knime.core.data.convert.map.DataRowProducer;
 import org.knime.core.data.convert.map.Destination;
 import org.knime.core.data.convert.map.MappingFramework;
 import org.knime.core.data.convert.map.ProducerRegistry;
@@ -435,6 +438,76 @@ public void producerTest() throws Exception {
         assertEquals(LongCell.TYPE, spec.getColumnSpec(2).getType());
     }
 
+    /**
+     * Tests that a {@link DataRowProducer} creates its producers once and reuses them for all rows.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void rowProducerReusesProducers() throws Exception {
+        final AtomicInteger numCreated = new AtomicInteger();
+        final SimpleCellValueProducerFactory<H2OSource, String, Integer, H2OParameters> countingProducer =
+            new SimpleCellValueProducerFactory<H2OSource, String, Integer, H2OParameters>("INT", Integer.class,
+                (c, p) -> (Integer)c.h2oFrame.get(p.rowIndex)[p.columnIndex]) {
+                @Override
+                public CellValueProducer<H2OSource, Integer, H2OParameters> create() {
+                    numCreated.incrementAndGet();
+                    return super.create();
+                }
+            };
+
+        final ProductionPath[] mapping = new ProductionPath[]{new ProductionPath(countingProducer,
+            JavaToDataCellConverterRegistry.getInstance().getConverterFactories(Integer.class, IntCell.TYPE).stream()
+                .findFirst().get())};
+
+        final H2OSource testSource = new H2OSource();
+        final H2OParameters[] parameters = new H2OParameters[]{new H2OParameters()};
+        final DataRowProducer<H2OParameters> producer =
+            MappingFramework.createDataRowProducer(testSource, mapping, null);
+        for (int i = 0; i < 5; i++) {
+            testSource.h2oFrame.add(new Object[]{new Integer(i)});
+            parameters[0].rowIndex = i;
+            final DataRow row = producer.produceDataRow(RowKey.createRowKey((long)i), parameters);
+            assertEquals(i, ((IntValue)row.getCell(0)).getIntValue());
+        }
+        assertEquals("Producer created more than once", 1, numCreated.get());
+    }
+
+    /**
+     * Tests that a {@link DataRowConsumer} creates its consumers once and reuses them for all rows.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void rowConsumerReusesConsumers() throws Exception {
+        final AtomicInteger numCreated = new AtomicInteger();
+        final SimpleCellValueConsumerFactory<H2ODestination, Integer, String, H2OParameters> countingConsumer =
+            new SimpleCellValueConsumerFactory<H2ODestination, Integer, String, H2OParameters>(Integer.class, "INT",
+                (c, v, p) -> c.h2oFrame.get(p.rowIndex)[p.columnIndex] = v) {
+                @Override
+                public CellValueConsumer<H2ODestination, Integer, H2OParameters> create() {
+                    numCreated.incrementAndGet();
+                    return super.create();
+                }
+            };
+
+        final ConsumptionPath[] mapping = new ConsumptionPath[]{new ConsumptionPath(
+            DataCellToJavaConverterRegistry.getInstance().getConverterFactories(IntCell.TYPE, Integer.class).stream()
+                .findFirst().get(),
+            countingConsumer)};
+
+        final H2ODestination testSink = new H2ODestination();
+        final H2OParameters[] parameters = new H2OParameters[]{new H2OParameters()};
+        final DataRowConsumer<H2OParameters> consumer = MappingFramework.createDataRowConsumer(testSink, mapping);
+        for (int i = 0; i < 5; i++) {
+            testSink.h2oFrame.add(new Object[1]);
+            parameters[0].rowIndex = i;
+            consumer.consumeDataRow(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)), parameters);
+            assertEquals(new Integer(i), testSink.h2oFrame.get(i)[0]);
+        }
+        assertEquals("Consumer created more than once", 1, numCreated.get());
+    }
+
     @Test
     public void parentTest() throws Exception {
         class HitchHikersSource extends H2OSource {
@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.filestore.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests {@link FileStoreContentIndex}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FileStoreContentIndexTest {
+
+    private File m_tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        m_tempDir = FileUtil.createTempDir(getClass().getSimpleName());
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteRecursively(m_tempDir);
+    }
+
+    private File write(final String path, final byte[] content) throws IOException {
+        File f = new File(m_tempDir, path);
+        Files.createDirectories(f.getParentFile().toPath());
+        Files.write(f.toPath(), content);
+        return f;
+    }
+
+    private static byte[] randomBytes(final long seed, final int length) {
+        byte[] result = new byte[length];
+        new Random(seed).nextBytes(result);
+        return result;
+    }
+
+    /** Copies directories, identical files in different sources end up as the same file. */
+    @Test
+    public void testDirectoryWithDuplicates() throws IOException {
+        byte[] content1 = randomBytes(1, 10000);
+        byte[] content2 = randomBytes(2, 10000); // same size, different content
+        byte[] small = randomBytes(3, 10);
+        write("src1/000/000/1_file", content1);
+        write("src1/000/000/2_file", content2);
+        write("src1/000/000/3_small", small);
+        write("src2/000/000/1_other", content1);
+
+        FileStoreContentIndex index = new FileStoreContentIndex();
+        File dest1 = new File(m_tempDir, "dest1");
+        File dest2 = new File(m_tempDir, "dest2");
+        index.linkOrCopy(new File(m_tempDir, "src1"), dest1);
+        index.linkOrCopy(new File(m_tempDir, "src2"), dest2);
+
+        File copy1 = new File(dest1, "000/000/1_file");
+        File copy2 = new File(dest1, "000/000/2_file");
+        File copyOther = new File(dest2, "000/000/1_other");
+        assertArrayEquals(content1, Files.readAllBytes(copy1.toPath()));
+        assertArrayEquals(content2, Files.readAllBytes(copy2.toPath()));
+        assertArrayEquals(small, Files.readAllBytes(new File(dest1, "000/000/3_small").toPath()));
+        assertArrayEquals(content1, Files.readAllBytes(copyOther.toPath()));
+        assertFalse(Files.isSameFile(copy1.toPath(), copy2.toPath()));
+        if (Files.isSameFile(copy1.toPath(), new File(m_tempDir, "src1/000/000/1_file").toPath())) {
+            // file system supports links, identical content is shared
+            assertTrue(Files.isSameFile(copy1.toPath(), copyOther.toPath()));
+        }
+    }
+
+    /** Replacing an existing target must not modify the file it was linked to before. */
+    @Test
+    public void testReplaceExistingTarget() throws IOException {
+        byte[] content1 = randomBytes(1, 5000);
+        byte[] content2 = randomBytes(2, 5000);
+        File source1 = write("source1", content1);
+        File source2 = write("source2", content2);
+        File dest = new File(m_tempDir, "dest");
+
+        new FileStoreContentIndex().linkOrCopy(source1, dest);
+        new FileStoreContentIndex().linkOrCopy(source2, dest);
+        assertArrayEquals(content2, Files.readAllBytes(dest.toPath()));
+        assertArrayEquals(content1, Files.readAllBytes(source1.toPath()));
+
+        // linking a file onto itself keeps the content
+        new FileStoreContentIndex().linkOrCopy(source2, dest);
+        assertArrayEquals(content2, Files.readAllBytes(dest.toPath()));
+    }
+
+    /** Not existing sources are ignored. */
+    @Test
+    public void testMissingSource() throws IOException {
+        File dest = new File(m_tempDir, "dest");
+        new FileStoreContentIndex().linkOrCopy(new File(m_tempDir, "missing"), dest);
+        assertFalse(dest.exists());
+    }
+}
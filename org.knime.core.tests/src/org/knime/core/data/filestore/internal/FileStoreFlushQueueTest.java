@@ -0,0 +1,172 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.filestore.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.filestore.FileStore;
+import org.knime.core.data.filestore.FileStoreCell;
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Tests {@link FileStoreFlushQueue}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FileStoreFlushQueueTest {
+
+    private ExecutorService m_executor;
+
+    /** Creates the executor, asynchronous flushing is disabled by default. */
+    @Before
+    public void setUp() {
+        m_executor = Executors.newFixedThreadPool(2);
+    }
+
+    /** Shuts down the executor. */
+    @After
+    public void tearDown() {
+        m_executor.shutdownNow();
+    }
+
+    /** Asynchronous flushing is opt-in. */
+    @Test
+    public void testDisabledByDefault() {
+        if (System.getProperty(KNIMEConstants.PROPERTY_FILESTORE_FLUSH_THREADS) == null) {
+            assertNull("Asynchronous flushing enabled by default", FileStoreFlushQueue.createIfEnabled());
+        }
+    }
+
+    /** All cells are flushed exactly once when {@link FileStoreFlushQueue#await()} returns. */
+    @Test
+    public void testAllCellsFlushed() throws IOException {
+        FileStoreFlushQueue queue = new FileStoreFlushQueue(m_executor);
+        AtomicInteger flushCount = new AtomicInteger();
+        final int nrCells = 4 * FileStoreFlushQueue.MAX_PENDING_FLUSHES;
+        TestCell[] cells = new TestCell[nrCells];
+        for (int i = 0; i < nrCells; i++) {
+            cells[i] = new TestCell(flushCount, false);
+            queue.submit(cells[i]);
+        }
+        queue.await();
+        assertEquals("Number of flushed cells", nrCells, flushCount.get());
+        for (TestCell cell : cells) {
+            assertEquals("Number of flushes of single cell", 1, cell.m_flushCount);
+        }
+    }
+
+    /** A failing flush is reported by {@link FileStoreFlushQueue#await()}. */
+    @Test
+    public void testFailurePropagated() throws IOException {
+        FileStoreFlushQueue queue = new FileStoreFlushQueue(m_executor);
+        AtomicInteger flushCount = new AtomicInteger();
+        queue.submit(new TestCell(flushCount, false));
+        queue.submit(new TestCell(flushCount, true));
+        queue.submit(new TestCell(flushCount, false));
+        try {
+            queue.await();
+            fail("Expected failure of flush");
+        } catch (IOException ioe) {
+            assertEquals("Root cause", "Flush failed", ioe.getCause().getMessage());
+        }
+        try {
+            queue.submit(new TestCell(flushCount, false));
+            fail("Expected failure on submit after failed flush");
+        } catch (IOException ioe) {
+            // expected
+        }
+    }
+
+    private static final class TestCell extends FileStoreCell {
+
+        private final AtomicInteger m_totalFlushCount;
+
+        private final boolean m_fail;
+
+        private int m_flushCount;
+
+        TestCell(final AtomicInteger totalFlushCount, final boolean fail) {
+            super(new FileStore[0]);
+            m_totalFlushCount = totalFlushCount;
+            m_fail = fail;
+        }
+
+        @Override
+        protected void flushToFileStore() throws IOException {
+            m_flushCount++;
+            m_totalFlushCount.incrementAndGet();
+            if (m_fail) {
+                throw new IOException("Flush failed");
+            }
+        }
+
+        @Override
+        protected boolean equalsDataCell(final DataCell dc) {
+            return this == dc;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
+        @Override
+        public String toString() {
+            return "TestCell";
+        }
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.filestore.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests {@link FileStorePack}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FileStorePackTest {
+
+    private File m_tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        m_tempDir = FileUtil.createTempDir(getClass().getSimpleName());
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteRecursively(m_tempDir);
+    }
+
+    private File write(final String path, final byte[] content) throws IOException {
+        File f = new File(m_tempDir, path);
+        Files.createDirectories(f.getParentFile().toPath());
+        Files.write(f.toPath(), content);
+        return f;
+    }
+
+    private static byte[] randomBytes(final long seed, final int length) {
+        byte[] result = new byte[length];
+        new Random(seed).nextBytes(result);
+        return result;
+    }
+
+    /** Small files are packed, large files are saved as files, packed files are extracted on demand. */
+    @Test
+    public void testWriteAndExtract() throws IOException {
+        byte[] small1 = randomBytes(1, 100);
+        byte[] small2 = new byte[0];
+        byte[] large = randomBytes(3, (int)FileStorePack.MAX_PACKED_FILE_SIZE + 1);
+        write("src/000/000/1_small", small1);
+        write("src/000/001/1001_empty", small2);
+        write("src/000/000/2_large", large);
+
+        File saveLocation = new File(m_tempDir, "saved");
+        FileStorePack.write(new File(m_tempDir, "src"), null, saveLocation, new FileStoreContentIndex());
+        assertFalse(new File(saveLocation, "000/000/1_small").exists());
+        assertFalse(new File(saveLocation, "000/001/1001_empty").exists());
+        assertArrayEquals(large, Files.readAllBytes(new File(saveLocation, "000/000/2_large").toPath()));
+
+        FileStorePack pack = FileStorePack.open(new File(saveLocation, FileStorePack.PACK_FILE_NAME));
+        assertEquals("Number of packed files", 2, pack.size());
+        assertTrue(pack.contains("000/000/1_small"));
+        assertFalse(pack.contains("000/000/2_large"));
+
+        File extracted = new File(m_tempDir, "extracted/000/000/1_small");
+        assertTrue(pack.extract("000/000/1_small", extracted));
+        assertArrayEquals(small1, Files.readAllBytes(extracted.toPath()));
+        File extractedEmpty = new File(m_tempDir, "extracted/000/001/1001_empty");
+        assertTrue(pack.extract("000/001/1001_empty", extractedEmpty));
+        assertEquals(0L, extractedEmpty.length());
+        assertFalse(pack.extract("000/000/3_unknown", new File(m_tempDir, "extracted/000/000/3_unknown")));
+    }
+
+    /** Saving a directory loaded from a pack contains extracted, new and not extracted files. */
+    @Test
+    public void testRewriteWithExistingPack() throws IOException {
+        byte[] small1 = randomBytes(1, 100);
+        byte[] small2 = randomBytes(2, 200);
+        byte[] small3 = randomBytes(3, 300);
+        write("src/000/000/1_a", small1);
+        write("src/000/000/2_b", small2);
+        File saved1 = new File(m_tempDir, "saved1");
+        FileStorePack.write(new File(m_tempDir, "src"), null, saved1, new FileStoreContentIndex());
+
+        // "load": pack is in the new directory, one file extracted, one file added
+        File loaded = new File(m_tempDir, "loaded");
+        Files.createDirectories(loaded.toPath());
+        File packFile = new File(loaded, FileStorePack.PACK_FILE_NAME);
+        Files.copy(new File(saved1, FileStorePack.PACK_FILE_NAME).toPath(), packFile.toPath());
+        FileStorePack pack = FileStorePack.open(packFile);
+        pack.extract("000/000/1_a", new File(loaded, "000/000/1_a"));
+        write("loaded/000/000/3_c", small3);
+
+        File saved2 = new File(m_tempDir, "saved2");
+        FileStorePack.write(loaded, pack, saved2, new FileStoreContentIndex());
+        FileStorePack pack2 = FileStorePack.open(new File(saved2, FileStorePack.PACK_FILE_NAME));
+        assertEquals("Number of packed files", 3, pack2.size());
+        File out = new File(m_tempDir, "out");
+        for (String name : new String[]{"1_a", "2_b", "3_c"}) {
+            assertTrue(pack2.extract("000/000/" + name, new File(out, name)));
+        }
+        assertArrayEquals(small1, Files.readAllBytes(new File(out, "1_a").toPath()));
+        assertArrayEquals(small2, Files.readAllBytes(new File(out, "2_b").toPath()));
+        assertArrayEquals(small3, Files.readAllBytes(new File(out, "3_c").toPath()));
+    }
+
+    /** File stores that are directories are saved as directories and survive another save, files currently extracted
+     * are not packed. */
+    @Test
+    public void testDirectoryFileStoreRoundTrip() throws IOException {
+        byte[] small1 = randomBytes(1, 100);
+        byte[] small2 = randomBytes(2, 200);
+        byte[] small3 = randomBytes(3, 300);
+        write("src/000/000/1_dir/a", small1);
+        write("src/000/000/1_dir/sub/b", small2);
+        Files.createDirectories(new File(m_tempDir, "src/000/000/2_emptyDir").toPath());
+        write("src/000/000/3_file", small3);
+        write("src/000/000/.4_extracting.tmp", small3);
+
+        File saved1 = new File(m_tempDir, "saved1");
+        FileStorePack.write(new File(m_tempDir, "src"), null, saved1, new FileStoreContentIndex());
+        FileStorePack pack = FileStorePack.open(new File(saved1, FileStorePack.PACK_FILE_NAME));
+        assertEquals("Number of packed files", 1, pack.size());
+        assertTrue(pack.contains("000/000/3_file"));
+
+        // "load": the saved directory is the file store directory, then save again
+        File saved2 = new File(m_tempDir, "saved2");
+        FileStorePack.write(saved1, pack, saved2, new FileStoreContentIndex());
+        for (File saved : new File[]{saved1, saved2}) {
+            assertArrayEquals(small1, Files.readAllBytes(new File(saved, "000/000/1_dir/a").toPath()));
+            assertArrayEquals(small2, Files.readAllBytes(new File(saved, "000/000/1_dir/sub/b").toPath()));
+            assertTrue(new File(saved, "000/000/2_emptyDir").isDirectory());
+            assertFalse(new File(saved, "000/000/.4_extracting.tmp").exists());
+        }
+        FileStorePack pack2 = FileStorePack.open(new File(saved2, FileStorePack.PACK_FILE_NAME));
+        assertEquals("Number of packed files", 1, pack2.size());
+        File extracted = new File(m_tempDir, "extracted/3_file");
+        assertTrue(pack2.extract("000/000/3_file", extracted));
+        assertArrayEquals(small3, Files.readAllBytes(extracted.toPath()));
+    }
+
+    /** No pack is created for directories without small files. */
+    @Test
+    public void testNoSmallFiles() throws IOException {
+        write("src/000/000/1_large", randomBytes(1, (int)FileStorePack.MAX_PACKED_FILE_SIZE + 10));
+        File saveLocation = new File(m_tempDir, "saved");
+        FileStorePack.write(new File(m_tempDir, "src"), null, saveLocation, new FileStoreContentIndex());
+        assertFalse(new File(saveLocation, FileStorePack.PACK_FILE_NAME).exists());
+        assertTrue(new File(saveLocation, "000/000/1_large").isFile());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.vector.bitvector;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.vector.bitvector.BitVectorSimilarityIndex.Match;
+import org.knime.core.data.vector.bitvector.BitVectorSimilarityIndex.Similarity;
+
+/**
+ * Tests {@link BitVectorSimilarityIndex} against pairwise comparisons.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BitVectorSimilarityIndexTest {
+
+    private static List<BitVectorValue> createVectors(final Random random, final int count) {
+        List<BitVectorValue> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // mixed lengths and densities, some empty vectors
+            int length = 64 + random.nextInt(1024);
+            DenseBitVector vector = new DenseBitVector(length);
+            int nrBits = random.nextInt(i % 10 == 0 ? 3 : 200);
+            for (int b = 0; b < nrBits; b++) {
+                vector.set(random.nextInt(length));
+            }
+            result.add(i % 3 == 0 ? new SparseBitVectorCellFactory(vector.toHexString()).createDataCell()
+                : new DenseBitVectorCellFactory(vector).createDataCell());
+        }
+        return result;
+    }
+
+    private static double similarity(final Similarity similarity, final BitVectorValue bv1,
+        final BitVectorValue bv2) {
+        switch (similarity) {
+            case TANIMOTO:
+                return BitVectorUtil.tanimotoSimilarity(bv1, bv2);
+            case DICE:
+                return BitVectorUtil.diceSimilarity(bv1, bv2);
+            case COSINE:
+                return BitVectorUtil.cosineSimilarity(bv1, bv2);
+            default:
+                throw new IllegalArgumentException(similarity.name());
+        }
+    }
+
+    /** Brute force result, sorted like the index results. */
+    private static List<Match> allMatches(final List<BitVectorValue> vectors, final BitVectorValue query,
+        final Similarity similarity) {
+        List<Match> result = new ArrayList<>();
+        for (int i = 0; i < vectors.size(); i++) {
+            result.add(new Match(i, similarity(similarity, query, vectors.get(i))));
+        }
+        result.sort(Comparator.comparingDouble(Match::getSimilarity).reversed().thenComparingInt(Match::getRowIndex));
+        return result;
+    }
+
+    private static void assertMatches(final List<Match> expected, final List<Match> actual) {
+        assertEquals("Number of matches", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Row index of match " + i, expected.get(i).getRowIndex(), actual.get(i).getRowIndex());
+            assertEquals("Similarity of match " + i, expected.get(i).getSimilarity(), actual.get(i).getSimilarity(),
+                1e-12);
+        }
+    }
+
+    /** Top-k searches return the same rows as a pairwise comparison (large enough for parallel search). */
+    @Test
+    public void testTopK() {
+        Random random = new Random(42);
+        List<BitVectorValue> vectors = createVectors(random, 50000);
+        BitVectorSimilarityIndex index = BitVectorSimilarityIndex.create(vectors);
+        assertEquals(vectors.size(), index.size());
+        for (int q = 0; q < 5; q++) {
+            BitVectorValue query = createVectors(random, 1).get(0);
+            for (Similarity similarity : Similarity.values()) {
+                List<Match> expected = allMatches(vectors, query, similarity).subList(0, 20);
+                assertMatches(expected, index.searchTopK(query, 20, similarity));
+            }
+        }
+    }
+
+    /** Threshold searches return all rows with at least the given similarity. */
+    @Test
+    public void testThreshold() {
+        Random random = new Random(43);
+        List<BitVectorValue> vectors = createVectors(random, 5000);
+        BitVectorSimilarityIndex index = BitVectorSimilarityIndex.create(vectors);
+        for (int q = 0; q < 5; q++) {
+            BitVectorValue query = vectors.get(random.nextInt(vectors.size()));
+            for (Similarity similarity : Similarity.values()) {
+                List<Match> expected = new ArrayList<>(allMatches(vectors, query, similarity));
+                expected.removeIf(m -> m.getSimilarity() < 0.4);
+                assertMatches(expected, index.searchThreshold(query, 0.4, similarity));
+            }
+        }
+    }
+
+    /** Empty queries and empty indices. */
+    @Test
+    public void testEmpty() {
+        BitVectorValue empty = new DenseBitVectorCellFactory(100).createDataCell();
+        BitVectorSimilarityIndex emptyIndex = BitVectorSimilarityIndex.create(new ArrayList<BitVectorValue>());
+        assertEquals(0, emptyIndex.searchTopK(empty, 5, Similarity.TANIMOTO).size());
+
+        List<BitVectorValue> vectors = createVectors(new Random(44), 100);
+        BitVectorSimilarityIndex index = BitVectorSimilarityIndex.create(vectors);
+        assertMatches(allMatches(vectors, empty, Similarity.TANIMOTO).subList(0, 5),
+            index.searchTopK(empty, 5, Similarity.TANIMOTO));
+    }
+
+    /** The storage of an index only holds the (non-zero) words of its vectors, also after growing. */
+    @Test
+    public void testStorageSize() {
+        DenseBitVector vector = new DenseBitVector(256);
+        vector.set(3);
+        vector.set(130);
+        List<BitVectorValue> vectors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            vectors.add(new DenseBitVectorCellFactory(vector).createDataCell());
+        }
+        // 3 words per vector, trailing zero word omitted
+        assertEquals("Words in storage of small index", 9,
+            BitVectorSimilarityIndex.create(vectors).getStorageWordCount());
+
+        List<BitVectorValue> manyVectors = createVectors(new Random(45), 20000);
+        long wordCount = 0;
+        for (BitVectorValue v : manyVectors) {
+            // up to and including the word of the highest set bit
+            long lastSetBit = -1;
+            for (long b = v.nextSetBit(0); b >= 0; b = v.nextSetBit(b + 1)) {
+                lastSetBit = b;
+            }
+            wordCount += (lastSetBit + 64) / 64;
+        }
+        BitVectorSimilarityIndex index = BitVectorSimilarityIndex.create(manyVectors);
+        assertEquals("Words in storage of larger index", wordCount, index.getStorageWordCount());
+        assertMatches(allMatches(manyVectors, manyVectors.get(1), Similarity.TANIMOTO).subList(0, 10),
+            index.searchTopK(manyVectors.get(1), 10, Similarity.TANIMOTO));
+    }
+}
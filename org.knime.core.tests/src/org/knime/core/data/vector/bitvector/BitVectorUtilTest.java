@@ -317,6 +317,69 @@ private static void assertCardinalityOfRelativeComplement(final TestVectorFactor
         }
     }
 
+    @Test
+    public void testSimilaritiesOnlyDense() {
+        assertSimilarities(DENSE_VECTOR_FACTORY);
+    }
+
+    @Test
+    public void testSimilaritiesOnlySparse() {
+        assertSimilarities(SPARSE_VECTOR_FACTORY);
+    }
+
+    @Test
+    public void testSimilaritiesMixed() {
+        assertSimilarities(MIXED_VECTOR_FACTORY);
+    }
+
+    @Test
+    public void testSimilaritiesOfEmptyVectors() {
+        BitVectorValue nonEmpty = new DenseBitVectorCellFactory("F0").createDataCell();
+        Assert.assertEquals(1.0, BitVectorUtil.tanimotoSimilarity(EMPTY_VECTOR, EMPTY_VECTOR), 0.0);
+        Assert.assertEquals(1.0, BitVectorUtil.diceSimilarity(EMPTY_VECTOR, EMPTY_VECTOR), 0.0);
+        Assert.assertEquals(1.0, BitVectorUtil.cosineSimilarity(EMPTY_VECTOR, EMPTY_VECTOR), 0.0);
+        Assert.assertEquals(0, BitVectorUtil.hammingDistance(EMPTY_VECTOR, EMPTY_VECTOR));
+        Assert.assertEquals(0.0, BitVectorUtil.tanimotoSimilarity(EMPTY_VECTOR, nonEmpty), 0.0);
+        Assert.assertEquals(0.0, BitVectorUtil.diceSimilarity(nonEmpty, EMPTY_VECTOR), 0.0);
+        Assert.assertEquals(0.0, BitVectorUtil.cosineSimilarity(EMPTY_VECTOR, nonEmpty), 0.0);
+        Assert.assertEquals(4, BitVectorUtil.hammingDistance(nonEmpty, EMPTY_VECTOR));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testTanimotoSimilarityThrowsNullpointer() {
+        BitVectorUtil.tanimotoSimilarity(EMPTY_VECTOR, null);
+    }
+
+    private static void assertSimilarities(final TestVectorFactory vectorFactory) {
+        for (int i = 1; i < 1000; i++) {
+            String first = new BigInteger(RANDOM.nextInt(800), RANDOM).toString(16);
+
+            String second = new BigInteger(RANDOM.nextInt(i % 5 == 0 ? i * 5 : 150), RANDOM).toString(16);
+            Pair<BitVectorValue, BitVectorValue> createVectorPair = vectorFactory.createVectorPair(first, second);
+
+            BitVectorValue a = createVectorPair.getFirst();
+
+            BitVectorValue b = createVectorPair.getSecond();
+
+            long and = DenseBitVectorCellFactory.and(a, b).cardinality();
+            long or = DenseBitVectorCellFactory.or(a, b).cardinality();
+            long xor = DenseBitVectorCellFactory.xor(a, b).cardinality();
+            long cardA = a.cardinality();
+            long cardB = b.cardinality();
+            String msg = "Broken similarity: " + a.toHexString() + "|" + b.toHexString();
+
+            Assert.assertEquals(msg, or == 0 ? 1.0 : and / (double)or, BitVectorUtil.tanimotoSimilarity(a, b), 1e-12);
+            Assert.assertEquals(msg, or == 0 ? 1.0 : and / (double)or, BitVectorUtil.tanimotoSimilarity(b, a), 1e-12);
+            Assert.assertEquals(msg, cardA + cardB == 0 ? 1.0 : 2.0 * and / (cardA + cardB),
+                BitVectorUtil.diceSimilarity(a, b), 1e-12);
+            if (cardA != 0 && cardB != 0) {
+                Assert.assertEquals(msg, and / Math.sqrt(cardA * cardB), BitVectorUtil.cosineSimilarity(a, b), 1e-12);
+            }
+            Assert.assertEquals(msg, xor, BitVectorUtil.hammingDistance(a, b));
+            Assert.assertEquals(msg, xor, BitVectorUtil.hammingDistance(b, a));
+        }
+    }
+
     private interface TestVectorFactory {
         Pair<BitVectorValue, BitVectorValue> createVectorPair(String first, String second);
     }
@@ -0,0 +1,292 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.vector.bitvector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link CompressedBitVector} against {@link BitSet}, with chunks in all container types.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompressedBitVectorTest {
+
+    private static final int LENGTH = 5 * 65536 + 123;
+
+    /**
+     * Creates a reference with a chunk of each kind: empty, few bits (array), many random bits (bitmap), long runs,
+     * and a partial last chunk.
+     */
+    private static BitSet createReference(final Random random) {
+        BitSet bits = new BitSet(LENGTH);
+        for (int i = 0; i < 100; i++) {
+            bits.set(65536 + random.nextInt(65536));
+        }
+        for (int i = 0; i < 20000; i++) {
+            bits.set(2 * 65536 + random.nextInt(65536));
+        }
+        for (int i = 0; i < 10; i++) {
+            int start = 3 * 65536 + random.nextInt(60000);
+            bits.set(start, start + random.nextInt(5000));
+        }
+        bits.set(4 * 65536, LENGTH);
+        bits.clear(LENGTH - 1000 + random.nextInt(1000));
+        return bits;
+    }
+
+    private static CompressedBitVector create(final BitSet bits, final long length) {
+        CompressedBitVector result = new CompressedBitVector(length);
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.set(i);
+        }
+        return result;
+    }
+
+    private static void assertSameBits(final BitSet expected, final CompressedBitVector actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        long idx = actual.nextSetBit(0);
+        for (int i = expected.nextSetBit(0); i >= 0; i = expected.nextSetBit(i + 1)) {
+            assertEquals(i, idx);
+            idx = actual.nextSetBit(idx + 1);
+        }
+        assertEquals(-1, idx);
+    }
+
+    /**
+     * Tests get, nextSetBit and nextClearBit at random positions, chunk boundaries and the end of the vector.
+     */
+    @Test
+    public void testGetAndNextBits() {
+        Random random = new Random(42);
+        BitSet reference = createReference(random);
+        CompressedBitVector bv = create(reference, LENGTH);
+        assertSameBits(reference, bv);
+        for (int run = 0; run < 2; run++) {
+            for (int i = 0; i < 20000; i++) {
+                int idx = i < 12 ? (i / 2) * 65536 - (i % 2) + (i < 2 ? 1 : 0) : random.nextInt(LENGTH);
+                assertEquals("Bit " + idx, reference.get(idx), bv.get(idx));
+                assertEquals("Next set bit " + idx, reference.nextSetBit(idx), bv.nextSetBit(idx));
+                int nextClear = reference.nextClearBit(idx);
+                assertEquals("Next clear bit " + idx, nextClear < LENGTH ? nextClear : -1, bv.nextClearBit(idx));
+            }
+            // and again with run containers
+            bv.runOptimize();
+        }
+        assertEquals(-1, bv.nextSetBit(LENGTH));
+        assertEquals(-1, bv.nextClearBit(LENGTH + 5));
+    }
+
+    /**
+     * Tests that setting and clearing bits converts the containers correctly.
+     */
+    @Test
+    public void testSetClear() {
+        Random random = new Random(1);
+        BitSet reference = createReference(random);
+        CompressedBitVector bv = create(reference, LENGTH);
+        for (int pass = 0; pass < 3; pass++) {
+            for (int i = 0; i < 50000; i++) {
+                // concentrate on the first chunks so that they change between array and bitmap
+                int idx = random.nextInt(i % 2 == 0 ? 3 * 65536 : LENGTH);
+                boolean value = random.nextBoolean();
+                reference.set(idx, value);
+                bv.set(idx, value);
+            }
+            assertSameBits(reference, bv);
+            bv.runOptimize();
+            assertSameBits(reference, bv);
+        }
+        // clearing all bits removes all chunks
+        for (int i = reference.nextSetBit(0); i >= 0; i = reference.nextSetBit(i + 1)) {
+            bv.clear(i);
+        }
+        assertTrue(bv.isEmpty());
+        assertEquals(new CompressedBitVector(LENGTH), bv);
+
+        try {
+            bv.set(LENGTH);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // this exception must fly
+        }
+        try {
+            bv.get(-1);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // this exception must fly
+        }
+    }
+
+    /**
+     * Tests AND, OR, XOR and the cardinality of intersection and relative complement between all container types.
+     */
+    @Test
+    public void testSetOperations() {
+        Random random = new Random(7);
+        for (int i = 0; i < 4; i++) {
+            BitSet ref1 = createReference(random);
+            BitSet ref2 = createReference(random);
+            CompressedBitVector bv1 = create(ref1, LENGTH);
+            CompressedBitVector bv2 = create(ref2, LENGTH + 17);
+            if (i % 2 == 1) {
+                bv1.runOptimize();
+            }
+            if (i >= 2) {
+                bv2.runOptimize();
+            }
+
+            BitSet and = (BitSet)ref1.clone();
+            and.and(ref2);
+            BitSet or = (BitSet)ref1.clone();
+            or.or(ref2);
+            BitSet xor = (BitSet)ref1.clone();
+            xor.xor(ref2);
+            BitSet andNot = (BitSet)ref1.clone();
+            andNot.andNot(ref2);
+
+            assertSameBits(and, bv1.and(bv2));
+            assertSameBits(or, bv1.or(bv2));
+            assertSameBits(xor, bv1.xor(bv2));
+            assertSameBits(xor, bv2.xor(bv1));
+            assertEquals(LENGTH + 17, bv1.and(bv2).length());
+            assertEquals(and.cardinality(), bv1.cardinalityOfIntersection(bv2));
+            assertEquals(and.cardinality(), bv2.cardinalityOfIntersection(bv1));
+            assertEquals(andNot.cardinality(), bv1.cardinalityOfRelativeComplement(bv2));
+            assertTrue(bv1.xor(bv1).isEmpty());
+        }
+    }
+
+    /**
+     * Tests that equality and hash code don't depend on the container types.
+     */
+    @Test
+    public void testEqualsHashCode() {
+        BitSet reference = createReference(new Random(3));
+        CompressedBitVector bv1 = create(reference, LENGTH);
+        CompressedBitVector bv2 = new CompressedBitVector(bv1);
+        bv2.runOptimize();
+        assertEquals(bv1, bv2);
+        assertEquals(bv1.hashCode(), bv2.hashCode());
+
+        bv2.clear(reference.nextSetBit(3 * 65536));
+        assertNotEquals(bv1, bv2);
+        assertNotEquals(bv1, create(reference, LENGTH + 1));
+    }
+
+    /**
+     * Tests the serialized form, with and without run containers.
+     *
+     * @throws IOException if that happens
+     */
+    @Test
+    public void testSerialization() throws IOException {
+        BitSet reference = createReference(new Random(5));
+        CompressedBitVector bv = create(reference, LENGTH);
+        for (int pass = 0; pass < 2; pass++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                bv.writeTo(out);
+            }
+            CompressedBitVector read;
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                read = CompressedBitVector.readFrom(in);
+            }
+            assertEquals(bv, read);
+            assertSameBits(reference, read);
+            if (pass == 1) {
+                // the runs of the third chunk and the last chunk take a few bytes only
+                assertTrue("Serialized size " + bytes.size(), bytes.size() < 2 * 100 + 8 * 1024 + 1000);
+            }
+            bv.runOptimize();
+        }
+    }
+
+    /**
+     * Tests the string representations against the ones of {@link SparseBitVector}.
+     */
+    @Test
+    public void testStrings() {
+        for (String hex : new String[]{"", "0", "1", "80", "020F", "0000FF00", "F0F0F0F0F0F0F0F0F1"}) {
+            CompressedBitVector bv = new CompressedBitVector(hex);
+            SparseBitVector sparse = new SparseBitVector(hex);
+            assertEquals(hex.length() * 4L, bv.length());
+            assertEquals(sparse.toHexString(), bv.toHexString());
+            assertEquals(sparse.toBinaryString(), bv.toBinaryString());
+            assertArrayEquals(sparse.getAllOneIndices(), bv.getAllOneIndices());
+        }
+        assertEquals("0A", new CompressedBitVector("0a").toHexString());
+        assertEquals("{length=8, set bits=1, 7}", new CompressedBitVector("82").toString());
+        assertEquals("{length=8, set bits=}", new CompressedBitVector("00").toString());
+        try {
+            new CompressedBitVector("0x");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // this exception must fly
+        }
+        // long vectors are truncated
+        CompressedBitVector bv = new CompressedBitVector(1L << 40);
+        bv.set(3);
+        assertTrue(bv.toHexString().startsWith("..."));
+        assertTrue(bv.toHexString().endsWith("8"));
+        assertTrue(bv.toBinaryString().endsWith("1000..."));
+        assertFalse(bv.get((1L << 40) - 1));
+    }
+}
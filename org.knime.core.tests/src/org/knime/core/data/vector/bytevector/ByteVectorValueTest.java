@@ -0,0 +1,160 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.vector.bytevector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the bulk accessors of {@link ByteVectorValue}, comparing the dense cell (array backed) with the sparse cell
+ * (default implementations).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ByteVectorValueTest {
+
+    private static final int LENGTH = 1000;
+
+    private static int[] createCounts() {
+        final Random random = new Random(7);
+        final int[] counts = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            counts[i] = random.nextInt(3) == 0 ? random.nextInt(256) : 0;
+        }
+        counts[LENGTH - 1] = 255;
+        return counts;
+    }
+
+    private static ByteVectorValue[] createValues(final int[] counts) {
+        final DenseByteVectorCellFactory denseFactory = new DenseByteVectorCellFactory(counts.length);
+        final SparseByteVector sparseVector = new SparseByteVector(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            denseFactory.setValue(i, counts[i]);
+            if (counts[i] != 0) {
+                sparseVector.set(i, counts[i]);
+            }
+        }
+        return new ByteVectorValue[]{denseFactory.createDataCell(),
+            new SparseByteVectorCellFactory(sparseVector).createDataCell()};
+    }
+
+    /** Tests {@link ByteVectorValue#copyTo(long, int[], int, int)} on whole vectors and sub ranges. */
+    @Test
+    public void testCopyToIntArray() {
+        final int[] counts = createCounts();
+        for (ByteVectorValue value : createValues(counts)) {
+            final int[] all = new int[LENGTH];
+            value.copyTo(0, all, 0, LENGTH);
+            assertArrayEquals(counts, all);
+
+            final int[] part = new int[110];
+            part[0] = -1;
+            part[109] = -1;
+            value.copyTo(500, part, 1, 108);
+            assertEquals(-1, part[0]);
+            assertEquals(-1, part[109]);
+            for (int i = 0; i < 108; i++) {
+                assertEquals("count at " + (500 + i), counts[500 + i], part[i + 1]);
+            }
+        }
+    }
+
+    /** Tests {@link ByteVectorValue#copyTo(long, byte[], int, int)}. */
+    @Test
+    public void testCopyToByteArray() {
+        final int[] counts = createCounts();
+        for (ByteVectorValue value : createValues(counts)) {
+            final byte[] all = new byte[LENGTH + 2];
+            value.copyTo(0, all, 2, LENGTH);
+            for (int i = 0; i < LENGTH; i++) {
+                assertEquals("count at " + i, counts[i], all[i + 2] & 0xFF);
+            }
+        }
+    }
+
+    /** Tests that invalid ranges are rejected. */
+    @Test
+    public void testCopyToInvalidRange() {
+        for (ByteVectorValue value : createValues(createCounts())) {
+            try {
+                value.copyTo(LENGTH - 5, new int[10], 0, 10);
+                fail("Source range exceeds vector length, expected exception");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            try {
+                value.copyTo(0, new byte[10], 5, 10);
+                fail("Destination range exceeds array length, expected exception");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    /** Tests {@link ByteVectorValue#stream()} and {@link ByteVectorValue#asReadOnlyBuffer()}. */
+    @Test
+    public void testStreamAndBuffer() {
+        final int[] counts = createCounts();
+        for (ByteVectorValue value : createValues(counts)) {
+            assertArrayEquals(counts, value.stream().toArray());
+
+            final ByteBuffer buffer = value.asReadOnlyBuffer();
+            assertTrue(buffer.isReadOnly());
+            assertEquals(0, buffer.position());
+            assertEquals(LENGTH, buffer.limit());
+            for (int i = 0; i < LENGTH; i++) {
+                assertEquals("count at " + i, counts[i], buffer.get(i) & 0xFF);
+            }
+        }
+    }
+
+}
@@ -50,6 +50,7 @@
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.DoubleBuffer;
 import java.util.stream.IntStream;
 
 import org.hamcrest.CoreMatchers;
@@ -84,6 +85,32 @@ public void testCreation() throws Exception {
         IntStream.range(0, 10000).forEach(i -> Assert.assertEquals("value, index " + i, i, v.getValue(i), 0.0));
     }
 
+    @Test
+    public void testBulkAccess() throws Exception {
+        double[] d = IntStream.range(0, 10000).mapToDouble(i -> i / 3.0).toArray();
+        DoubleVectorValue v = (DoubleVectorValue)DoubleVectorCellFactory.createCell(d);
+
+        double[] copy = new double[10];
+        v.copyTo(5000, copy, 1, 8);
+        Assert.assertEquals("untouched element", 0.0, copy[0], 0.0);
+        Assert.assertEquals("untouched element", 0.0, copy[9], 0.0);
+        IntStream.range(0, 8).forEach(i -> Assert.assertEquals("copied value", d[5000 + i], copy[i + 1], 0.0));
+
+        Assert.assertArrayEquals("stream content", d, v.stream().toArray(), 0.0);
+
+        DoubleBuffer buffer = v.asReadOnlyBuffer();
+        Assert.assertTrue("buffer must be read-only", buffer.isReadOnly());
+        Assert.assertEquals("buffer limit", 10000, buffer.limit());
+        IntStream.range(0, 10000).forEach(i -> Assert.assertEquals("buffer value", d[i], buffer.get(i), 0.0));
+
+        try {
+            v.copyTo(9995, copy, 0, 10);
+            Assert.fail("Source range exceeds vector length, expected exception");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testSerialization() throws Exception {
         double[] d = IntStream.range(0, 10000).mapToDouble(i -> i).toArray();
@@ -72,6 +72,7 @@
 import org.knime.core.data.def.FuzzyNumberCell;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
+import org.knime.core.node.config.BinaryConfig;
 import org.knime.core.node.config.Config;
 import org.knime.core.node.config.base.JSONConfig;
 import org.knime.core.node.config.base.JSONConfig.WriterConfig;
@@ -98,6 +99,7 @@ public void tearDown() throws Exception {
         testFile();
         testXML();
         testJSON();
+        testBinary();
     }
 
 //    /**
@@ -815,6 +817,24 @@ public void testXML() throws IOException {
         assertTrue(settings.equals(m_settings));
     }
 
+    /**
+     * Test binary read/write, the result must match the XML round trip.
+     * @throws IOException
+     */
+    public void testBinary() throws IOException {
+        if (!BinaryConfig.canSave(m_settings)) {
+            return; // saved as XML (passwords, transient strings)
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        BinaryConfig.save(m_settings, os);
+        NodeSettingsRO settings = NodeSettings.loadFromXML(new ByteArrayInputStream(os.toByteArray()));
+        assertTrue(settings.equals(m_settings));
+        ByteArrayOutputStream xmlOS = new ByteArrayOutputStream();
+        m_settings.saveToXML(xmlOS);
+        NodeSettingsRO xmlSettings = NodeSettings.loadFromXML(new ByteArrayInputStream(xmlOS.toByteArray()));
+        assertTrue(settings.equals(xmlSettings));
+    }
+
     public void testJSON() throws Exception {
         StringWriter writer = new StringWriter();
         JSONConfig.writeJSON(m_settings, writer, WriterConfig.PRETTY);
@@ -0,0 +1,168 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.knime.core.node.ModelContent;
+import org.knime.core.node.ModelContentRO;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.config.base.ConfigBase;
+
+/**
+ * Tests the binary config format against the XML format.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BinaryConfigTest {
+
+    private static NodeSettings createSettings() {
+        NodeSettings settings = new NodeSettings("binary-test");
+        settings.addInt("int-min", Integer.MIN_VALUE);
+        settings.addInt("int-max", Integer.MAX_VALUE);
+        settings.addInt("int-zero", 0);
+        settings.addLong("long-min", Long.MIN_VALUE);
+        settings.addLong("long-max", Long.MAX_VALUE);
+        settings.addShort("short", Short.MIN_VALUE);
+        settings.addByte("byte", (byte)-7);
+        settings.addChar("char", '€');
+        settings.addFloat("float", -0.1f);
+        settings.addDouble("double", Math.PI);
+        settings.addDouble("double-nan", Double.NaN);
+        settings.addDouble("double-inf", Double.NEGATIVE_INFINITY);
+        settings.addBoolean("boolean", true);
+        settings.addString("string", "Sequence of Characters äöü 😀 <&>\n");
+        settings.addString("string-null", null);
+        settings.addString("string-empty", "");
+        settings.addStringArray("string-array", new String[]{"a", null, "a", ""});
+        settings.addIntArray("int-array", new int[]{1, -2, 3});
+        settings.addDoubleArray("double-array", new double[]{1.5, -0.0});
+        for (int i = 0; i < 20; i++) {
+            NodeSettingsWO child = settings.addNodeSettings("child_" + i);
+            child.addString("name", "child");
+            child.addInt("index", i);
+            child.addNodeSettings("empty");
+        }
+        return settings;
+    }
+
+    private static byte[] toBinary(final ConfigBase config) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryConfig.save(config, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] toXML(final ConfigBase config) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        config.saveToXML(out);
+        return out.toByteArray();
+    }
+
+    /** Round trip of all supported types, result must be identical to XML round trip. */
+    @Test
+    public void testRoundTrip() throws IOException {
+        NodeSettings settings = createSettings();
+        assertTrue(BinaryConfig.canSave(settings));
+        byte[] binary = toBinary(settings);
+        byte[] xml = toXML(settings);
+        assertTrue("Binary format not smaller than XML: " + binary.length + " vs. " + xml.length,
+            binary.length < xml.length);
+
+        NodeSettingsRO fromBinary = NodeSettings.loadFromXML(new ByteArrayInputStream(binary));
+        NodeSettingsRO fromXML = NodeSettings.loadFromXML(new ByteArrayInputStream(xml));
+        assertEquals(settings, fromBinary);
+        assertEquals(fromXML, fromBinary);
+        assertEquals("binary-test", fromBinary.getKey());
+        assertEquals(new String(xml, "UTF-8"), new String(toXML((ConfigBase)fromBinary), "UTF-8"));
+    }
+
+    /** Binary content is detected by {@link Config#load(java.io.InputStream)}, other config types work as well. */
+    @Test
+    public void testTransparentLoad() throws Exception {
+        NodeSettings settings = createSettings();
+        NodeSettings target = new NodeSettings("other-key");
+        target.load(new ByteArrayInputStream(toBinary(settings)));
+        assertEquals("other-key", target.getKey());
+        assertEquals(settings.getNodeSettings("child_3"), target.getNodeSettings("child_3"));
+        assertEquals(settings.getString("string"), target.getString("string"));
+
+        ModelContent content = new ModelContent("model");
+        content.addDouble("double", 1.0);
+        content.addModelContent("sub").addString("string", "value");
+        ModelContentRO contentCopy = ModelContent.loadFromXML(new ByteArrayInputStream(toBinary(content)));
+        assertTrue(contentCopy instanceof ModelContent);
+        assertEquals(content, contentCopy);
+    }
+
+    /** Passwords and transient strings are not supported. */
+    @Test
+    public void testUnsupportedEntries() {
+        NodeSettings settings = createSettings();
+        settings.addNodeSettings("secret").addPassword("password", "key", "value");
+        assertFalse(BinaryConfig.canSave(settings));
+
+        settings = createSettings();
+        settings.addTransientString("transient", "value");
+        assertFalse(BinaryConfig.canSave(settings));
+    }
+
+    /** Truncated streams must fail with an exception. */
+    @Test(expected = IOException.class)
+    public void testTruncated() throws IOException {
+        byte[] binary = toBinary(createSettings());
+        byte[] truncated = new byte[binary.length / 2];
+        System.arraycopy(binary, 0, truncated, 0, truncated.length);
+        NodeSettings.loadFromXML(new ByteArrayInputStream(truncated));
+    }
+}
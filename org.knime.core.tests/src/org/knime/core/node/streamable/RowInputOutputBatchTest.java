@@ -0,0 +1,121 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.streamable;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+
+/**
+ * Tests the default batch methods of {@link RowInput} and {@link RowOutput}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowInputOutputBatchTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    /**
+     * The default batch methods delegate to the single row methods; the default poll batch returns after the first
+     * row rather than waiting for more rows to arrive.
+     * @throws Exception ...
+     */
+    @Test
+    public void testDefaultBatchAdapters() throws Exception {
+        final List<DataRow> pushed = new ArrayList<>();
+        RowOutput out = new RowOutput() {
+            @Override
+            public void push(final DataRow row) {
+                pushed.add(row);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        out.pushBatch(Arrays.asList(createRow(0), createRow(1), createRow(2)));
+        assertEquals("Number of pushed rows", 3, pushed.size());
+
+        final Iterator<DataRow> it = pushed.iterator();
+        RowInput in = new RowInput() {
+            @Override
+            public DataTableSpec getDataTableSpec() {
+                return SPEC;
+            }
+
+            @Override
+            public DataRow poll() {
+                return it.hasNext() ? it.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        List<DataRow> polled = new ArrayList<>();
+        assertEquals("First batch size", 1, in.pollBatch(polled, 2));
+        assertEquals("Second batch size", 1, in.pollBatch(polled, 2));
+        assertEquals("Third batch size", 1, in.pollBatch(polled, 2));
+        assertEquals("End of stream", 0, in.pollBatch(polled, 2));
+        assertEquals("Polled rows", pushed, polled);
+    }
+
+    private static DataRow createRow(final int i) {
+        return new DefaultRow("Row" + i, new DataCell[]{new IntCell(i)});
+    }
+
+}
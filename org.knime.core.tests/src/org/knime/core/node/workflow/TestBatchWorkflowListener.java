@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+
+/**
+ * Tests the batched delivery of workflow events to {@link BatchWorkflowListener} and the unchanged per-event
+ * delivery to plain {@link WorkflowListener}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestBatchWorkflowListener extends WorkflowTestCase {
+
+    private static final int NR_NODES = 200;
+
+    @Before
+    public void setUp() throws Exception {
+        setManager(WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(), new WorkflowCreationHelper()));
+    }
+
+    @Test
+    public void testBatchedAndPlainDelivery() throws Exception {
+        WorkflowManager wfm = getManager();
+        final CountDownLatch batchLatch = new CountDownLatch(NR_NODES);
+        final CountDownLatch plainLatch = new CountDownLatch(NR_NODES);
+        // blocks the notifier thread in the first batch so that the events of the remaining nodes accumulate
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        final AtomicInteger nrBatches = new AtomicInteger();
+        final AtomicInteger nrEvents = new AtomicInteger();
+        final AtomicInteger maxBatchSize = new AtomicInteger();
+        final List<NodeID> batchedIDs = new ArrayList<>();
+        final List<NodeID> plainIDs = new ArrayList<>();
+        BatchWorkflowListener batchListener = events -> {
+            if (nrBatches.incrementAndGet() == 1) {
+                try {
+                    releaseLatch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            nrEvents.addAndGet(events.size());
+            maxBatchSize.accumulateAndGet(events.size(), Math::max);
+            for (WorkflowEvent e : events) {
+                if (e.getType() == WorkflowEvent.Type.NODE_ADDED) {
+                    batchedIDs.add(e.getID());
+                    batchLatch.countDown();
+                }
+            }
+        };
+        WorkflowListener plainListener = e -> {
+            if (e.getType() == WorkflowEvent.Type.NODE_ADDED) {
+                plainIDs.add(e.getID());
+                plainLatch.countDown();
+            }
+        };
+        wfm.addListener(batchListener);
+        wfm.addListener(plainListener);
+        try {
+            List<NodeID> addedIDs = new ArrayList<>();
+            for (int i = 0; i < NR_NODES; i++) {
+                addedIDs.add(wfm.addNode(new AdapterNodeFactory(true)));
+            }
+            releaseLatch.countDown();
+            assertTrue("Not all batched events delivered", batchLatch.await(10, TimeUnit.SECONDS));
+            assertTrue("Not all plain events delivered", plainLatch.await(10, TimeUnit.SECONDS));
+            assertEquals("Batched events out of order", addedIDs, batchedIDs);
+            assertEquals("Plain events out of order", addedIDs, plainIDs);
+            assertTrue("Events not coalesced into batches, " + nrBatches.get() + " batches for " + nrEvents.get()
+                + " events", nrBatches.get() < nrEvents.get());
+            assertTrue("No batch with more than one event", maxBatchSize.get() > 1);
+        } finally {
+            wfm.removeListener(batchListener);
+            wfm.removeListener(plainListener);
+        }
+    }
+
+}
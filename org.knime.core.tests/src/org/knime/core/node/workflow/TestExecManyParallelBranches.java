@@ -0,0 +1,111 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+
+/**
+ * Contention benchmark for the execution bookkeeping in {@link WorkflowManager}: a single source node feeding
+ * {@value #NR_BRANCHES} independent branches, each a chain of {@value #BRANCH_LENGTH} trivial nodes. All branches
+ * complete at about the same time, so the test is dominated by the time spent in
+ * {@link WorkflowManager#doAfterExecution(NodeContainer, NodeContainerExecutionStatus)} and the successor queuing.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestExecManyParallelBranches extends WorkflowTestCase {
+
+    private static final int NR_BRANCHES = 64;
+
+    private static final int BRANCH_LENGTH = 10;
+
+    private static final int NR_ROUNDS = 5;
+
+    private NodeID m_source;
+
+    private NodeID[] m_branchEnds;
+
+    @Before
+    public void setUp() throws Exception {
+        WorkflowManager wfm = WorkflowManager.ROOT.createAndAddProject(
+            getClass().getSimpleName(), new WorkflowCreationHelper());
+        setManager(wfm);
+        m_source = wfm.addNode(new AdapterNodeFactory(true));
+        m_branchEnds = new NodeID[NR_BRANCHES];
+        for (int b = 0; b < NR_BRANCHES; b++) {
+            NodeID previous = m_source;
+            for (int i = 0; i < BRANCH_LENGTH; i++) {
+                NodeID next = wfm.addNode(new AdapterNodeFactory());
+                wfm.addConnection(previous, 1, next, 1);
+                previous = next;
+            }
+            m_branchEnds[b] = previous;
+        }
+    }
+
+    /** Executes and resets the whole workflow a couple of times and logs the average round time. */
+    @Test(timeout = 120000L)
+    public void testExecuteParallelBranches() throws Exception {
+        WorkflowManager wfm = getManager();
+        checkState(wfm, InternalNodeContainerState.CONFIGURED);
+        long totalTime = 0L;
+        for (int round = 0; round < NR_ROUNDS; round++) {
+            long start = System.nanoTime();
+            executeAllAndWait();
+            totalTime += System.nanoTime() - start;
+            assertEquals(wfm.printNodeSummary(wfm.getID(), 0), InternalNodeContainerState.EXECUTED,
+                wfm.getInternalState());
+            checkStateOfMany(InternalNodeContainerState.EXECUTED, m_branchEnds);
+            reset(m_source);
+            checkState(wfm, InternalNodeContainerState.CONFIGURED);
+        }
+        getLogger().infoWithFormat("Executed %d branches of %d nodes in %d ms per round on average", NR_BRANCHES,
+            BRANCH_LENGTH, totalTime / NR_ROUNDS / 1000000L);
+    }
+
+}
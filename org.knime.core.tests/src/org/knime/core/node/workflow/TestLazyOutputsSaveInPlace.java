@@ -0,0 +1,118 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.knime.core.node.workflow.InternalNodeContainerState.EXECUTED;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests that output objects, which are read lazily after load, are not lost when a dirty node is saved into its own
+ * directory (the directory is replaced on save). Uses the workflow of {@link Bug4890_reconfigureSubNode}, in which the
+ * "TableRow To Variable" node is executed and so is its only successor (so its output is not read ahead after load).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestLazyOutputsSaveInPlace extends WorkflowTestCase {
+
+    private File m_tmpWorkflowDir;
+
+    private NodeID m_varSource_11;
+
+    @Before
+    public void setUp() throws Exception {
+        m_tmpWorkflowDir = FileUtil.createTempDir(getClass().getSimpleName());
+        FileUtil.copyDir(getWorkflowDirectory("bug4890_reconfigureSubNode"), m_tmpWorkflowDir);
+        loadFlow();
+    }
+
+    private WorkflowManager loadFlow() throws Exception {
+        NodeID baseID = loadAndSetWorkflow(m_tmpWorkflowDir);
+        m_varSource_11 = new NodeID(baseID, 11);
+        return getManager();
+    }
+
+    /** Loads the executed node, marks it dirty, saves in place, reloads and checks the port content. */
+    @Test
+    public void testSaveDirtyNodeInPlace() throws Exception {
+        WorkflowManager m = getManager();
+        checkState(m_varSource_11, EXECUTED);
+        NativeNodeContainer nnc = (NativeNodeContainer)m.getNodeContainer(m_varSource_11);
+        assertTrue("Output expected to be read lazily", nnc.getNode().hasLazyOutputObjects());
+        nnc.setDirty();
+        m.save(m_tmpWorkflowDir, new ExecutionMonitor(), true);
+        assertFalse(m.isDirty());
+        closeWorkflow();
+
+        m = loadFlow();
+        checkState(m_varSource_11, EXECUTED);
+        Node node = ((NativeNodeContainer)m.getNodeContainer(m_varSource_11)).getNode();
+        PortObject object = node.getOutputObject(1);
+        assertNotNull("Output object lost on save", object);
+        assertTrue(object instanceof FlowVariablePortObject);
+        assertNotNull(node.getOutputObjectSummary(1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        FileUtil.deleteRecursively(m_tmpWorkflowDir);
+    }
+
+}
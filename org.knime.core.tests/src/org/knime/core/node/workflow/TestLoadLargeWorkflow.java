@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Load benchmark for {@link FileWorkflowPersistor}: a generated workflow with {@value #NR_NODES} nodes (one source
+ * node followed by {@value #NR_BRANCHES} chains) is saved once and loaded a couple of times. The settings files of the
+ * nodes are read ahead in parallel, see {@link KNIMEConstants#PROPERTY_WORKFLOW_LOAD_THREADS}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestLoadLargeWorkflow extends WorkflowTestCase {
+
+    private static final int NR_BRANCHES = 50;
+
+    private static final int BRANCH_LENGTH = 100;
+
+    private static final int NR_NODES = 1 + NR_BRANCHES * BRANCH_LENGTH;
+
+    private static final int NR_ROUNDS = 3;
+
+    private File m_workflowDir;
+
+    @Before
+    public void setUp() throws Exception {
+        WorkflowManager wfm = WorkflowManager.ROOT.createAndAddProject(
+            getClass().getSimpleName(), new WorkflowCreationHelper());
+        NodeID source = wfm.addNode(new AdapterNodeFactory(true));
+        for (int b = 0; b < NR_BRANCHES; b++) {
+            NodeID previous = source;
+            for (int i = 0; i < BRANCH_LENGTH; i++) {
+                NodeID next = wfm.addNode(new AdapterNodeFactory());
+                wfm.addConnection(previous, 1, next, 1);
+                previous = next;
+            }
+        }
+        m_workflowDir = FileUtil.createTempDir(getClass().getSimpleName());
+        wfm.save(m_workflowDir, new ExecutionMonitor(), true);
+        WorkflowManager.ROOT.removeProject(wfm.getID());
+    }
+
+    /** Loads the generated workflow a couple of times and logs the average load time. */
+    @Test(timeout = 300000L)
+    public void testLoadLargeWorkflow() throws Exception {
+        long totalTime = 0L;
+        for (int round = 0; round < NR_ROUNDS; round++) {
+            long start = System.nanoTime();
+            loadAndSetWorkflow(m_workflowDir);
+            totalTime += System.nanoTime() - start;
+            WorkflowManager wfm = getManager();
+            assertEquals("Number of loaded nodes", NR_NODES, wfm.getNodeContainers().size());
+            assertEquals("Number of loaded connections", NR_NODES - 1, wfm.getConnectionContainers().size());
+            checkState(wfm, InternalNodeContainerState.CONFIGURED);
+            closeWorkflow();
+        }
+        getLogger().infoWithFormat("Loaded workflow with %d nodes in %d ms on average (%s threads reading ahead)",
+            NR_NODES, totalTime / NR_ROUNDS / 1000000L,
+            System.getProperty(KNIMEConstants.PROPERTY_WORKFLOW_LOAD_THREADS, "default number of"));
+    }
+
+    /** Deletes the saved workflow. */
+    @After
+    public void deleteWorkflowDir() {
+        if (m_workflowDir != null) {
+            FileUtil.deleteRecursively(m_workflowDir);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.workflow.Workflow.NodeAndInports;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+
+/**
+ * Tests that the cached loop body of {@link Workflow#findAllNodesConnectedToLoopBody(NodeID, NodeID)} follows changes
+ * of the workflow structure (nodes and connections added or removed).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestLoopBodyCache extends WorkflowTestCase {
+
+    private NodeID m_start;
+
+    private NodeID m_body;
+
+    private NodeID m_end;
+
+    @Before
+    public void setUp() throws Exception {
+        WorkflowManager wfm = WorkflowManager.ROOT.createAndAddProject(
+            getClass().getSimpleName(), new WorkflowCreationHelper());
+        setManager(wfm);
+        m_start = wfm.addNode(new AdapterNodeFactory(true));
+        m_body = wfm.addNode(new AdapterNodeFactory());
+        m_end = wfm.addNode(new AdapterNodeFactory());
+        wfm.addConnection(m_start, 1, m_body, 1);
+        wfm.addConnection(m_body, 1, m_end, 1);
+    }
+
+    /** Adds and removes a dangling branch and rewires the loop, checking the body after each change. */
+    @Test
+    public void testCacheFollowsStructureChanges() throws Exception {
+        WorkflowManager wfm = getManager();
+        assertEquals(Arrays.asList(m_body), findLoopBody());
+        // served from cache, must not change
+        assertEquals(Arrays.asList(m_body), findLoopBody());
+
+        // dangling branch is part of the body
+        NodeID dangling = wfm.addNode(new AdapterNodeFactory());
+        wfm.addConnection(m_body, 1, dangling, 1);
+        assertEquals(Arrays.asList(m_body, dangling), findLoopBody());
+
+        wfm.removeNode(dangling);
+        assertEquals(Arrays.asList(m_body), findLoopBody());
+
+        // bypass the body node
+        wfm.removeConnection(wfm.getIncomingConnectionFor(m_end, 1));
+        wfm.addConnection(m_start, 1, m_end, 1);
+        assertEquals(Collections.emptyList(), findLoopBody());
+    }
+
+    /** Modifying the returned list must not affect the cached body. */
+    @Test
+    public void testReturnedListIsCopy() throws Exception {
+        getManager().getWorkflow().findAllNodesConnectedToLoopBody(m_start, m_end).clear();
+        assertEquals(Arrays.asList(m_body), findLoopBody());
+    }
+
+    private List<NodeID> findLoopBody() throws IllegalLoopException {
+        List<NodeID> result = new ArrayList<>();
+        for (NodeAndInports nai : getManager().getWorkflow().findAllNodesConnectedToLoopBody(m_start, m_end)) {
+            result.add(nai.getID());
+        }
+        return result;
+    }
+
+}
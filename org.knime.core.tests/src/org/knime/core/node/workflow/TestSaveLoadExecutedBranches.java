@@ -0,0 +1,147 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Saves an executed workflow with data (the node tables are written in parallel, see
+ * {@link KNIMEConstants#PROPERTY_WORKFLOW_SAVE_THREADS}), loads it again and checks that all tables are restored.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestSaveLoadExecutedBranches extends WorkflowTestCase {
+
+    private static final int NR_BRANCHES = 20;
+
+    private static final int BRANCH_LENGTH = 5;
+
+    private File m_workflowDir;
+
+    private NodeID[] m_branchEnds;
+
+    @Before
+    public void setUp() throws Exception {
+        WorkflowManager wfm = WorkflowManager.ROOT.createAndAddProject(
+            getClass().getSimpleName(), new WorkflowCreationHelper());
+        setManager(wfm);
+        NodeID source = wfm.addNode(new AdapterNodeFactory(true));
+        m_branchEnds = new NodeID[NR_BRANCHES];
+        for (int b = 0; b < NR_BRANCHES; b++) {
+            NodeID previous = source;
+            for (int i = 0; i < BRANCH_LENGTH; i++) {
+                NodeID next = wfm.addNode(new AdapterNodeFactory());
+                wfm.addConnection(previous, 1, next, 1);
+                previous = next;
+            }
+            m_branchEnds[b] = previous;
+        }
+        m_workflowDir = FileUtil.createTempDir(getClass().getSimpleName());
+    }
+
+    /** Saves, closes and loads the executed workflow twice (full and incremental save). */
+    @Test(timeout = 120000L)
+    public void testSaveLoadExecuted() throws Exception {
+        executeAllAndWait();
+        checkState(getManager(), InternalNodeContainerState.EXECUTED);
+        getManager().save(m_workflowDir, new ExecutionMonitor(), true);
+        closeWorkflow();
+
+        loadAndSetWorkflow(m_workflowDir);
+        checkLoadedWorkflow();
+        // nothing changed - nodes are skipped during save
+        getManager().save(m_workflowDir, new ExecutionMonitor(), true);
+        NodeID changedNode = toLoadedID(m_branchEnds[0]);
+        reset(changedNode);
+        executeAndWait(changedNode);
+        getManager().save(m_workflowDir, new ExecutionMonitor(), true);
+        closeWorkflow();
+
+        loadAndSetWorkflow(m_workflowDir);
+        checkLoadedWorkflow();
+    }
+
+    private void checkLoadedWorkflow() throws Exception {
+        WorkflowManager wfm = getManager();
+        checkState(wfm, InternalNodeContainerState.EXECUTED);
+        for (NodeID id : m_branchEnds) {
+            NodeID loadedID = toLoadedID(id);
+            BufferedDataTable table =
+                (BufferedDataTable)wfm.getNodeContainer(loadedID).getOutPort(1).getPortObject();
+            assertEquals("Number of rows at " + loadedID, 3, table.size());
+            int count = 0;
+            for (@SuppressWarnings("unused") DataRow r : table) {
+                count++;
+            }
+            assertEquals("Number of iterated rows at " + loadedID, 3, count);
+        }
+    }
+
+    /** @return the ID of the node in the currently loaded workflow. */
+    private NodeID toLoadedID(final NodeID id) {
+        return getManager().getID().createChild(id.getIndex());
+    }
+
+    /** Deletes the saved workflow. */
+    @After
+    public void deleteWorkflowDir() {
+        if (m_workflowDir != null) {
+            FileUtil.deleteRecursively(m_workflowDir);
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.workflow.SingleNodeContainer.VariableOverlay;
+
+/**
+ * Tests the cache of model settings with flow variables applied, see {@link SingleNodeContainer}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class VariableOverlayTest {
+
+    private NodeSettings m_modelSettings;
+    private NodeSettings m_variablesSettings;
+    private Map<String, FlowVariable> m_flowVariables;
+    private VariableOverlay m_overlay;
+
+    /** Creates an overlay for a single string setting controlled by a variable. */
+    @Before
+    public void setUp() {
+        m_modelSettings = new NodeSettings("model");
+        m_modelSettings.addString("column", "foo");
+        m_variablesSettings = new NodeSettings("variables");
+        m_flowVariables = new LinkedHashMap<String, FlowVariable>();
+        m_flowVariables.put("var", new FlowVariable("var", "bar"));
+        NodeSettings overlaid = new NodeSettings("model");
+        overlaid.addString("column", "bar");
+        m_overlay = new VariableOverlay(m_modelSettings, m_variablesSettings, m_flowVariables, overlaid,
+            Collections.<FlowVariable>emptyList());
+    }
+
+    /** Unchanged settings and equal (but new) variables keep the cache valid. */
+    @Test
+    public void testValidForUnchangedInputs() {
+        Map<String, FlowVariable> sameVariables = new LinkedHashMap<String, FlowVariable>();
+        sameVariables.put("var", new FlowVariable("var", "bar"));
+        assertThat("Overlay valid for same inputs",
+            m_overlay.isValidFor(m_modelSettings, m_variablesSettings, sameVariables), is(true));
+    }
+
+    /** A changed flow variable value, a new variable or a removed one invalidate the cache. */
+    @Test
+    public void testInvalidatedByFlowVariableChange() {
+        Map<String, FlowVariable> changedValue = new LinkedHashMap<String, FlowVariable>();
+        changedValue.put("var", new FlowVariable("var", "baz"));
+        assertThat("Overlay valid after variable value change",
+            m_overlay.isValidFor(m_modelSettings, m_variablesSettings, changedValue), is(false));
+
+        Map<String, FlowVariable> addedVariable = new LinkedHashMap<String, FlowVariable>(m_flowVariables);
+        addedVariable.put("other", new FlowVariable("other", 1));
+        assertThat("Overlay valid after variable was added",
+            m_overlay.isValidFor(m_modelSettings, m_variablesSettings, addedVariable), is(false));
+
+        assertThat("Overlay valid after variable was removed", m_overlay.isValidFor(m_modelSettings,
+            m_variablesSettings, Collections.<String, FlowVariable>emptyMap()), is(false));
+    }
+
+    /** New model or variable settings invalidate the cache, even if their content is equal. */
+    @Test
+    public void testInvalidatedBySettingsChange() {
+        NodeSettings newModelSettings = new NodeSettings("model");
+        m_modelSettings.copyTo(newModelSettings);
+        assertThat("Overlay valid after model settings were replaced",
+            m_overlay.isValidFor(newModelSettings, m_variablesSettings, m_flowVariables), is(false));
+
+        NodeSettings newVariablesSettings = new NodeSettings("variables");
+        m_variablesSettings.copyTo(newVariablesSettings);
+        assertThat("Overlay valid after variable settings were replaced",
+            m_overlay.isValidFor(m_modelSettings, newVariablesSettings, m_flowVariables), is(false));
+    }
+
+    /**
+     * Each caller gets its own copy of the cached settings, so a node modifying the settings it is handed
+     * in validate or load doesn't change what later calls see.
+     * @throws Exception ...
+     */
+    @Test
+    public void testOverlaidSettingsAreCopied() throws Exception {
+        NodeSettings first = m_overlay.getOverlaidSettingsClone();
+        NodeSettings second = m_overlay.getOverlaidSettingsClone();
+        assertThat("Same settings instance returned twice", first, not(sameInstance(second)));
+
+        first.addString("column", "modified");
+        assertThat("Cached settings modified through copy",
+            m_overlay.getOverlaidSettingsClone().getString("column"), is("bar"));
+        assertThat("Second copy modified through first", second.getString("column"), is("bar"));
+    }
+}
@@ -48,9 +48,12 @@
  */
 package org.knime.core.node.workflow.node.adapter;
 
+import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeDialogPane;
 import org.knime.core.node.NodeFactory;
 import org.knime.core.node.NodeView;
+import org.knime.core.node.config.ConfigRO;
+import org.knime.core.node.config.ConfigWO;
 
 /**
  * Extension of {@link NodeFactory} with empty implementations.
@@ -59,7 +62,9 @@
  */
 public class AdapterNodeFactory extends NodeFactory<AdapterNodeModel> {
 
-    private final boolean m_createSimpleSourceNode;
+    private static final String CFG_IS_SOURCE_NODE = "isSourceNode";
+
+    private boolean m_createSimpleSourceNode;
 
     /** Default constructor with input to output mapping or used when this class is overwritten. */
     public AdapterNodeFactory() {
@@ -79,6 +84,19 @@ public AdapterNodeModel createNodeModel() {
         return new AdapterNodeModel((m_createSimpleSourceNode ? 0 : 1), 1);
     }
 
+    /** Restores the source node flag so that saved workflows load the same node. {@inheritDoc} */
+    @Override
+    public void loadAdditionalFactorySettings(final ConfigRO config) throws InvalidSettingsException {
+        m_createSimpleSourceNode = config.getBoolean(CFG_IS_SOURCE_NODE, false);
+        super.loadAdditionalFactorySettings(config);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveAdditionalFactorySettings(final ConfigWO config) {
+        config.addBoolean(CFG_IS_SOURCE_NODE, m_createSimpleSourceNode);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected int getNrNodeViews() {
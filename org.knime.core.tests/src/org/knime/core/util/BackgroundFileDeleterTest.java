@@ -0,0 +1,117 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link BackgroundFileDeleter}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BackgroundFileDeleterTest {
+
+    private File m_tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        m_tempDir = FileUtil.createTempDir(getClass().getSimpleName());
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteRecursively(m_tempDir);
+    }
+
+    /** Directories are renamed immediately and deleted in the background. */
+    @Test
+    public void testDeleteDirectory() throws IOException {
+        File dir = new File(m_tempDir, "dir");
+        for (int i = 0; i < 20; i++) {
+            File sub = new File(dir, String.format("%03d", i));
+            Files.createDirectories(sub.toPath());
+            for (int j = 0; j < 20; j++) {
+                Files.write(new File(sub, "file" + j).toPath(), new byte[]{(byte)j});
+            }
+        }
+        File file = new File(m_tempDir, "file.bin");
+        Files.write(file.toPath(), new byte[100]);
+
+        BackgroundFileDeleter.delete(dir, file, null, new File(m_tempDir, "missing"));
+        assertFalse("Directory still at original location", dir.exists());
+        assertFalse("File still at original location", file.exists());
+        BackgroundFileDeleter.waitUntilFinished();
+        assertArrayEquals("Files left in temp dir", new String[0], m_tempDir.list());
+    }
+
+    /** Symbolic links are deleted without touching the link target. */
+    @Test
+    public void testSymbolicLinksNotFollowed() throws IOException {
+        File target = new File(m_tempDir, "target");
+        Files.createDirectories(target.toPath());
+        File targetFile = new File(target, "keep");
+        Files.write(targetFile.toPath(), new byte[10]);
+        File dir = new File(m_tempDir, "dir");
+        Files.createDirectories(dir.toPath());
+        try {
+            Files.createSymbolicLink(new File(dir, "link").toPath(), target.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            return; // links not supported (e.g. windows w/o privileges)
+        }
+        assertTrue(BackgroundFileDeleter.deleteTree(dir.toPath()));
+        assertFalse(dir.exists());
+        assertTrue("Link target was deleted", targetFile.isFile());
+    }
+}
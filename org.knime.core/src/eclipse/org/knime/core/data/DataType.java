@@ -54,7 +54,6 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -219,10 +218,25 @@ public String toString() {
      * added to this map. This map makes sure that the <code>getType()</code>
      * method is fast and that there will be no duplicate <code>DataType</code>
      * instances for  different instances of the
-     * {@link org.knime.core.data.DataValue} implementation.
+     * {@link org.knime.core.data.DataValue} implementation. Types are
+     * requested concurrently (e.g. from cell factories running in parallel),
+     * hence a concurrent map.
      */
     private static final Map<ClassAndSubDataTypePair, DataType>
-        CLASS_TO_TYPE_MAP = new HashMap<ClassAndSubDataTypePair, DataType>();
+        CLASS_TO_TYPE_MAP = new ConcurrentHashMap<ClassAndSubDataTypePair, DataType>();
+
+    /**
+     * Per cell class cache of the native type, i.e. the type without collection
+     * element type and adapters. This is what {@link DataCell#getType()} ends
+     * up in, so the lookup avoids creating and hashing a key object.
+     */
+    private static final ClassValue<DataType> NATIVE_TYPES = new ClassValue<DataType>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected DataType computeValue(final Class<?> cellClass) {
+            return getType((Class<? extends DataCell>)cellClass, null, Collections.EMPTY_LIST);
+        }
+    };
 
     /**
      * The String representation comparator. Fall back comparator if no other is
@@ -256,7 +270,7 @@ protected int compareDataValues(
      */
     private static final Map<Class<? extends DataValue>, UtilityFactory>
         VALUE_CLASS_TO_UTILITY =
-            new HashMap<Class<? extends DataValue>, UtilityFactory>();
+            new ConcurrentHashMap<Class<? extends DataValue>, UtilityFactory>();
 
     /**
      * Recursive method that walks up the inheritance tree of a given class and
@@ -493,18 +507,11 @@ private static Class<? extends DataValue> getPreferredValueClassFor(
      * never <code>null</code>
      * @throws NullPointerException if the argument is <code>null</code>
      */
-    @SuppressWarnings("unchecked")
     public static DataType getType(final Class<? extends DataCell> cell) {
         if (cell == null) {
             throw new NullPointerException("Class must not be null.");
         }
-        ClassAndSubDataTypePair key = new ClassAndSubDataTypePair(cell, null, null);
-        DataType result = CLASS_TO_TYPE_MAP.get(key);
-        if (result == null) {
-            result = new DataType(cell, null, Collections.EMPTY_LIST);
-            CLASS_TO_TYPE_MAP.put(key, result);
-        }
-        return result;
+        return NATIVE_TYPES.get(cell);
     }
 
     /** Implementation of {@link #getType(Class)} dedicated for special cell
@@ -555,8 +562,12 @@ public static DataType getType(final Class<? extends DataCell> cellClass,
         ClassAndSubDataTypePair key = new ClassAndSubDataTypePair(cellClass, collectionElementType, adapterList);
         DataType result = CLASS_TO_TYPE_MAP.get(key);
         if (result == null) {
+            // not using computeIfAbsent as the constructor may request other types
             result = new DataType(cellClass, collectionElementType, adapterList);
-            CLASS_TO_TYPE_MAP.put(key, result);
+            DataType previous = CLASS_TO_TYPE_MAP.putIfAbsent(key, result);
+            if (previous != null) {
+                result = previous;
+            }
         }
         return result;
     }
@@ -687,6 +698,9 @@ public static DataType load(final ConfigRO config)
 
     private String m_name;
 
+    /** the comparator, determined lazily in {@link #getComparator()} */
+    private volatile DataValueComparator m_comparator;
+
     /** the cached hash code of this type */
     private final int m_hashCode;
 
@@ -939,14 +953,21 @@ public boolean equals(final Object other) {
      * @return a comparator for cells of this type
      */
     public DataValueComparator getComparator() {
-        for (Class<? extends DataValue> cl : m_valueClasses) {
-            UtilityFactory fac = getUtilityFor(cl);
-            DataValueComparator comparator = fac.getComparator();
-            if (comparator != null) {
-                return comparator;
+        DataValueComparator comparator = m_comparator;
+        if (comparator == null) {
+            // racy but harmless, all threads determine the same comparator
+            comparator = FALLBACK_COMP;
+            for (Class<? extends DataValue> cl : m_valueClasses) {
+                UtilityFactory fac = getUtilityFor(cl);
+                DataValueComparator c = fac.getComparator();
+                if (c != null) {
+                    comparator = c;
+                    break;
+                }
             }
+            m_comparator = comparator;
         }
-        return FALLBACK_COMP;
+        return comparator;
     }
 
     /**
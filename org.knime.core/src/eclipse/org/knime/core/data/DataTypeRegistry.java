@@ -87,7 +87,7 @@ public final class DataTypeRegistry {
     private final Map<String, Class<? extends DataCell>> m_cellClassMap = new ConcurrentHashMap<>();
     private final Map<String, Class<? extends DataValue>> m_valueClassMap = new ConcurrentHashMap<>();
 
-    private Collection<DataType> m_allDataTypes;
+    private volatile Collection<DataType> m_allDataTypes;
 
     private static final DataTypeRegistry INSTANCE = new DataTypeRegistry();
 
@@ -173,13 +173,22 @@ Optional<DataCellFactory> getFactory(final String className, final FileStoreFact
      *
      * @return a (possibly empty) collection with data types
      */
-    public synchronized Collection<DataType> availableDataTypes() {
-        // perform lazy initialization
-        if (m_allDataTypes != null) {
-            return m_allDataTypes;
-
+    public Collection<DataType> availableDataTypes() {
+        // perform lazy initialization, only the first calls need to synchronize
+        Collection<DataType> allDataTypes = m_allDataTypes;
+        if (allDataTypes == null) {
+            synchronized (this) {
+                allDataTypes = m_allDataTypes;
+                if (allDataTypes == null) {
+                    allDataTypes = Collections.unmodifiableCollection(collectDataTypes());
+                    m_allDataTypes = allDataTypes;
+                }
+            }
         }
+        return allDataTypes;
+    }
 
+    private List<DataType> collectDataTypes() {
         List<DataType> types = new ArrayList<>();
 
         for (IConfigurationElement configElement : m_factories.values()) {
@@ -194,7 +203,6 @@ public synchronized Collection<DataType> availableDataTypes() {
             }
         }
 
-        m_allDataTypes = Collections.unmodifiableCollection(types);
         return types;
     }
 
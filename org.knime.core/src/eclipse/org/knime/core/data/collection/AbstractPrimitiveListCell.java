@@ -0,0 +1,389 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.collection;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+
+/**
+ * Base class of the {@link ListCell}s that keep their elements in a primitive array rather than as individual cells,
+ * see {@link IntListCell}, {@link LongListCell} and {@link DoubleListCell}. Missing elements are marked in a bitmap
+ * (which is <code>null</code> if there are none), element cells are only created when accessed. The cells are
+ * interchangeable with {@link ListCell}s of the same elements, i.e. they are equal and have the same hash code.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public abstract class AbstractPrimitiveListCell extends ListCell {
+
+    /** Number of elements serialized at once, bounds the size of the temporary byte arrays. */
+    private static final int SERIALIZATION_CHUNK_SIZE = 8192;
+
+    private final long[] m_missing;
+
+    /**
+     * @param missing bitmap of the missing elements, <code>null</code> if there are none (taken over)
+     */
+    AbstractPrimitiveListCell(final long[] missing) {
+        m_missing = missing;
+    }
+
+    /**
+     * Creates a primitive list cell if all non-missing cells are {@link IntCell}s, {@link LongCell}s or
+     * {@link DoubleCell}s (of exactly that class), there is at least one of them and no missing cell carries an error
+     * message.
+     *
+     * @param cells the elements of the list
+     * @return a new cell or <code>null</code> if the elements can't be stored in a primitive array
+     */
+    static AbstractPrimitiveListCell createIfPossible(final Collection<? extends DataCell> cells) {
+        Class<?> elementClass = null;
+        boolean hasMissing = false;
+        for (DataCell c : cells) {
+            if (c.isMissing()) {
+                if (!(c instanceof MissingCell) || ((MissingCell)c).getError() != null) {
+                    return null;
+                }
+                hasMissing = true;
+            } else if (elementClass == null) {
+                elementClass = c.getClass();
+            } else if (elementClass != c.getClass()) {
+                return null;
+            }
+        }
+        final int size = cells.size();
+        final long[] missing = hasMissing ? new long[(size + 63) >>> 6] : null;
+        if (elementClass == DoubleCell.class) {
+            final double[] values = new double[size];
+            int i = 0;
+            for (DataCell c : cells) {
+                if (c.isMissing()) {
+                    missing[i >>> 6] |= 1L << i;
+                } else {
+                    values[i] = ((DoubleCell)c).getDoubleValue();
+                }
+                i++;
+            }
+            return new DoubleListCell(values, missing);
+        } else if (elementClass == IntCell.class) {
+            final int[] values = new int[size];
+            int i = 0;
+            for (DataCell c : cells) {
+                if (c.isMissing()) {
+                    missing[i >>> 6] |= 1L << i;
+                } else {
+                    values[i] = ((IntCell)c).getIntValue();
+                }
+                i++;
+            }
+            return new IntListCell(values, missing);
+        } else if (elementClass == LongCell.class) {
+            final long[] values = new long[size];
+            int i = 0;
+            for (DataCell c : cells) {
+                if (c.isMissing()) {
+                    missing[i >>> 6] |= 1L << i;
+                } else {
+                    values[i] = ((LongCell)c).getLongValue();
+                }
+                i++;
+            }
+            return new LongListCell(values, missing);
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the element at the specified position is missing.
+     *
+     * @param index the position of the element (first element has index zero)
+     * @return true if the element is a missing cell
+     * @throws IndexOutOfBoundsException if the index is negative or not smaller than the size
+     */
+    public final boolean isMissing(final int index) {
+        checkIndex(index);
+        return m_missing != null && (m_missing[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return true if at least one element is missing
+     */
+    public final boolean containsMissing() {
+        return m_missing != null;
+    }
+
+    /**
+     * Creates the cell of a non-missing element.
+     *
+     * @param index the position of the element
+     * @return a new cell
+     */
+    abstract DataCell createCell(int index);
+
+    /**
+     * @param index the position of a non-missing element
+     * @return the hash code of the element's cell
+     */
+    abstract int elementHashCode(int index);
+
+    /**
+     * @param other a cell of the same class and size
+     * @return whether all elements that are not missing in this list are equal (as cells)
+     */
+    abstract boolean valuesEqual(AbstractPrimitiveListCell other);
+
+    /** @throws IndexOutOfBoundsException if the index is not valid */
+    final void checkIndex(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataCell get(final int index) {
+        return isMissing(index) ? DataType.getMissingCell() : createCell(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterator<DataCell> iterator() {
+        return new Iterator<DataCell>() {
+            private int m_index;
+
+            @Override
+            public boolean hasNext() {
+                return m_index < size();
+            }
+
+            @Override
+            public DataCell next() {
+                if (m_index >= size()) {
+                    throw new NoSuchElementException();
+                }
+                return get(m_index++);
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsBlobWrapperCells() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean equalsDataCell(final DataCell dc) {
+        if (dc == this) {
+            return true;
+        }
+        final AbstractPrimitiveListCell other = (AbstractPrimitiveListCell)dc;
+        return other.size() == size() && Arrays.equals(m_missing, other.m_missing) && valuesEqual(other);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        // same as List#hashCode of the element cells (see ListCell)
+        int hashCode = 1;
+        for (int i = 0; i < size(); i++) {
+            hashCode = 31 * hashCode + (isMissing(i) ? DataType.getMissingCell().hashCode() : elementHashCode(i));
+        }
+        return hashCode;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder("[");
+        for (int i = 0; i < size(); i++) {
+            b.append(i > 0 ? ", " : "").append(get(i));
+        }
+        return b.append(']').toString();
+    }
+
+    /**
+     * Creates a list of the element cells; used by code accessing the list of a {@link ListCell} directly.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    protected BlobSupportDataCellList getList() {
+        final ArrayList<DataCell> cells = new ArrayList<DataCell>(size());
+        for (DataCell c : this) {
+            cells.add(c);
+        }
+        return BlobSupportDataCellList.create(cells);
+    }
+
+    /**
+     * Writes the size and the missing bitmap.
+     *
+     * @param output to write to
+     * @throws IOException if that fails
+     */
+    final void writeSizeAndMissing(final DataOutput output) throws IOException {
+        output.writeInt(size());
+        output.writeBoolean(m_missing != null);
+        if (m_missing != null) {
+            writeLongs(output, m_missing);
+        }
+    }
+
+    /**
+     * Reads the missing bitmap written by {@link #writeSizeAndMissing(DataOutput)}, after the size has been read.
+     *
+     * @param input to read from
+     * @param size the size read before
+     * @return the bitmap or <code>null</code>
+     * @throws IOException if that fails
+     */
+    static long[] readMissing(final DataInput input, final int size) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        final long[] missing = new long[(size + 63) >>> 6];
+        readLongs(input, missing);
+        return missing;
+    }
+
+    /**
+     * Reads the size written by {@link #writeSizeAndMissing(DataOutput)}.
+     *
+     * @param input to read from
+     * @return the size
+     * @throws IOException if that fails or the size is negative
+     */
+    static int readSize(final DataInput input) throws IOException {
+        final int size = input.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid size: " + size);
+        }
+        return size;
+    }
+
+    /* The bulk methods below convert chunks of values to a byte array (in the byte order of DataOutput) instead of
+     * writing each value separately. */
+
+    static void writeLongs(final DataOutput output, final long[] values) throws IOException {
+        final ByteBuffer buffer = newBuffer(values.length, Long.BYTES);
+        for (int start = 0; start < values.length; start += SERIALIZATION_CHUNK_SIZE) {
+            final int length = Math.min(SERIALIZATION_CHUNK_SIZE, values.length - start);
+            buffer.clear();
+            buffer.asLongBuffer().put(values, start, length);
+            output.write(buffer.array(), 0, length * Long.BYTES);
+        }
+    }
+
+    static void readLongs(final DataInput input, final long[] values) throws IOException {
+        final ByteBuffer buffer = newBuffer(values.length, Long.BYTES);
+        for (int start = 0; start < values.length; start += SERIALIZATION_CHUNK_SIZE) {
+            final int length = Math.min(SERIALIZATION_CHUNK_SIZE, values.length - start);
+            input.readFully(buffer.array(), 0, length * Long.BYTES);
+            buffer.clear();
+            buffer.asLongBuffer().get(values, start, length);
+        }
+    }
+
+    static void writeInts(final DataOutput output, final int[] values) throws IOException {
+        final ByteBuffer buffer = newBuffer(values.length, Integer.BYTES);
+        for (int start = 0; start < values.length; start += SERIALIZATION_CHUNK_SIZE) {
+            final int length = Math.min(SERIALIZATION_CHUNK_SIZE, values.length - start);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, start, length);
+            output.write(buffer.array(), 0, length * Integer.BYTES);
+        }
+    }
+
+    static void readInts(final DataInput input, final int[] values) throws IOException {
+        final ByteBuffer buffer = newBuffer(values.length, Integer.BYTES);
+        for (int start = 0; start < values.length; start += SERIALIZATION_CHUNK_SIZE) {
+            final int length = Math.min(SERIALIZATION_CHUNK_SIZE, values.length - start);
+            input.readFully(buffer.array(), 0, length * Integer.BYTES);
+            buffer.clear();
+            buffer.asIntBuffer().get(values, start, length);
+        }
+    }
+
+    static void writeDoubles(final DataOutput output, final double[] values) throws IOException {
+        final ByteBuffer buffer = newBuffer(values.length, Double.BYTES);
+        for (int start = 0; start < values.length; start += SERIALIZATION_CHUNK_SIZE) {
+            final int length = Math.min(SERIALIZATION_CHUNK_SIZE, values.length - start);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(values, start, length);
+            output.write(buffer.array(), 0, length * Double.BYTES);
+        }
+    }
+
+    static void readDoubles(final DataInput input, final double[] values) throws IOException {
+        final ByteBuffer buffer = newBuffer(values.length, Double.BYTES);
+        for (int start = 0; start < values.length; start += SERIALIZATION_CHUNK_SIZE) {
+            final int length = Math.min(SERIALIZATION_CHUNK_SIZE, values.length - start);
+            input.readFully(buffer.array(), 0, length * Double.BYTES);
+            buffer.clear();
+            buffer.asDoubleBuffer().get(values, start, length);
+        }
+    }
+
+    private static ByteBuffer newBuffer(final int length, final int bytesPerValue) {
+        return ByteBuffer.allocate(Math.min(length, SERIALIZATION_CHUNK_SIZE) * bytesPerValue);
+    }
+}
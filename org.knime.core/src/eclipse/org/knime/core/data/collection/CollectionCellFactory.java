@@ -53,6 +53,9 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
 import org.knime.core.node.BufferedDataTable;
 
 import java.util.ArrayList;
@@ -63,6 +66,12 @@
  * Factory class used to create {@link DataCell}s that contain a collection of
  * {@link DataCell}s. Also provides convenient methods to determine the type of
  * the elements (the common super type), if no such collection cell is at hand.
+ * <p>
+ * Lists whose elements are all {@link IntCell}s, {@link LongCell}s or
+ * {@link DoubleCell}s (or missing cells without error message) are created as
+ * {@link IntListCell}, {@link LongListCell} or {@link DoubleListCell}, which
+ * keep the values in a primitive array. They are equal to and compatible
+ * with a {@link ListCell} of the same elements.
  *
  * @author ohl, University of Konstanz
  */
@@ -86,6 +95,11 @@ private CollectionCellFactory() {
      */
     public static ListCell createListCell(
             final Collection<? extends DataCell> coll) {
+        final ListCell primitiveList =
+            AbstractPrimitiveListCell.createIfPossible(coll);
+        if (primitiveList != null) {
+            return primitiveList;
+        }
         final BlobSupportDataCellList l = BlobSupportDataCellList.create(coll);
         return new ListCell(l);
     }
@@ -102,9 +116,52 @@ public static ListCell createListCell(
      * @throws IndexOutOfBoundsException If the indices are invalid.
      */
     public static ListCell createListCell(final DataRow row, final int[] cols) {
-        final BlobSupportDataCellList l =
-            BlobSupportDataCellList.create(row, cols);
-        return new ListCell(l);
+        final ArrayList<DataCell> coll = new ArrayList<DataCell>(cols.length);
+        for (int i = 0; i < cols.length; i++) {
+            if (row instanceof BlobSupportDataRow) {
+                coll.add(((BlobSupportDataRow)row).getRawCell(cols[i]));
+            } else {
+                coll.add(row.getCell(cols[i]));
+            }
+        }
+        return createListCell(coll);
+    }
+
+    /**
+     * Creates a list of {@link IntCell}s, which keeps the values in an array.
+     *
+     * @param values the values of the list (copied)
+     * @return a new {@link IntListCell}
+     * @throws NullPointerException if the argument is null
+     * @since 3.8
+     */
+    public static IntListCell createIntListCell(final int[] values) {
+        return new IntListCell(values.clone(), null);
+    }
+
+    /**
+     * Creates a list of {@link LongCell}s, which keeps the values in an array.
+     *
+     * @param values the values of the list (copied)
+     * @return a new {@link LongListCell}
+     * @throws NullPointerException if the argument is null
+     * @since 3.8
+     */
+    public static LongListCell createLongListCell(final long[] values) {
+        return new LongListCell(values.clone(), null);
+    }
+
+    /**
+     * Creates a list of {@link DoubleCell}s, which keeps the values in an
+     * array.
+     *
+     * @param values the values of the list (copied)
+     * @return a new {@link DoubleListCell}
+     * @throws NullPointerException if the argument is null
+     * @since 3.8
+     */
+    public static DoubleListCell createDoubleListCell(final double[] values) {
+        return new DoubleListCell(values.clone(), null);
     }
 
     /**
@@ -58,10 +58,13 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.DataValue;
 
 /**
  * Default implementation of a {@link CollectionDataValue}, whereby the
- * underlying data structure is a list.
+ * underlying data structure is a list. Lists of ints, longs or doubles are
+ * created as {@link AbstractPrimitiveListCell} by the
+ * {@link CollectionCellFactory}.
  *
  * @author Bernd Wiswedel, University of Konstanz
  */
@@ -102,6 +105,14 @@ protected ListCell(final BlobSupportDataCellList list) {
         m_list = list;
     }
 
+    /**
+     * Used by {@link AbstractPrimitiveListCell}, which keeps its elements in a primitive array and overrides all
+     * methods accessing the list.
+     */
+    ListCell() {
+        m_list = null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public DataType getElementType() {
@@ -143,6 +154,27 @@ protected boolean equalsDataCell(final DataCell dc) {
         return m_list.equals(((ListCell)dc).m_list);
     }
 
+    /**
+     * Compares the elements, e.g. of a {@link ListCell} and a {@link DoubleListCell}.
+     *
+     * {@inheritDoc}
+     * @since 3.8
+     */
+    @Override
+    protected boolean equalContent(final DataValue otherValue) {
+        final ListDataValue other = (ListDataValue)otherValue;
+        final int size = size();
+        if (other.size() != size || !other.getElementType().equals(getElementType())) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!get(i).equals(other.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public int hashCode() {
@@ -0,0 +1,149 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.collection;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.LongCell;
+
+/**
+ * A {@link ListCell} of {@link LongCell}s (and missing cells), which keeps the values in a <code>long[]</code>. Created
+ * by the {@link CollectionCellFactory} when all elements are {@link LongCell}s.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class LongListCell extends AbstractPrimitiveListCell {
+
+    private final long[] m_values;
+
+    /**
+     * @param values the values, 0 at the positions of missing elements (taken over)
+     * @param missing bitmap of the missing elements, <code>null</code> if there are none (taken over)
+     */
+    LongListCell(final long[] values, final long[] missing) {
+        super(missing);
+        m_values = values;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataType getElementType() {
+        return LongCell.TYPE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return m_values.length;
+    }
+
+    /**
+     * Returns the value of the element at the specified position, without creating a cell.
+     *
+     * @param index the position of the element (first element has index zero)
+     * @return the value, 0 if the element is missing (see {@link #isMissing(int)})
+     * @throws IndexOutOfBoundsException if the index is negative or not smaller than the size
+     */
+    public long getLong(final int index) {
+        checkIndex(index);
+        return m_values[index];
+    }
+
+    /**
+     * @return a copy of all values, with 0 at the positions of missing elements (see {@link #isMissing(int)})
+     */
+    public long[] toLongArray() {
+        return m_values.clone();
+    }
+
+    @Override
+    DataCell createCell(final int index) {
+        return new LongCell(m_values[index]);
+    }
+
+    @Override
+    int elementHashCode(final int index) {
+        // same as LongCell#hashCode
+        final long value = m_values[index];
+        return (int)(value ^ (value >>> 32));
+    }
+
+    @Override
+    boolean valuesEqual(final AbstractPrimitiveListCell other) {
+        // missing elements are 0 in both lists
+        return Arrays.equals(m_values, ((LongListCell)other).m_values);
+    }
+
+    /**
+     * Serializer for {@link LongListCell}s, which writes the values in bulk.
+     *
+     * @noreference This class is not intended to be referenced by clients.
+     */
+    public static final class LongListCellSerializer implements DataCellSerializer<LongListCell> {
+        /** {@inheritDoc} */
+        @Override
+        public void serialize(final LongListCell cell, final DataCellDataOutput output) throws IOException {
+            cell.writeSizeAndMissing(output);
+            writeLongs(output, cell.m_values);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LongListCell deserialize(final DataCellDataInput input) throws IOException {
+            final int size = readSize(input);
+            final long[] missing = readMissing(input, size);
+            final long[] values = new long[size];
+            readLongs(input, values);
+            return new LongListCell(values, missing);
+        }
+    }
+}
@@ -59,6 +59,8 @@
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -80,7 +82,6 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -131,6 +132,7 @@
 import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.util.BackgroundFileDeleter;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.LRUCache;
 import org.knime.core.util.ShutdownHelper;
@@ -263,10 +265,10 @@ public class Buffer implements KNIMEStreamConstants {
     private static final String CFG_SIZE_L = "table.size.long";
 
     /** Current version string. */
-    public static final String VERSION = "container_11";
+    public static final String VERSION = "container_12";
 
     /** The version number corresponding to {@link #VERSION}. */
-    public static final int IVERSION = 11;
+    public static final int IVERSION = 12;
 
     private static final HashMap<String, Integer> COMPATIBILITY_MAP;
 
@@ -282,7 +284,8 @@ public class Buffer implements KNIMEStreamConstants {
         COMPATIBILITY_MAP.put("container_8", 8); // version 2.0.1
         COMPATIBILITY_MAP.put("container_9", 9); // never released - some workflow tests contain it (BW used a nightly)
         COMPATIBILITY_MAP.put("container_10", 10); // version 3.6 (multiple table formats)
-        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.7 - add FileStoreCell support for multiple FileStores
+        COMPATIBILITY_MAP.put("container_11", 11); // version 3.7 - add FileStoreCell support for multiple FileStores
+        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.8 - dictionary encoded string cells
         // NOTE consider to also
         // - increment the workflow.knime version number when updating this list
         // - update list in NoKeyBuffer
@@ -300,11 +303,6 @@ public class Buffer implements KNIMEStreamConstants {
     /** Number of dirs/files per directory when blobs are saved. */
     private static final int BLOB_ENTRIES_PER_DIRECTORY = 1000;
 
-    /**
-     * Is executing the shutdown hook? If so, no logging is done, bug fix #862.
-     */
-    private static boolean isExecutingShutdownHook = false;
-
     /**
      * Adds a shutdown hook to the runtime that closes all open input streams
      *
@@ -317,14 +315,13 @@ public class Buffer implements KNIMEStreamConstants {
         }
         try {
             ShutdownHelper.getInstance().appendShutdownHook(() -> {
-                isExecutingShutdownHook = true;
                 for (WeakReference<Buffer> ref : OPENBUFFERS) {
                     Buffer it = ref.get();
                     if (it != null) {
                         it.clear();
                     }
                 }
-                DeleteInBackgroundThread.waitUntilFinished();
+                BackgroundFileDeleter.waitUntilFinished();
             });
         } catch (Exception e) {
             LOGGER.warn("Unable to add shutdown hook to delete temp files", e);
@@ -1131,7 +1128,11 @@ private void ensureWriterIsOpen() throws IOException {
 
     private void closeWriterAndWriteMeta() {
         try {
-            m_outputWriter.close();
+            try {
+                m_outputWriter.awaitFileStoreFlushes();
+            } finally {
+                m_outputWriter.close();
+            }
             NodeSettings formatSettings = new NodeSettings(CFG_TABLE_FORMAT_CONFIG);
             m_outputWriter.writeMetaInfoAfterWrite(formatSettings);
             m_formatSettings = formatSettings;
@@ -1600,15 +1601,35 @@ final IWriteFileStoreHandler castAndGetFileStoreHandler() {
      */
     synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMonitor exec) throws IOException,
             CanceledExecutionException {
+        addToZipFile(zipOut, null, exec);
+    }
+
+    /**
+     * Similar to {@link #addToZipFile(ZipOutputStream, ExecutionMonitor)} but optionally writes the binary data as a
+     * plain file next to the zip file instead of a zip entry. This file is later read without extracting it from the
+     * zip stream (see {@link #getPlainDataFile(File)}).
+     *
+     * @param zipOut To write to.
+     * @param plainDataFile The file to write the binary data to or <code>null</code> to add it to the zip stream.
+     * @param exec For progress/cancel
+     * @throws IOException If it fails to write to a file.
+     * @throws CanceledExecutionException If canceled.
+     */
+    synchronized void addToZipFile(final ZipOutputStream zipOut, final File plainDataFile,
+        final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
         m_lifecycle.onSave();
         if (m_spec == null) {
             throw new IOException("Can't save an open Buffer.");
         }
-        // binary data is already deflated
-        if (ZLIB_SUPPORTS_LEVEL_SWITCH_AP8083) {
-            zipOut.setLevel(Deflater.NO_COMPRESSION);
+        if (plainDataFile != null) {
+            Files.deleteIfExists(plainDataFile.toPath());
+        } else {
+            // binary data is already deflated
+            if (ZLIB_SUPPORTS_LEVEL_SWITCH_AP8083) {
+                zipOut.setLevel(Deflater.NO_COMPRESSION);
+            }
+            zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_DATA));
         }
-        zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_DATA));
         // these are the conditions:
         //    !usesOutFile() --> data all kept in memory, small tables
         //    m_version< ... --> container version bump
@@ -1617,11 +1638,18 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
             // of this buffer, which prevents it from further reading (version
             // conflict) - see bug #1364
             Buffer copy = createLocalCloneForWriting();
+            // plain data files are written to a temp file first, as are formats that can't write to the zip stream
+            boolean isWriteToTempFile = plainDataFile != null;
+            if (!isWriteToTempFile) {
+                try {
+                    copy.initOutputWriter(new NonClosableOutputStream.Zip(zipOut));
+                    copy.m_hasTempFile = false;
+                } catch (UnsupportedOperationException notSupported) {
+                    isWriteToTempFile = true;
+                }
+            }
             File tempFile = null;
-            try {
-                copy.initOutputWriter(new NonClosableOutputStream.Zip(zipOut));
-                copy.m_hasTempFile = false;
-            } catch (UnsupportedOperationException notSupported) {
+            if (isWriteToTempFile) {
                 tempFile = DataContainer.createTempFile(copy.m_outputFormat.getFilenameSuffix());
                 copy.m_binFile = tempFile;
                 copy.initOutputWriter(tempFile);
@@ -1641,8 +1669,14 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
                 copy.closeInternal();
             }
             if (tempFile != null) {
-                try (InputStream in = new FileInputStream(tempFile)) {
-                    IOUtils.copyLarge(in, new NonClosableOutputStream(zipOut));
+                try {
+                    if (plainDataFile != null) {
+                        linkOrCopy(tempFile, plainDataFile);
+                    } else {
+                        try (InputStream in = new FileInputStream(tempFile)) {
+                            IOUtils.copyLarge(in, new NonClosableOutputStream(zipOut));
+                        }
+                    }
                 } finally {
                     tempFile.delete();
                 }
@@ -1674,10 +1708,15 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
             zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_META));
             copy.writeMetaToFile(new NonClosableOutputStream.Zip(zipOut));
         } else {
-            // no need for BufferedInputStream here as the copy method
-            // does the buffering itself
-            try (InputStream is = new FileInputStream(m_binFile)) {
-                FileUtil.copy(is, zipOut);
+            if (plainDataFile != null) {
+                // the bin file is not modified once the buffer is closed, sharing it is safe
+                linkOrCopy(m_binFile, plainDataFile);
+            } else {
+                // no need for BufferedInputStream here as the copy method
+                // does the buffering itself
+                try (InputStream is = new FileInputStream(m_binFile)) {
+                    FileUtil.copy(is, zipOut);
+                }
             }
             if (m_blobDir != null) {
                 addToZip(ZIP_ENTRY_BLOBS, zipOut, m_blobDir);
@@ -1694,6 +1733,42 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
         }
     }
 
+    /**
+     * The file holding the binary data of a table that was saved to the argument zip file with the data written to a
+     * plain file (see {@link #addToZipFile(ZipOutputStream, File, ExecutionMonitor)}). For instance, "data.bin" for
+     * "data.zip".
+     *
+     * @param zipFile The zip file containing the meta information of the table.
+     * @return the (possibly not existing) file next to the zip file.
+     */
+    static File getPlainDataFile(final File zipFile) {
+        String name = zipFile.getName();
+        if (name.toLowerCase().endsWith(".zip")) {
+            name = name.substring(0, name.length() - ".zip".length());
+        }
+        return new File(zipFile.getParentFile(), name + ".bin");
+    }
+
+    /**
+     * Makes the content of <code>source</code> available as <code>dest</code>, preferably by creating a hard link so
+     * that no data is copied. If the file system doesn't support this (or the files are on different file systems)
+     * the content is copied. An existing <code>dest</code> file is replaced.
+     *
+     * @param source The file to read from, which must not be modified afterwards.
+     * @param dest The file to create.
+     * @throws IOException If neither linking nor copying works.
+     */
+    static void linkOrCopy(final File source, final File dest) throws IOException {
+        Files.deleteIfExists(dest.toPath());
+        try {
+            Files.createLink(dest.toPath(), source.toPath());
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            LOGGER.debugWithFormat("Unable to link \"%s\" to \"%s\" (%s), copying content", dest.getAbsolutePath(),
+                source.getAbsolutePath(), e.getMessage());
+            Files.copy(source.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     /**
      * Adds recursively the content of the directory <code>dir</code> to a zip output stream, prefixed with
      * <code>zipEntry</code>.
@@ -1749,9 +1824,9 @@ synchronized void clear() {
                 m_outputReader.clearIteratorInstances();
             }
             if (m_blobDir != null) {
-                DeleteInBackgroundThread.delete(m_binFile, m_blobDir);
+                BackgroundFileDeleter.delete(m_binFile, m_blobDir);
             } else {
-                DeleteInBackgroundThread.delete(m_binFile);
+                BackgroundFileDeleter.delete(m_binFile);
             }
         }
         if (m_fileStoreHandler instanceof NotInWorkflowWriteFileStoreHandler) {
@@ -1793,19 +1868,6 @@ static void onFileCreated(final File file) throws IOException {
         }
     }
 
-    /**
-     * Print a debug message. This method does nothing if isExecutingShutdownHook is true.
-     */
-    private static void logDebug(final String message, final Throwable t) {
-        if (!isExecutingShutdownHook) {
-            if (t == null) {
-                LOGGER.debug(message);
-            } else {
-                LOGGER.debug(message, t);
-            }
-        }
-    }
-
     /** Write all rows from list into file. Used while rows are added and if low mem condition is met. */
     synchronized void flushBuffer() {
         m_lifecycle.onFlush();
@@ -1976,163 +2038,6 @@ public void close() {
         }
     }
 
-    /**
-     * A background thread that deletes temporary files and directory (which may be a very long lasting job - in
-     * particular when blob directories need to get deleted). This is the long term fix for bug 1051.
-     * <p>
-     * Implementation note: There is singleton thread running that does the deletion, if this thread is idle for a
-     * while, it is shut down and recreated on demand.
-     */
-    private static final class DeleteInBackgroundThread extends Thread {
-
-        private static final NodeLogger THREAD_LOGGER = NodeLogger.getLogger(DeleteInBackgroundThread.class);
-
-        private static DeleteInBackgroundThread instance;
-
-        private final LinkedBlockingQueue<File> m_filesToDeleteList;
-
-        private static final Object LOCK = new Object();
-
-        private DeleteInBackgroundThread() {
-            super("KNIME-Temp-File-Deleter");
-            m_filesToDeleteList = new LinkedBlockingQueue<File>();
-        }
-
-        /**
-         * Queues a set of files for deletion and returns immediately.
-         *
-         * @param file To delete.
-         */
-        public static void delete(final File... file) {
-            synchronized (LOCK) {
-                if (instance == null || !instance.isAlive()) {
-                    instance = new DeleteInBackgroundThread();
-                    instance.start();
-                }
-                instance.addFile(file);
-            }
-        }
-
-        /**
-         * Blocks the calling thread until all queued files have been deleted.
-         */
-        public static void waitUntilFinished() {
-            synchronized (LOCK) {
-                if (instance == null || !instance.isAlive()) {
-                    return;
-                }
-            }
-            instance.blockUntilFinished();
-        }
-
-        private void addFile(final File[] files) {
-            synchronized (LOCK) {
-                m_filesToDeleteList.addAll(Arrays.asList(files));
-                if (!m_filesToDeleteList.isEmpty()) {
-                    LOCK.notifyAll();
-                }
-            }
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void run() {
-            while (true) {
-                synchronized (LOCK) {
-                    if (m_filesToDeleteList.isEmpty()) {
-                        try {
-                            LOCK.wait(60 * 1000);
-                        } catch (InterruptedException ie) {
-                            if (!m_filesToDeleteList.isEmpty()) {
-                                THREAD_LOGGER.warn("Deletion of " + m_filesToDeleteList.size() + "files "
-                                        + "or directories failed because deleter thread was interrupted");
-                            }
-                            return;
-                        }
-                        if (m_filesToDeleteList.isEmpty()) {
-                            return;
-                        }
-                    }
-                }
-                executeDeletion();
-            }
-        }
-
-        private synchronized void executeDeletion() {
-            try {
-                File first;
-                while ((first = m_filesToDeleteList.poll()) != null) {
-                    String type = first.isFile() ? "file" : "directory";
-                    boolean deleted = deleteRecursively(first);
-                    if (!deleted && first.exists()) {
-                        // note: although all input streams are closed, the
-                        // file can't be deleted. If we call the gc, it
-                        // works. No clue. That only happens on windows!
-                        // http://forum.java.sun.com/thread.jspa?forumID=31&threadID=609458
-                        System.gc();
-                    }
-                    if (deleted || deleteRecursively(first)) {
-                        logDebug("Deleted temporary " + type + " \"" + first.getAbsolutePath() + "\"", null);
-                    } else {
-                        logDebug("Failed to delete temporary " + type + " \"" + first.getAbsolutePath() + "\"", null);
-                    }
-                }
-            } finally {
-                notifyAll();
-            }
-        }
-
-        private synchronized void blockUntilFinished() {
-            if (!m_filesToDeleteList.isEmpty()) {
-                try {
-                    wait();
-                } catch (InterruptedException ie) {
-                    // that should only be called from the shutdown hook,
-                    // if someone interrupts us, so be it.
-                }
-            }
-        }
-
-        /**
-         * Makes sure the list is empty. This is necessary because when the VM goes done, any running thread is stopped.
-         *
-         * @see java.lang.Object#finalize()
-         */
-        @Override
-        protected void finalize() throws Throwable {
-            if (!m_filesToDeleteList.isEmpty()) {
-                executeDeletion();
-            }
-        }
-
-        /**
-         * Deletes the argument file or directory recursively and returns true if this was successful. This method
-         * follows any symbolic link (in comparison to {@link org.knime.core.utilFileUtil#deleteRecursively(File)}.
-         *
-         * @param f The (blob) directory or temp file to delete.
-         * @return Whether or not the f has been deleted.
-         */
-        private static boolean deleteRecursively(final File f) {
-            if (f.isFile()) {
-                return f.delete();
-            }
-            File[] files = f.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    boolean deleted = file.delete();
-                    if (!deleted) {
-                        if (file.isDirectory()) {
-                            deleteRecursively(file);
-                        }
-                    }
-                }
-            }
-            return f.delete();
-        }
-    }
-
     /** See {@link #ZLIB_SUPPORTS_LEVEL_SWITCH_AP8083} for details.
      * @return hopefully mostly true but false in case we are on a broken zlib
      */
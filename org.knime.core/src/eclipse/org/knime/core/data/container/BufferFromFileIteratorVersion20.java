@@ -52,7 +52,9 @@
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.zip.GZIPInputStream;
 
@@ -64,6 +66,11 @@
 import org.knime.core.data.container.DCObjectInputVersion2.BlockableDCObjectInputVersion2;
 import org.knime.core.data.container.DefaultTableStoreReader.FromFileIterator;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
 import org.knime.core.data.filestore.FileStoreCell;
 import org.knime.core.data.filestore.FileStoreKey;
 import org.knime.core.data.filestore.FileStoreUtil;
@@ -101,6 +108,17 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     /** Utility object with designated functionality to deserialize datacell. */
     private DataCellStreamReader m_dataCellStreamReader;
 
+    /** Per column dictionary of string cells read so far, null if the file was written prior container version 12.
+     * See {@link DefaultTableStoreWriter} for details. */
+    private final List<List<StringCell>> m_stringDictionaries;
+
+    /** Bit mask of the missing cells of the current row, null if the file was written prior container version 12.
+     * See {@link DefaultTableStoreWriter} for details. */
+    private final byte[] m_missingMask;
+
+    /** Whether the current row has a {@link #m_missingMask}, read as part of the row header. */
+    private boolean m_hasMissingMask;
+
     /** Inits iterator, opens input stream.
      * @param tableFormatReader The associated buffer.
      * @throws IOException If stream reading fails.
@@ -122,6 +140,18 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
         // open the input stream
         m_dataCellStreamReader = new DataCellStreamReader(tableFormatReader);
         m_inStream = new BlockableDCObjectInputVersion2(getInputStream(tableFormatReader), m_dataCellStreamReader);
+
+        if (tableFormatReader.getReadVersion() >= 12) {
+            final int colCount = tableFormatReader.getTableSpec().getNumColumns();
+            m_stringDictionaries = new ArrayList<>(colCount);
+            for (int i = 0; i < colCount; i++) {
+                m_stringDictionaries.add(new ArrayList<>());
+            }
+            m_missingMask = new byte[(colCount + 7) / 8];
+        } else {
+            m_stringDictionaries = null;
+            m_missingMask = null;
+        }
     }
 
 
@@ -156,7 +186,7 @@ public synchronized BlobSupportDataRow next() {
         }
         RowKey key;
         try {
-            key = readRowKeyAndEndBlock(inStream);
+            key = readRowHeaderAndEndBlock(inStream);
         } catch (Exception throwable) {
             handleReadThrowable(throwable);
             // can't ensure that we generate a unique key but it should
@@ -166,10 +196,15 @@ public synchronized BlobSupportDataRow next() {
         }
         DataCell[] cells = new DataCell[colCount];
         for (int i = 0; i < colCount; i++) {
+            if (m_hasMissingMask && (m_missingMask[i >> 3] & (1 << (i & 7))) != 0) {
+                cells[i] = DataType.getMissingCell();
+                continue;
+            }
             DataCell nextCell;
             try {
                 try {
-                    nextCell = m_dataCellStreamReader.readDataCell(m_inStream);
+                    nextCell = m_dataCellStreamReader.readDataCell(m_inStream,
+                        m_stringDictionaries != null ? m_stringDictionaries.get(i) : null);
                 } finally {
                     m_inStream.endBlock();
                 }
@@ -192,20 +227,32 @@ public synchronized BlobSupportDataRow next() {
         return new BlobSupportDataRow(key, cells);
     }
 
-    /** Reads a row key from the stream and ends the block. In case of buffers
-     * that don't persist their row keys ({@link NoKeyBuffer}), it returns
-     * a static key.
+    /** Reads the row header from the stream and ends the block. The header consists of the row key, and since
+     * container version 12, of the optional bit mask of missing cells, which is read into {@link #m_missingMask}.
+     * In case of buffers that don't persist their row keys ({@link NoKeyBuffer}), it returns a static key.
      * @param inStream To read from
      * @return The row key as read right from the stream.
      * @throws IOException If reading fails for IO problems.
      */
-    private RowKey readRowKeyAndEndBlock(
+    private RowKey readRowHeaderAndEndBlock(
             final BlockableDCObjectInputVersion2 inStream) throws IOException {
-        if (!m_tableFormatReader.isReadRowKey()) {
+        m_hasMissingMask = false;
+        final boolean isReadRowKey = m_tableFormatReader.isReadRowKey();
+        if (!isReadRowKey && m_missingMask == null) {
             return DUMMY_ROW_KEY;
         }
         try {
-            return inStream.readRowKey();
+            final RowKey key = isReadRowKey ? inStream.readRowKey() : DUMMY_ROW_KEY;
+            if (m_missingMask != null) {
+                final byte flag = inStream.readControlByte();
+                if (flag == ROW_HEADER_MISSING_MASK) {
+                    inStream.readMissingMask(m_missingMask);
+                    m_hasMissingMask = true;
+                } else if (flag != ROW_HEADER_NO_MISSING_MASK) {
+                    throw new IOException("Invalid row header flag " + flag);
+                }
+            }
+            return key;
         } finally {
             inStream.endBlock();
         }
@@ -319,6 +366,21 @@ public DataCellStreamReader(final AbstractTableStoreReader tableFormatReader) {
          * @throws IOException If exceptions occur.
          */
         public DataCell readDataCell(final DCObjectInputVersion2 inStream) throws IOException {
+            return readDataCell(inStream, null);
+        }
+
+        /**
+         * Reads a data cell from the argument stream, string cells are decoded using the given dictionary. Does not
+         * exception handling, nor stream blocking.
+         *
+         * @param inStream To read from.
+         * @param stringDictionary The dictionary of the column, null if string cells are not dictionary encoded
+         *            (embedded cells or files prior container version 12).
+         * @return the data cell being read
+         * @throws IOException If exceptions occur.
+         */
+        DataCell readDataCell(final DCObjectInputVersion2 inStream, final List<StringCell> stringDictionary)
+            throws IOException {
             inStream.setCurrentClassLoader(null);
 
             byte identifier = inStream.readControlByte();
@@ -333,6 +395,20 @@ public DataCell readDataCell(final DCObjectInputVersion2 inStream) throws IOExce
 
             CellClassInfo type = m_tableFormatReader.getTypeForChar(identifier);
             Class<? extends DataCell> cellClass = type.getCellClass();
+            if (!isJavaSerialization) {
+                // core types are read directly, their payload is the same as written by their serializers
+                if (cellClass == IntCell.class) {
+                    return new IntCell(inStream.readInt());
+                } else if (cellClass == DoubleCell.class) {
+                    return new DoubleCell(inStream.readDouble());
+                } else if (cellClass == LongCell.class) {
+                    return new LongCell(inStream.readLong());
+                } else if (cellClass == BooleanCell.class) {
+                    return BooleanCell.get(inStream.readBoolean());
+                } else if (stringDictionary != null && cellClass == StringCell.class) {
+                    return readStringCell(inStream, stringDictionary);
+                }
+            }
             boolean isBlob = BlobDataCell.class.isAssignableFrom(cellClass);
             boolean isFileStore = FileStoreCell.class.isAssignableFrom(cellClass);
             // starting with table version 11 FileStoreCells support multiple FileStores
@@ -374,6 +450,26 @@ public DataCell readDataCell(final DCObjectInputVersion2 inStream) throws IOExce
 
             return result;
         }
+
+        /** Reads a dictionary encoded string cell, returning the same instance for all occurrences of a string. */
+        private static DataCell readStringCell(final DCObjectInputVersion2 inStream,
+            final List<StringCell> stringDictionary) throws IOException {
+            final short code = inStream.readStringDictionaryCode();
+            if (code >= 0) {
+                if (code >= stringDictionary.size()) {
+                    throw new IOException("Invalid string dictionary code " + code + ", dictionary size is "
+                        + stringDictionary.size());
+                }
+                return stringDictionary.get(code);
+            }
+            final StringCell result = new StringCell(inStream.readUTF8String());
+            if (code == STRING_DICT_NEW_ENTRY) {
+                stringDictionary.add(result);
+            } else if (code != STRING_DICT_NO_ENTRY) {
+                throw new IOException("Invalid string dictionary code " + code);
+            }
+            return result;
+        }
     } // class DataCellStreamReader
 
 }
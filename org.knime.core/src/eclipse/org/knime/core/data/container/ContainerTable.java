@@ -49,6 +49,7 @@
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.zip.ZipOutputStream;
 
 import org.knime.core.data.DataTable;
@@ -60,6 +61,7 @@
 import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.util.CheckUtils;
@@ -202,8 +204,14 @@ public void saveToFile(final File f, final NodeSettingsWO settings,
             final ExecutionMonitor exec) throws IOException,
             CanceledExecutionException {
         ensureBufferOpen();
+        File plainDataFile = Buffer.getPlainDataFile(f);
         try (ZipOutputStream zipOut = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(f)))) {
-            m_buffer.addToZipFile(zipOut, exec);
+            if (Boolean.getBoolean(KNIMEConstants.PROPERTY_TABLE_PLAIN_DATA_FILE)) {
+                m_buffer.addToZipFile(zipOut, plainDataFile, exec);
+            } else {
+                Files.deleteIfExists(plainDataFile.toPath()); // from a previous save
+                m_buffer.addToZipFile(zipOut, exec);
+            }
         }
     }
 
@@ -76,7 +76,8 @@
 /**
  * Opens (on demand) a zip file from the workspace location and copies the
  * binary data content to temp for further reading. This class creates
- * a {@link Buffer} which reads from the temp file.
+ * a {@link Buffer} which reads from the temp file. If the binary data was saved
+ * as plain file next to the zip file it is linked (or copied) to temp instead.
  *
  * <p>Think of this class as an runnable that is executed once on demand. It
  * helps to delay the copy process of the data to speed up the loading of
@@ -224,6 +225,14 @@ Buffer createBuffer(final InputStream in) throws IOException {
             }
         }
         inStream.close();
+        if (!isDataFound && m_fileRef != null) {
+            // data may have been saved as plain file next to the zip file, no need to extract it
+            File plainDataFile = Buffer.getPlainDataFile(m_fileRef.getFile());
+            if (plainDataFile.isFile()) {
+                Buffer.linkOrCopy(plainDataFile, binFile);
+                isDataFound = true;
+            }
+        }
         if (!isDataFound) {
             throw new IOException("No entry " + Buffer.ZIP_ENTRY_DATA
                     + " in file");
@@ -51,6 +51,7 @@
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellDataInput;
@@ -158,6 +159,65 @@ RowKey readRowKey() throws IOException {
         return new RowKey(m_dataIn.readUTF());
     }
 
+    /** Reads a code of a dictionary encoded string cell, see {@link #STRING_DICT_NEW_ENTRY}.
+     * @return That code.
+     * @throws IOException If IO problems occur. */
+    short readStringDictionaryCode() throws IOException {
+        return m_dataIn.readShort();
+    }
+
+    /** Reads a string written as its UTF-8 encoded bytes, preceded by their number, or in modified UTF (see
+     * {@link #STRING_LENGTH_MODIFIED_UTF}).
+     * @return That string.
+     * @throws IOException If IO problems occur. */
+    String readUTF8String() throws IOException {
+        final int length = m_dataIn.readInt();
+        if (length == STRING_LENGTH_MODIFIED_UTF) {
+            return m_dataIn.readUTF();
+        }
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        m_dataIn.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Reads the bit mask of the missing cells in a row, see {@link #ROW_HEADER_MISSING_MASK}.
+     * @param mask The array to read into, its length is the length of the mask.
+     * @throws IOException If IO problems occur. */
+    void readMissingMask(final byte[] mask) throws IOException {
+        m_dataIn.readFully(mask);
+    }
+
+    /** Reads the value of an int cell, equivalent to its serializer.
+     * @return That value.
+     * @throws IOException If IO problems occur. */
+    int readInt() throws IOException {
+        return m_dataIn.readInt();
+    }
+
+    /** Reads the value of a long cell, equivalent to its serializer.
+     * @return That value.
+     * @throws IOException If IO problems occur. */
+    long readLong() throws IOException {
+        return m_dataIn.readLong();
+    }
+
+    /** Reads the value of a double cell, equivalent to its serializer.
+     * @return That value.
+     * @throws IOException If IO problems occur. */
+    double readDouble() throws IOException {
+        return m_dataIn.readDouble();
+    }
+
+    /** Reads the value of a boolean cell, equivalent to its serializer.
+     * @return That value.
+     * @throws IOException If IO problems occur. */
+    boolean readBoolean() throws IOException {
+        return m_dataIn.readBoolean();
+    }
+
     /** Reads a single byte from the stream.
      * @return That byte.
      * @throws IOException If IO problems occur. */
@@ -51,6 +51,7 @@
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellDataOutput;
@@ -137,6 +138,87 @@ void writeRowKey(final RowKey key) throws IOException {
         m_dataOut.writeUTF(key.getString());
     }
 
+    /** Writes a code of a dictionary encoded string cell, see {@link #STRING_DICT_NEW_ENTRY}.
+     * @param code The code to write, fits into a short.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeStringDictionaryCode(final int code) throws IOException {
+        m_dataOut.writeShort(code);
+    }
+
+    /** Writes a string as its UTF-8 encoded bytes, preceded by their number. Strings with unpaired surrogates (which
+     * UTF-8 would replace) are written in modified UTF instead, preceded by {@link #STRING_LENGTH_MODIFIED_UTF}.
+     * @param value The string to write.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeUTF8String(final String value) throws IOException {
+        if (hasUnpairedSurrogate(value)) {
+            m_dataOut.writeInt(STRING_LENGTH_MODIFIED_UTF);
+            m_dataOut.writeUTF(value);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        m_dataOut.writeInt(bytes.length);
+        m_dataOut.write(bytes);
+    }
+
+    private static boolean hasUnpairedSurrogate(final String value) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (Character.isHighSurrogate(c)) {
+                if (i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++; // valid pair
+                } else {
+                    return true;
+                }
+            } else if (Character.isLowSurrogate(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Writes the bit mask of the missing cells in a row, see {@link #ROW_HEADER_MISSING_MASK}.
+     * @param mask The mask to write.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeMissingMask(final byte[] mask) throws IOException {
+        m_dataOut.write(mask);
+    }
+
+    /** Writes the value of an int cell, equivalent to its serializer.
+     * @param value The value to write.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeInt(final int value) throws IOException {
+        m_dataOut.writeInt(value);
+    }
+
+    /** Writes the value of a long cell, equivalent to its serializer.
+     * @param value The value to write.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeLong(final long value) throws IOException {
+        m_dataOut.writeLong(value);
+    }
+
+    /** Writes the value of a double cell, equivalent to its serializer.
+     * @param value The value to write.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeDouble(final double value) throws IOException {
+        m_dataOut.writeDouble(value);
+    }
+
+    /** Writes the value of a boolean cell, equivalent to its serializer.
+     * @param value The value to write.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeBoolean(final boolean value) throws IOException {
+        m_dataOut.writeBoolean(value);
+    }
+
     /** Writes the argument byte.
      * @param controlByte The byte to write.
      * @throws IOException In case of stream corruption.
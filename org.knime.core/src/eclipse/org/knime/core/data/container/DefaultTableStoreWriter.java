@@ -50,14 +50,23 @@
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
 import org.knime.core.node.NodeSettingsWO;
 
 /**
@@ -75,6 +84,41 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
     /** The compression format. */
     private final CompressionFormat m_compFormat;
 
+    /** Maximum number of distinct strings that are dictionary encoded, summed over all columns of the table. */
+    private static final int MAX_STRING_DICT_SIZE = 4096;
+
+    /** Maximum number of characters of the dictionary encoded strings, summed over all columns of the table. */
+    private static final int MAX_STRING_DICT_CHARS = 64 * 1024;
+
+    /** Maximum length of strings that are added to a string dictionary. */
+    private static final int MAX_STRING_DICT_ENTRY_LENGTH = 256;
+
+    /** Per column dictionary of the strings written so far, see {@link #writeStringCell(int, StringCell)}. */
+    private final Map<String, Integer>[] m_stringDictionaries;
+
+    /** Number of entries in all string dictionaries, bounded by {@link #MAX_STRING_DICT_SIZE}. */
+    private int m_stringDictSize;
+
+    /** Number of characters in all string dictionaries, bounded by {@link #MAX_STRING_DICT_CHARS}. */
+    private int m_stringDictChars;
+
+    /** Index of the fast path types into {@link #m_fastPathShortCuts}, see {@link #writeFastPathCell(DataCell)}. */
+    private static final int FAST_PATH_INT = 0;
+
+    private static final int FAST_PATH_LONG = 1;
+
+    private static final int FAST_PATH_DOUBLE = 2;
+
+    private static final int FAST_PATH_BOOLEAN = 3;
+
+    private static final int FAST_PATH_STRING = 4;
+
+    /** Type short cuts of the fast path types, an entry is null until a cell of that type is written. */
+    private final Byte[] m_fastPathShortCuts = new Byte[5];
+
+    /** Bit mask of the missing cells in the current row, see {@link #ROW_HEADER_MISSING_MASK}. */
+    private final byte[] m_missingMask;
+
     /**
      * Constructs a writer for writing KNIME tables to disk using the given compression format.
      *
@@ -89,6 +133,10 @@ public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outp
         super(spec, writeRowKey);
         m_compFormat = compFormat;
         m_outStream = initOutFile(new BufferedOutputStream(outputStream));
+        @SuppressWarnings("unchecked")
+        final Map<String, Integer>[] stringDictionaries = new Map[spec.getNumColumns()];
+        m_stringDictionaries = stringDictionaries;
+        m_missingMask = new byte[(spec.getNumColumns() + 7) / 8];
     }
 
     /**
@@ -98,30 +146,151 @@ public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outp
      */
     @Override
     public void writeRow(final DataRow row) throws IOException {
-        RowKey id = row.getKey();
-        writeRowKey(id, m_outStream);
+        final boolean isBlobSupportRow = row instanceof BlobSupportDataRow;
+        final boolean hasMissingMask = fillMissingMask(row, isBlobSupportRow);
+        writeRowHeader(row.getKey(), hasMissingMask);
         for (int i = 0; i < row.getNumCells(); i++) {
-            DataCell cell =
-                row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(i) : row.getCell(i);
-            writeDataCell(cell, m_outStream);
+            DataCell cell = isBlobSupportRow ? ((BlobSupportDataRow)row).getRawCell(i) : row.getCell(i);
+            if (hasMissingMask && cell == DataType.getMissingCell()) {
+                continue;
+            }
+            if (cell instanceof StringCell && i < m_stringDictionaries.length) {
+                writeStringCell(i, (StringCell)cell);
+            } else if (!writeFastPathCell(cell)) {
+                writeDataCell(cell, m_outStream);
+            }
             m_outStream.endBlock();
         }
         m_outStream.endRow();
     }
 
     /**
-     * Writes the row key to the out stream. This method is overridden in {@link NoKeyBuffer} in order to skip the row
-     * key.
+     * Fills the bit mask of missing cells for the argument row if that takes less space than writing the missing
+     * cells individually (a control byte and a block end each). Only the singleton missing cell is flagged, missing
+     * cells with error cause are written via their serializer.
+     *
+     * @return whether the mask is to be written
+     */
+    private boolean fillMissingMask(final DataRow row, final boolean isBlobSupportRow) {
+        final int numCells = row.getNumCells();
+        if (numCells > m_missingMask.length * 8) {
+            return false;
+        }
+        Arrays.fill(m_missingMask, (byte)0);
+        int missingCount = 0;
+        for (int i = 0; i < numCells; i++) {
+            DataCell cell = isBlobSupportRow ? ((BlobSupportDataRow)row).getRawCell(i) : row.getCell(i);
+            if (cell == DataType.getMissingCell()) {
+                m_missingMask[i >> 3] |= 1 << (i & 7);
+                missingCount++;
+            }
+        }
+        return m_missingMask.length < 2 * missingCount;
+    }
+
+    /**
+     * Writes the row header, that is the row key (unless the row keys are skipped, see {@link NoKeyBuffer}) and the
+     * optional bit mask of missing cells.
      *
      * @param key The key to write.
-     * @param outStream To write to.
+     * @param hasMissingMask Whether to write {@link #m_missingMask}.
      * @throws IOException If that fails.
      */
-    void writeRowKey(final RowKey key, final BlockableDCObjectOutputVersion2 outStream) throws IOException {
+    private void writeRowHeader(final RowKey key, final boolean hasMissingMask) throws IOException {
         if (isWriteRowKey()) {
-            outStream.writeRowKey(key);
-            outStream.endBlock();
+            m_outStream.writeRowKey(key);
+        }
+        if (hasMissingMask) {
+            m_outStream.writeControlByte(ROW_HEADER_MISSING_MASK);
+            m_outStream.writeMissingMask(m_missingMask);
+        } else {
+            m_outStream.writeControlByte(ROW_HEADER_NO_MISSING_MASK);
+        }
+        m_outStream.endBlock();
+    }
+
+    /**
+     * Writes int, long, double and boolean cells directly, bypassing the serializer lookup. The payload is the same
+     * as written by the respective serializer. Subclasses of these cells take the regular path.
+     *
+     * @param cell The cell to write.
+     * @return whether the cell has been written
+     * @throws IOException If stream corruption happens.
+     */
+    private boolean writeFastPathCell(final DataCell cell) throws IOException {
+        final Class<? extends DataCell> cellClass = cell.getClass();
+        if (cellClass == IntCell.class) {
+            m_outStream.writeControlByte(getFastPathShortCut(FAST_PATH_INT, cell));
+            m_outStream.writeInt(((IntCell)cell).getIntValue());
+        } else if (cellClass == DoubleCell.class) {
+            m_outStream.writeControlByte(getFastPathShortCut(FAST_PATH_DOUBLE, cell));
+            m_outStream.writeDouble(((DoubleCell)cell).getDoubleValue());
+        } else if (cellClass == LongCell.class) {
+            m_outStream.writeControlByte(getFastPathShortCut(FAST_PATH_LONG, cell));
+            m_outStream.writeLong(((LongCell)cell).getLongValue());
+        } else if (cellClass == BooleanCell.class) {
+            m_outStream.writeControlByte(getFastPathShortCut(FAST_PATH_BOOLEAN, cell));
+            m_outStream.writeBoolean(((BooleanCell)cell).getBooleanValue());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the type short cut of a fast path type, registering the type on its first occurrence.
+     *
+     * @param fastPath The index of the type, e.g. {@link #FAST_PATH_INT}.
+     * @param cell A cell of that type.
+     * @return The short cut.
+     * @throws IOException If there are too many different cell implementations.
+     */
+    private byte getFastPathShortCut(final int fastPath, final DataCell cell) throws IOException {
+        Byte shortCut = m_fastPathShortCuts[fastPath];
+        if (shortCut == null) {
+            final CellClassInfo cellClass = CellClassInfo.get(cell);
+            getSerializerForDataCell(cellClass);
+            shortCut = getTypeShortCut(cellClass);
+            m_fastPathShortCuts[fastPath] = shortCut;
+        }
+        return shortCut;
+    }
+
+    /**
+     * Writes a string cell, dictionary encoded. The first occurrence of a string in a column is written in full and
+     * appended to the column's dictionary, any further occurrence only writes its code. Nominal columns thus store
+     * each distinct value once and the reader hands out one cell instance per value. The dictionaries of all columns
+     * share one budget per table (as the reader holds them for each iterator), any strings beyond are written in full.
+     * Strings written in full are UTF-8 encoded and preceded by their byte length.
+     *
+     * @param column The column index.
+     * @param cell The cell to write.
+     * @throws IOException If stream corruption happens.
+     */
+    private void writeStringCell(final int column, final StringCell cell) throws IOException {
+        m_outStream.writeControlByte(getFastPathShortCut(FAST_PATH_STRING, cell));
+
+        Map<String, Integer> dictionary = m_stringDictionaries[column];
+        if (dictionary == null) {
+            dictionary = new HashMap<>();
+            m_stringDictionaries[column] = dictionary;
+        }
+        final String value = cell.getStringValue();
+        final Integer code = dictionary.get(value);
+        if (code != null) {
+            m_outStream.writeStringDictionaryCode(code);
+            return;
+        }
+        if (m_stringDictSize < MAX_STRING_DICT_SIZE && value.length() <= MAX_STRING_DICT_ENTRY_LENGTH
+            && m_stringDictChars + value.length() <= MAX_STRING_DICT_CHARS) {
+            dictionary.put(value, dictionary.size());
+            m_stringDictSize++;
+            m_stringDictChars += value.length();
+            m_outStream.writeStringDictionaryCode(STRING_DICT_NEW_ENTRY);
+        } else {
+            m_outStream.writeStringDictionaryCode(STRING_DICT_NO_ENTRY);
         }
+        m_outStream.writeUTF8String(value);
     }
 
     /**
@@ -81,5 +81,35 @@ public interface KNIMEStreamConstants {
     /** Separator for different rows. */
     static final byte BYTE_ROW_SEPARATOR = BYTE_TYPE_MISSING + 3;
 
+    /**
+     * Dictionary code of a string cell that is written in full and appended to the string dictionary of its column.
+     * Non-negative codes refer to a previous entry of that dictionary. (Since container version 12.)
+     */
+    static final short STRING_DICT_NEW_ENTRY = -1;
+
+    /**
+     * Dictionary code of a string cell that is written in full but not added to the string dictionary of its column,
+     * e.g. because the dictionary budget of the table is used up. (Since container version 12.)
+     */
+    static final short STRING_DICT_NO_ENTRY = -2;
+
+    /**
+     * Length of a string cell indicating that the string is not written as UTF-8 but in (modified) UTF as per
+     * {@link java.io.DataOutput#writeUTF(String)}, used for strings with unpaired surrogates, which UTF-8 can't
+     * represent. (Since container version 12.)
+     */
+    static final int STRING_LENGTH_MODIFIED_UTF = -1;
+
+    /**
+     * Row header flag indicating that all cells of the row follow, including missing cells. (Since container version
+     * 12.)
+     */
+    static final byte ROW_HEADER_NO_MISSING_MASK = 0;
+
+    /**
+     * Row header flag indicating that a bit mask of the missing cells follows, one bit per column. Cells flagged in
+     * the mask are not written any further. (Since container version 12.)
+     */
+    static final byte ROW_HEADER_MISSING_MASK = 1;
 
 }
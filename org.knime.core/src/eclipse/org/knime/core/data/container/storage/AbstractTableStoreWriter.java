@@ -65,6 +65,7 @@
 import org.knime.core.data.filestore.FileStoreCell;
 import org.knime.core.data.filestore.FileStoreKey;
 import org.knime.core.data.filestore.FileStoreUtil;
+import org.knime.core.data.filestore.internal.FileStoreFlushQueue;
 import org.knime.core.data.filestore.internal.IWriteFileStoreHandler;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.util.CheckUtils;
@@ -90,6 +91,9 @@ public abstract class AbstractTableStoreWriter implements AutoCloseable, KNIMESt
     /** {@link #getFileStoreHandler()}. */
     private IWriteFileStoreHandler m_fileStoreHandler;
 
+    /** Flushes file store cells in the background, see {@link #awaitFileStoreFlushes()}. Created lazily. */
+    private FileStoreFlushQueue m_fileStoreFlushQueue;
+
     private final boolean m_writeRowKey;
 
     private final DataTableSpec m_spec;
@@ -200,7 +204,8 @@ public DataCellSerializer<DataCell> getSerializerForDataCell(final CellClassInfo
     public abstract void close() throws IOException;
 
     /**
-     * Gets the file store keys of the given cell and invokes flush on the cell
+     * Gets the file store keys of the given cell and invokes flush on the cell. The flush may happen asynchronously,
+     * see {@link #awaitFileStoreFlushes()}.
      *
      * @since 3.7
      * @param cell
@@ -228,11 +233,33 @@ public FileStoreKey[] getFileStoreKeysAndFlush(final DataCell cell) throws IOExc
                 }
             }
 
-            FileStoreUtil.invokeFlush(fsCell);
+            if (m_fileStoreFlushQueue == null) {
+                m_fileStoreFlushQueue = FileStoreFlushQueue.createIfEnabled();
+            }
+            if (m_fileStoreFlushQueue != null) {
+                m_fileStoreFlushQueue.submit(fsCell);
+            } else {
+                FileStoreUtil.invokeFlush(fsCell);
+            }
         }
         return fileStoreKeys;
     }
 
+    /**
+     * Waits until all file store cells passed to {@link #getFileStoreKeysAndFlush(DataCell)} are flushed. Cells are
+     * flushed in the background (unless disabled via
+     * {@link org.knime.core.node.KNIMEConstants#PROPERTY_FILESTORE_FLUSH_THREADS}) so this method needs to be called
+     * before the written table is made available, usually prior {@link #close()}.
+     *
+     * @throws IOException if flushing any of the cells failed
+     * @since 3.8
+     */
+    public final void awaitFileStoreFlushes() throws IOException {
+        if (m_fileStoreFlushQueue != null) {
+            m_fileStoreFlushQueue.await();
+        }
+    }
+
     /**
      * Writes a data cell to the outStream.
      *
@@ -50,10 +50,16 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
 import org.knime.core.node.NodeLogger;
@@ -62,6 +68,9 @@
  * Abstract converter factory registry.
  *
  * Common code for registries which manage {@link ConverterFactory converter factories}.
+ * <P>
+ * Factories are usually registered once but looked up concurrently and very frequently. Lookups therefore do not
+ * lock: they use private concurrent maps whose values are copy-on-write collections, registration is synchronized.
  *
  * @author Jonathan Hale
  * @param <ST> Type of source types
@@ -74,22 +83,61 @@
 
     private final static NodeLogger LOGGER = NodeLogger.getLogger(AbstractConverterFactoryRegistry.class);
 
-    /** Converter factories stored by SourceType/DestType/FactoryName triple */
+    /**
+     * Converter factories stored by SourceType/DestType/FactoryName triple
+     *
+     * @deprecated not safe for concurrent access and only kept in sync for backward compatibility; changes to this
+     *             map are not seen by the lookup methods of this class, use {@link #getRegisteredFactories(ConversionKey)}
+     *             instead
+     */
+    @Deprecated
     protected final HashMap<ConversionKey, ArrayList<ConverterFactoryType>> m_factories = new HashMap<>();
 
-    /** Factories stored by destination type */
+    /**
+     * Factories stored by destination type
+     *
+     * @deprecated not safe for concurrent access and only kept in sync for backward compatibility; changes to this
+     *             map are not seen by the lookup methods of this class, use
+     *             {@link #getFactoriesForDestinationType(Object)} instead
+     */
+    @Deprecated
     protected final HashMap<DT, Set<ConverterFactoryType>> m_byDestinationType = new HashMap<>();
 
-    /** Factories stored by source type */
+    /**
+     * Factories stored by source type
+     *
+     * @deprecated not safe for concurrent access and only kept in sync for backward compatibility; changes to this
+     *             map are not seen by the lookup methods of this class, use
+     *             {@link #getRegisteredFactoriesForSourceType(Object)} instead
+     */
+    @Deprecated
     protected final HashMap<ST, Set<ConverterFactoryType>> m_bySourceType = new HashMap<>();
 
-    /** Factories stored by identifier */
+    /**
+     * Factories stored by identifier
+     *
+     * @deprecated not safe for concurrent access and only kept in sync for backward compatibility; changes to this
+     *             map are not seen by the lookup methods of this class, use {@link #getFactory(String)} instead
+     */
+    @Deprecated
     protected final HashMap<String, ConverterFactoryType> m_byIdentifier = new HashMap<>();
 
+    /** Converter factories stored by SourceType/DestType/FactoryName triple, read without locking */
+    private final Map<ConversionKey, List<ConverterFactoryType>> m_factoriesByKey = new ConcurrentHashMap<>();
+
+    /** Factories stored by destination type, read without locking */
+    private final Map<DT, Set<ConverterFactoryType>> m_factoriesByDestinationType = new ConcurrentHashMap<>();
+
+    /** Factories stored by source type, read without locking */
+    private final Map<ST, Set<ConverterFactoryType>> m_factoriesBySourceType = new ConcurrentHashMap<>();
+
+    /** Factories stored by identifier, read without locking */
+    private final Map<String, ConverterFactoryType> m_factoriesByIdentifier = new ConcurrentHashMap<>();
+
     /**
      * Parent of this registry. If a converter factory is not found in the registry, this registry will be queried next.
      */
-    protected RegistryImpl m_parent = null;
+    protected volatile RegistryImpl m_parent = null;
 
     /**
      * Get all registered converter factories.
@@ -99,7 +147,7 @@
      */
     public Collection<ConverterFactoryType> getAllConverterFactories() {
         final Set<ConverterFactoryType> factories =
-            m_factories.values().stream().flatMap(factoryList -> factoryList.stream()).collect(Collectors.toSet());
+            m_factoriesByKey.values().stream().flatMap(factoryList -> factoryList.stream()).collect(Collectors.toSet());
         if (m_parent != null) {
             factories.addAll(m_parent.getAllConverterFactories());
         }
@@ -112,7 +160,7 @@ public Collection<ConverterFactoryType> getAllConverterFactories() {
      * @return a {@link Collection} of all possible source types
      */
     public Collection<ST> getAllSourceTypes() {
-        final Set<ST> sourceTypes = m_factories.values().stream().flatMap(factoryList -> factoryList.stream())
+        final Set<ST> sourceTypes = m_factoriesByKey.values().stream().flatMap(factoryList -> factoryList.stream())
             .map(factory -> factory.getSourceType()).collect(Collectors.toSet());
         if (m_parent != null) {
             sourceTypes.addAll(m_parent.getAllSourceTypes());
@@ -126,7 +174,7 @@ public Collection<ST> getAllSourceTypes() {
      * @return a {@link Collection} of all possible source types
      */
     public Collection<DT> getAllDestinationTypes() {
-        final Set<DT> destTypes = m_factories.values().stream().flatMap(factoryList -> factoryList.stream())
+        final Set<DT> destTypes = m_factoriesByKey.values().stream().flatMap(factoryList -> factoryList.stream())
             .map(factory -> factory.getDestinationType()).collect(Collectors.toSet());
         if (m_parent != null) {
             destTypes.addAll(m_parent.getAllDestinationTypes());
@@ -140,36 +188,27 @@ public Collection<DT> getAllDestinationTypes() {
      * @param factory the factory to register
      * @return self (for method chaining)
      */
-    public RegistryImpl register(final ConverterFactoryType factory) {
+    @SuppressWarnings("deprecation")
+    public synchronized RegistryImpl register(final ConverterFactoryType factory) {
         if (factory == null) {
             throw new IllegalArgumentException("factory must not be null");
         }
 
+        // copy-on-write collections keep the registration order and allow lock-free iteration
         final ConversionKey key = new ConversionKey(factory);
-        ArrayList<ConverterFactoryType> list = m_factories.get(key);
-        if (list == null) {
-            list = new ArrayList<>();
-            m_factories.put(key, list);
-        }
-        list.add(factory);
+        m_factoriesByKey.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(factory);
+        m_factories.computeIfAbsent(key, k -> new ArrayList<>()).add(factory);
 
         final DT destType = factory.getDestinationType();
-        Set<ConverterFactoryType> byDestType = m_byDestinationType.get(destType);
-        if (byDestType == null) {
-            byDestType = new LinkedHashSet<>();
-            m_byDestinationType.put(destType, byDestType);
-        }
-        byDestType.add(factory);
+        m_factoriesByDestinationType.computeIfAbsent(destType, k -> new CopyOnWriteArraySet<>()).add(factory);
+        m_byDestinationType.computeIfAbsent(destType, k -> new LinkedHashSet<>()).add(factory);
 
         final ST sourceType = factory.getSourceType();
-        Set<ConverterFactoryType> bySourceType = m_bySourceType.get(sourceType);
-        if (bySourceType == null) {
-            bySourceType = new LinkedHashSet<>();
-            m_bySourceType.put(sourceType, bySourceType);
-        }
-        bySourceType.add(factory);
+        m_factoriesBySourceType.computeIfAbsent(sourceType, k -> new CopyOnWriteArraySet<>()).add(factory);
+        m_bySourceType.computeIfAbsent(sourceType, k -> new LinkedHashSet<>()).add(factory);
 
-        final ConverterFactoryType previous = m_byIdentifier.put(factory.getIdentifier(), factory);
+        m_byIdentifier.put(factory.getIdentifier(), factory);
+        final ConverterFactoryType previous = m_factoriesByIdentifier.put(factory.getIdentifier(), factory);
         if (previous != null) {
             LOGGER.coding("Factory identifier is not unique (" + factory.getIdentifier() + ")");
         }
@@ -177,6 +216,58 @@ public RegistryImpl register(final ConverterFactoryType factory) {
         return (RegistryImpl)this;
     }
 
+    /**
+     * Unregister all converter factories of this registry (not the ones of the parent).
+     *
+     * @since 3.8
+     */
+    @SuppressWarnings("deprecation")
+    protected synchronized void unregisterAll() {
+        m_factoriesByDestinationType.clear();
+        m_factoriesBySourceType.clear();
+        m_factoriesByIdentifier.clear();
+        m_factoriesByKey.clear();
+        m_byDestinationType.clear();
+        m_bySourceType.clear();
+        m_byIdentifier.clear();
+        m_factories.clear();
+    }
+
+    /**
+     * Get all converter factories registered in this registry (not the parent).
+     *
+     * @return the factories, never <code>null</code>
+     * @since 3.8
+     */
+    protected List<ConverterFactoryType> getRegisteredFactories() {
+        return m_factoriesByKey.values().stream().flatMap(factoryList -> factoryList.stream())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the converter factories registered in this registry (not the parent) for the given key.
+     *
+     * @param key the source and destination type
+     * @return the factories in registration order, never <code>null</code>
+     * @since 3.8
+     */
+    protected List<ConverterFactoryType> getRegisteredFactories(final ConversionKey key) {
+        final List<ConverterFactoryType> list = m_factoriesByKey.get(key);
+        return list == null ? Collections.emptyList() : Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Get the converter factories registered in this registry (not the parent) for the given source type.
+     *
+     * @param sourceType the source type
+     * @return the factories in registration order, never <code>null</code>
+     * @since 3.8
+     */
+    protected Set<ConverterFactoryType> getRegisteredFactoriesForSourceType(final ST sourceType) {
+        final Set<ConverterFactoryType> set = m_factoriesBySourceType.get(sourceType);
+        return set == null ? Collections.emptySet() : Collections.unmodifiableSet(set);
+    }
+
     /**
      * Get the converter factory associated with the given identifier.
      *
@@ -188,7 +279,7 @@ public Optional<ConverterFactoryType> getFactory(final String id) {
             return Optional.empty();
         }
 
-        final ConverterFactoryType factory = m_byIdentifier.get(id);
+        final ConverterFactoryType factory = m_factoriesByIdentifier.get(id);
 
         if (factory == null) {
             return m_parent != null ? m_parent.getFactory(id) : Optional.empty();
@@ -207,7 +298,7 @@ public Optional<ConverterFactoryType> getFactory(final String id) {
     public Collection<ConverterFactoryType> getFactoriesForDestinationType(final DT destType) {
         final LinkedHashSet<ConverterFactoryType> set = new LinkedHashSet<>();
 
-        final Set<ConverterFactoryType> types = m_byDestinationType.get(destType);
+        final Set<ConverterFactoryType> types = m_factoriesByDestinationType.get(destType);
         if (types != null) {
             set.addAll(types);
         }
@@ -229,10 +320,7 @@ public Collection<ConverterFactoryType> getFactoriesForDestinationType(final DT
     public Collection<ConverterFactoryType> getFactoriesForSourceType(final ST sourceType) {
         final LinkedHashSet<ConverterFactoryType> set = new LinkedHashSet<>();
 
-        final Set<ConverterFactoryType> types = m_bySourceType.get(sourceType);
-        if (types != null) {
-            set.addAll(types);
-        }
+        set.addAll(getRegisteredFactoriesForSourceType(sourceType));
 
         if (m_parent != null) {
             set.addAll(m_parent.getFactoriesForSourceType(sourceType));
@@ -255,10 +343,7 @@ public Collection<ConverterFactoryType> getFactoriesForSourceType(final ST sourc
     public Collection<ConverterFactoryType> getFactories(final ST sourceType, final DT destType) {
         final ArrayList<ConverterFactoryType> factories = new ArrayList<>();
 
-        final ArrayList<ConverterFactoryType> list = m_factories.get(new ConversionKey(sourceType, destType));
-        if (list != null) {
-            factories.addAll(list);
-        }
+        factories.addAll(getRegisteredFactories(new ConversionKey(sourceType, destType)));
 
         if (m_parent != null) {
             factories.addAll(m_parent.getFactoriesForSourceType(sourceType));
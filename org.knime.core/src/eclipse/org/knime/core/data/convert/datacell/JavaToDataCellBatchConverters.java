@@ -0,0 +1,159 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.convert.datacell;
+
+import java.lang.reflect.Array;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Implementations of {@link JavaToDataCellBatchConverter}: fast paths that create the built-in cells directly from
+ * primitive arrays, and an adapter for any converter from the {@link JavaToDataCellConverterRegistry}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class JavaToDataCellBatchConverters {
+
+    private JavaToDataCellBatchConverters() {
+    }
+
+    /**
+     * @param sourceType the array type to convert from
+     * @param destType the type of the column
+     * @return a converter that creates the built-in cells (e.g. {@link DoubleCell}) directly or <code>null</code> if
+     *         there is none for the given types
+     */
+    @SuppressWarnings("unchecked")
+    static <S> JavaToDataCellBatchConverter<S> getBuiltInConverter(final Class<S> sourceType,
+        final DataType destType) {
+        if (double[].class.equals(sourceType) && DoubleCell.TYPE.equals(destType)) {
+            return (JavaToDataCellBatchConverter<S>)fromDoubles();
+        } else if (int[].class.equals(sourceType) && IntCell.TYPE.equals(destType)) {
+            return (JavaToDataCellBatchConverter<S>)fromInts();
+        } else if (long[].class.equals(sourceType) && LongCell.TYPE.equals(destType)) {
+            return (JavaToDataCellBatchConverter<S>)fromLongs();
+        } else if (boolean[].class.equals(sourceType) && BooleanCell.TYPE.equals(destType)) {
+            return (JavaToDataCellBatchConverter<S>)fromBooleans();
+        } else if (String[].class.equals(sourceType) && StringCell.TYPE.equals(destType)) {
+            return (JavaToDataCellBatchConverter<S>)fromStrings();
+        }
+        return null;
+    }
+
+    private static JavaToDataCellBatchConverter<double[]> fromDoubles() {
+        return (source, sourceOffset, length, dest, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final int index = sourceOffset + i;
+                dest[i] = isMissing(missing, index) ? DataType.getMissingCell() : new DoubleCell(source[index]);
+            }
+        };
+    }
+
+    private static JavaToDataCellBatchConverter<int[]> fromInts() {
+        return (source, sourceOffset, length, dest, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final int index = sourceOffset + i;
+                dest[i] = isMissing(missing, index) ? DataType.getMissingCell() : new IntCell(source[index]);
+            }
+        };
+    }
+
+    private static JavaToDataCellBatchConverter<long[]> fromLongs() {
+        return (source, sourceOffset, length, dest, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final int index = sourceOffset + i;
+                dest[i] = isMissing(missing, index) ? DataType.getMissingCell() : new LongCell(source[index]);
+            }
+        };
+    }
+
+    private static JavaToDataCellBatchConverter<boolean[]> fromBooleans() {
+        return (source, sourceOffset, length, dest, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final int index = sourceOffset + i;
+                dest[i] = isMissing(missing, index) ? DataType.getMissingCell() : BooleanCell.get(source[index]);
+            }
+        };
+    }
+
+    private static JavaToDataCellBatchConverter<String[]> fromStrings() {
+        return (source, sourceOffset, length, dest, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final int index = sourceOffset + i;
+                final String value = source[index];
+                dest[i] =
+                    value == null || isMissing(missing, index) ? DataType.getMissingCell() : new StringCell(value);
+            }
+        };
+    }
+
+    /**
+     * Adapts a converter for single values, used for all types without fast path. Primitive values are boxed
+     * before they are passed to the element converter.
+     *
+     * @param elementConverter the converter of the individual values
+     * @return a new batch converter
+     */
+    static <S> JavaToDataCellBatchConverter<S> fromElementConverter(final JavaToDataCellConverter<?> elementConverter) {
+        return (source, sourceOffset, length, dest, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final int index = sourceOffset + i;
+                final Object value = Array.get(source, index);
+                dest[i] = value == null || isMissing(missing, index) ? DataType.getMissingCell()
+                    : elementConverter.convertUnsafe(value);
+            }
+        };
+    }
+
+    private static boolean isMissing(final boolean[] missing, final int index) {
+        return missing != null && missing[index];
+    }
+}
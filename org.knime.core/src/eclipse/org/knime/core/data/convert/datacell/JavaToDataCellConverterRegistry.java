@@ -71,7 +71,9 @@
 import org.knime.core.data.convert.java.DataCellToJavaConverterFactory;
 import org.knime.core.data.convert.java.DataCellToJavaConverterRegistry;
 import org.knime.core.data.convert.util.ClassUtil;
+import org.knime.core.data.filestore.FileStoreFactory;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.Pair;
 
 /**
@@ -246,12 +248,9 @@ public <S> Collection<JavaToDataCellConverterFactory<S>> getConverterFactories(f
         final ArrayList<JavaToDataCellConverterFactory<S>> factories = new ArrayList<>();
 
         while ((curClass = classes.poll()) != null) {
-            final ArrayList<JavaToDataCellConverterFactory<?>> newFactories =
-                m_factories.get(new ConversionKey(curClass, destType));
-
-            if (newFactories != null) {
-                factories.addAll((Collection<? extends JavaToDataCellConverterFactory<S>>)newFactories);
-            }
+            final List<JavaToDataCellConverterFactory<?>> newFactories =
+                getRegisteredFactories(new ConversionKey(curClass, destType));
+            factories.addAll((Collection<? extends JavaToDataCellConverterFactory<S>>)newFactories);
 
             /* check if a supertype has a compatible converter factory */
             classes.addAll(Arrays.asList(curClass.getInterfaces()));
@@ -290,6 +289,35 @@ public <S> Collection<JavaToDataCellConverterFactory<S>> getConverterFactories(f
         return new ArrayToCollectionConverterFactory<>(elementFactory);
     }
 
+    /**
+     * Get a converter which converts an array into the cells of a column chunk at once, e.g. for bridges that move
+     * Java arrays into tables. <code>double[]</code>, <code>int[]</code>, <code>long[]</code>, <code>boolean[]</code>
+     * and <code>String[]</code> are converted into {@link org.knime.core.data.def.DoubleCell},
+     * {@link org.knime.core.data.def.IntCell}, {@link org.knime.core.data.def.LongCell},
+     * {@link org.knime.core.data.def.BooleanCell} and {@link org.knime.core.data.def.StringCell} directly. All other
+     * combinations convert the individual values with the converter of the first factory returned by
+     * {@link #getConverterFactories(Class, DataType)} for the (boxed) component type.
+     *
+     * @param sourceType Array type to convert from, e.g. <code>double[].class</code>
+     * @param destType {@link DataType} of the created cells
+     * @param fileStoreFactory Passed to the converter factory in case there is no built-in converter
+     * @return the converter, or empty if there is no converter for the component type
+     * @throws IllegalArgumentException if <code>sourceType</code> is not an array type
+     * @since 3.8
+     */
+    public <S> Optional<JavaToDataCellBatchConverter<S>> getBatchConverter(final Class<S> sourceType,
+        final DataType destType, final FileStoreFactory fileStoreFactory) {
+        CheckUtils.checkArgument(sourceType.isArray(), "Not an array type: %s", sourceType.getName());
+        final JavaToDataCellBatchConverter<S> builtInConverter =
+            JavaToDataCellBatchConverters.getBuiltInConverter(sourceType, destType);
+        if (builtInConverter != null) {
+            return Optional.of(builtInConverter);
+        }
+        return getConverterFactories(ClassUtil.ensureObjectType(sourceType.getComponentType()), destType).stream()
+            .findFirst().map(factory -> JavaToDataCellBatchConverters.<S> fromElementConverter(
+                factory.create(fileStoreFactory)));
+    }
+
     /* --- Singleton methods --- */
 
     private static final JavaToDataCellConverterRegistry INSTANCE = new JavaToDataCellConverterRegistry();
@@ -406,6 +434,6 @@ private boolean validateFactoryName(final JavaToDataCellConverterFactory<?> fact
      * @return All registered converter factories
      */
     public Collection<JavaToDataCellConverterFactory<?>> getAllFactories() {
-        return m_factories.values().stream().flatMap(c -> c.stream()).collect(Collectors.toList());
+        return getRegisteredFactories();
     }
 }
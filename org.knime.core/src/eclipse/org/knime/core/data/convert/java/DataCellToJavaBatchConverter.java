@@ -0,0 +1,81 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.convert.java;
+
+import org.knime.core.data.DataCell;
+
+/**
+ * Converts a chunk of cells of one column into a Java array at once, e.g. a <code>double[]</code>, without boxing
+ * primitive values. Instances are retrieved from
+ * {@link DataCellToJavaConverterRegistry#getBatchConverter(org.knime.core.data.DataType, Class)}.
+ *
+ * <p>
+ * Missing cells are reported via the <code>missing</code> array. At their positions the destination array holds
+ * <code>null</code>, <code>0</code>, <code>NaN</code> or <code>false</code> respectively.
+ *
+ * @param <D> Type of the destination array, e.g. <code>double[]</code>
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+@FunctionalInterface
+public interface DataCellToJavaBatchConverter<D> {
+
+    /**
+     * Converts the first <code>length</code> cells of <code>source</code> and writes them into <code>dest</code>,
+     * starting at <code>destOffset</code>.
+     *
+     * @param source The cells of a column chunk, may contain missing cells
+     * @param length The number of cells to convert
+     * @param dest The array to write into
+     * @param destOffset The position in <code>dest</code> (and <code>missing</code>) of the first converted value
+     * @param missing Array that is set to <code>true</code> at the positions of missing cells (and <code>false</code>
+     *            elsewhere), or <code>null</code>. If <code>null</code> and the destination is a primitive array,
+     *            missing cells cause an exception.
+     * @throws IllegalStateException If a missing cell is converted into a primitive array without <code>missing</code>
+     *             array
+     * @throws Exception If the conversion of a cell fails
+     */
+    void convert(DataCell[] source, int length, D dest, int destOffset, boolean[] missing) throws Exception;
+}
@@ -0,0 +1,201 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.convert.java;
+
+import java.lang.reflect.Array;
+
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+
+/**
+ * Implementations of {@link DataCellToJavaBatchConverter}: fast paths for the built-in types that access the
+ * primitive values directly, and an adapter for any converter from the {@link DataCellToJavaConverterRegistry}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class DataCellToJavaBatchConverters {
+
+    private DataCellToJavaBatchConverters() {
+    }
+
+    /**
+     * @param sourceType the type of the column
+     * @param destType the array type to convert into
+     * @return a converter that reads the values via the interfaces of the built-in types (e.g. {@link DoubleValue})
+     *         or <code>null</code> if there is none for the given types
+     */
+    @SuppressWarnings("unchecked")
+    static <D> DataCellToJavaBatchConverter<D> getBuiltInConverter(final DataType sourceType,
+        final Class<D> destType) {
+        if (double[].class.equals(destType) && sourceType.isCompatible(DoubleValue.class)) {
+            return (DataCellToJavaBatchConverter<D>)toDoubles();
+        } else if (int[].class.equals(destType) && sourceType.isCompatible(IntValue.class)) {
+            return (DataCellToJavaBatchConverter<D>)toInts();
+        } else if (long[].class.equals(destType) && sourceType.isCompatible(LongValue.class)) {
+            return (DataCellToJavaBatchConverter<D>)toLongs();
+        } else if (boolean[].class.equals(destType) && sourceType.isCompatible(BooleanValue.class)) {
+            return (DataCellToJavaBatchConverter<D>)toBooleans();
+        } else if (String[].class.equals(destType) && sourceType.isCompatible(StringValue.class)) {
+            return (DataCellToJavaBatchConverter<D>)toStrings();
+        }
+        return null;
+    }
+
+    private static DataCellToJavaBatchConverter<double[]> toDoubles() {
+        return (source, length, dest, destOffset, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final DataCell cell = source[i];
+                if (checkMissing(cell, missing, destOffset + i, true)) {
+                    dest[destOffset + i] = Double.NaN;
+                } else {
+                    dest[destOffset + i] = ((DoubleValue)cell).getDoubleValue();
+                }
+            }
+        };
+    }
+
+    private static DataCellToJavaBatchConverter<int[]> toInts() {
+        return (source, length, dest, destOffset, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final DataCell cell = source[i];
+                dest[destOffset + i] =
+                    checkMissing(cell, missing, destOffset + i, true) ? 0 : ((IntValue)cell).getIntValue();
+            }
+        };
+    }
+
+    private static DataCellToJavaBatchConverter<long[]> toLongs() {
+        return (source, length, dest, destOffset, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final DataCell cell = source[i];
+                dest[destOffset + i] =
+                    checkMissing(cell, missing, destOffset + i, true) ? 0L : ((LongValue)cell).getLongValue();
+            }
+        };
+    }
+
+    private static DataCellToJavaBatchConverter<boolean[]> toBooleans() {
+        return (source, length, dest, destOffset, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final DataCell cell = source[i];
+                dest[destOffset + i] =
+                    !checkMissing(cell, missing, destOffset + i, true) && ((BooleanValue)cell).getBooleanValue();
+            }
+        };
+    }
+
+    private static DataCellToJavaBatchConverter<String[]> toStrings() {
+        return (source, length, dest, destOffset, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final DataCell cell = source[i];
+                dest[destOffset + i] =
+                    checkMissing(cell, missing, destOffset + i, false) ? null : ((StringValue)cell).getStringValue();
+            }
+        };
+    }
+
+    /**
+     * Adapts a converter for single values, used for all types without fast path. Primitive values are boxed by the
+     * element converter and unboxed when written into the array.
+     *
+     * @param elementConverter the converter of the individual cells
+     * @param destType the array type to convert into
+     * @return a new batch converter
+     */
+    static <D> DataCellToJavaBatchConverter<D> fromElementConverter(
+        final DataCellToJavaConverter<?, ?> elementConverter, final Class<D> destType) {
+        final Class<?> componentType = destType.getComponentType();
+        final boolean isPrimitive = componentType.isPrimitive();
+        final Object missingValue = getMissingValue(componentType);
+        return (source, length, dest, destOffset, missing) -> {
+            for (int i = 0; i < length; i++) {
+                final DataCell cell = source[i];
+                final Object value = checkMissing(cell, missing, destOffset + i, isPrimitive) ? missingValue
+                    : elementConverter.convertUnsafe(cell);
+                Array.set(dest, destOffset + i, value);
+            }
+        };
+    }
+
+    /** The value written for missing cells: null, NaN for floating point types, otherwise zero. */
+    private static Object getMissingValue(final Class<?> componentType) {
+        if (double.class.equals(componentType)) {
+            return Double.NaN;
+        } else if (float.class.equals(componentType)) {
+            return Float.NaN;
+        } else if (componentType.isPrimitive()) {
+            // default value of the primitive type, e.g. (int)0 or false
+            return Array.get(Array.newInstance(componentType, 1), 0);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the cell is missing and updates the missing flags.
+     *
+     * @param cell the cell to check
+     * @param missing the missing flags, may be null
+     * @param index the index in the missing flags
+     * @param isPrimitive whether the destination is a primitive array, which requires flags for missing cells
+     * @return whether the cell is missing
+     * @throws IllegalStateException if the cell is missing, the destination is primitive and there are no flags
+     */
+    private static boolean checkMissing(final DataCell cell, final boolean[] missing, final int index,
+        final boolean isPrimitive) {
+        final boolean isMissing = cell.isMissing();
+        if (missing != null) {
+            missing[index] = isMissing;
+        } else if (isMissing && isPrimitive) {
+            throw new IllegalStateException("Missing values cannot be represented in a primitive array, "
+                + "an array for the missing flags must be passed to the batch converter.");
+        }
+        return isMissing;
+    }
+}
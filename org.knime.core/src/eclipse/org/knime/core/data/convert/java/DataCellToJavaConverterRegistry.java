@@ -56,6 +56,7 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -75,6 +76,7 @@
 import org.knime.core.data.convert.datacell.JavaToDataCellConverterRegistry;
 import org.knime.core.data.convert.util.ClassUtil;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.Pair;
 
 /**
@@ -144,7 +146,7 @@ public final class DataCellToJavaConverterRegistry extends
     AbstractConverterFactoryRegistry<Class<? extends DataValue>, Class<?>, DataCellToJavaConverterFactory<?, ?>, DataCellToJavaConverterRegistry> {
 
     /* Data types stored by their preferred value type, only for collection cells, for DataType we can directly use getPreferredValueClass */
-    private final HashMap<Class<? extends DataValue>, DataType> m_preferredTypes = new HashMap<>();
+    private volatile Map<Class<? extends DataValue>, DataType> m_preferredTypes;
 
     /**
      * Get all {@link DataType} that have at least one {@link DataValue} interface that is convertible by one of the
@@ -186,19 +188,14 @@ public Set<DataType> getAllConvertibleDataTypes() {
                 (LinkedHashSet<DataCellToJavaConverterFactory<?, ?>>)getFactoriesForDestinationType(
                     destType.getComponentType());
 
-            if (!factories.isEmpty() && m_preferredTypes.isEmpty()) {
-                DataTypeRegistry.getInstance().availableDataTypes().stream()
-                    .forEach((dataType) -> m_preferredTypes.put(dataType.getPreferredValueClass(), dataType));
-
-                m_preferredTypes.put(MissingValue.class, DataType.getMissingCell().getType());
-            }
-
+            final Map<Class<? extends DataValue>, DataType> preferredTypes =
+                factories.isEmpty() ? Collections.emptyMap() : getPreferredTypes();
             for (final DataCellToJavaConverterFactory<?, ?> cls : factories) {
                 final Class<?> sourceType = cls.getSourceType();
 
                 // sourceType could be a DataCell subclass!
                 final DataType elementType = (DataCell.class.isAssignableFrom(sourceType))
-                    ? DataType.getType((Class<? extends DataCell>)sourceType) : m_preferredTypes.get(sourceType);
+                    ? DataType.getType((Class<? extends DataCell>)sourceType) : preferredTypes.get(sourceType);
                 if (elementType == null) {
                     LOGGER.error("Factory " + cls.getIdentifier() + " source type " + cls.getSourceType().getName()
                         + " has no preferred type.");
@@ -212,6 +209,20 @@ public Set<DataType> getAllConvertibleDataTypes() {
         return set;
     }
 
+    /* Lazily builds the map of data types by preferred value class, published as a whole once complete */
+    private Map<Class<? extends DataValue>, DataType> getPreferredTypes() {
+        Map<Class<? extends DataValue>, DataType> preferredTypes = m_preferredTypes;
+        if (preferredTypes == null) {
+            final Map<Class<? extends DataValue>, DataType> map = new HashMap<>();
+            DataTypeRegistry.getInstance().availableDataTypes().stream()
+                .forEach((dataType) -> map.put(dataType.getPreferredValueClass(), dataType));
+            map.put(MissingValue.class, DataType.getMissingCell().getType());
+            preferredTypes = Collections.unmodifiableMap(map);
+            m_preferredTypes = preferredTypes;
+        }
+        return preferredTypes;
+    }
+
     /**
      * Get all {@link DataCellToJavaConverterFactory converter factories} which create converter which convert into a
      * specific {@link Class destType}.
@@ -410,7 +421,8 @@ public Set<DataType> getAllConvertibleDataTypes() {
      */
     public Optional<Class<?>> getPreferredJavaTypeForCell(final DataType type) {
         final Class<? extends DataValue> preferredValueClass = type.getPreferredValueClass();
-        final Set<DataCellToJavaConverterFactory<?, ?>> factories = m_bySourceType.get(preferredValueClass);
+        final Set<DataCellToJavaConverterFactory<?, ?>> factories =
+            getRegisteredFactoriesForSourceType(preferredValueClass);
 
         final Optional<DataCellToJavaConverterFactory<?, ?>> firstFactory = factories.stream().findFirst();
         if (firstFactory.isPresent()) {
@@ -420,6 +432,33 @@ public Optional<Class<?>> getPreferredJavaTypeForCell(final DataType type) {
         return Optional.empty();
     }
 
+    /**
+     * Get a converter which converts a chunk of cells of a column into an array at once, e.g. for bridges that move
+     * tables into Java arrays. The built-in types are converted without boxing: {@link org.knime.core.data.DoubleValue}
+     * into <code>double[]</code>, {@link org.knime.core.data.IntValue} into <code>int[]</code>,
+     * {@link org.knime.core.data.LongValue} into <code>long[]</code>, {@link org.knime.core.data.BooleanValue} into
+     * <code>boolean[]</code> and {@link org.knime.core.data.StringValue} into <code>String[]</code>. All other
+     * combinations convert the individual cells with the converter of the
+     * {@link #getPreferredConverterFactory(DataType, Class) preferred factory} for the component type.
+     *
+     * @param sourceType Type of the cells to convert
+     * @param destType Array type to convert into, e.g. <code>double[].class</code>
+     * @return the converter, or empty if there is no converter for the component type
+     * @throws IllegalArgumentException if <code>destType</code> is not an array type
+     * @since 3.8
+     */
+    public <D> Optional<DataCellToJavaBatchConverter<D>> getBatchConverter(final DataType sourceType,
+        final Class<D> destType) {
+        CheckUtils.checkArgument(destType.isArray(), "Not an array type: %s", destType.getName());
+        final DataCellToJavaBatchConverter<D> builtInConverter =
+            DataCellToJavaBatchConverters.getBuiltInConverter(sourceType, destType);
+        if (builtInConverter != null) {
+            return Optional.of(builtInConverter);
+        }
+        return getPreferredConverterFactory(sourceType, ClassUtil.ensureObjectType(destType.getComponentType()))
+            .map(factory -> DataCellToJavaBatchConverters.fromElementConverter(factory.create(), destType));
+    }
+
     /* -- Singleton methods -- */
 
     private final static NodeLogger LOGGER = NodeLogger.getLogger(DataCellToJavaConverterRegistry.class);
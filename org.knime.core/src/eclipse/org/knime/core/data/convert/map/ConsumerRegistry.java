@@ -117,10 +117,7 @@ public List<ConsumptionPath> getAvailableConsumptionPaths(final DataType type) {
      * @return self (for method chaining)
      */
     public ConsumerRegistry<ET, D> unregisterAllConsumers() {
-        m_byDestinationType.clear();
-        m_bySourceType.clear();
-        m_byIdentifier.clear();
-        m_factories.clear();
+        unregisterAll();
         return this;
     }
 }
\ No newline at end of file
@@ -74,7 +74,10 @@
  * {@link ProductionPath production paths}.
  * <P>
  * Internally, each production path is translated to an executable mapper. There are mapper implementations for all Java
- * primitive types (to avoid autoboxing) as well as a common one for all object types.
+ * primitive types (to avoid autoboxing) as well as a common one for all object types. The producers and converters
+ * are created once, when this instance is created, and reused for all rows. Hence, instances should be reused for
+ * all rows of a table rather than calling {@link MappingFramework#map(RowKey, FileStoreFactory, Source,
+ * ProductionPath[], ProducerParameters[])} per row.
  *
  * @param <S> Type of the {@link Source} from which to create data rows.
  * @param <PP> Subtype of {@link Source.ProducerParameters} that can be used to configure the producers per call to
@@ -89,7 +92,7 @@
 
     private final FileStoreFactory m_fileStoreFactory;
 
-    private final Mapper<PP, ?, ?>[] m_mappers;
+    private final Mapper<PP>[] m_mappers;
 
     private final DataCell[] m_tempCells;
 
@@ -124,7 +127,7 @@ public DefaultDataRowProducer(final S source, final ProductionPath[] mapping,
         m_fileStoreFactory = fileStoreFactory;
         m_tempCells = new DataCell[mapping.length];
         @SuppressWarnings("unchecked")
-        final Mapper<PP, ?, ?>[] mappers = new Mapper[mapping.length];
+        final Mapper<PP>[] mappers = new Mapper[mapping.length];
         for (int i = 0; i < mapping.length; i++) {
             final ProductionPath path = mapping[i];
             final CellValueProducerFactory<?, ?, ?, ?> producerFactory = path.m_producerFactory;
@@ -135,9 +138,9 @@ public DefaultDataRowProducer(final S source, final ProductionPath[] mapping,
     }
 
     @SuppressWarnings("unchecked") // Type safety is mostly ensured by instance checks.
-    private Mapper<PP, ?, ?> createMapper(final CellValueProducerFactory<?, ?, ?, ?> producerFactory,
+    private Mapper<PP> createMapper(final CellValueProducerFactory<?, ?, ?, ?> producerFactory,
         final JavaToDataCellConverterFactory<?> converterFactory) {
-        Mapper<PP, ?, ?> mapper = null;
+        Mapper<PP> mapper = null;
         // Check if both value producer and converter are applicable to the same primitive type.
         // This allows us to create a mapper that avoids autoboxing.
         if (producerFactory.getDestinationType().isPrimitive()
@@ -223,215 +226,213 @@ public final DataRow produceDataRow(final RowKey rowKey, final PP[] params) thro
 
     // Mapper implementations:
 
-    private final class DoubleMapper extends Mapper<PP, //
-            TypedCellValueProducerFactory<S, ?, ?, PP, DoubleCellValueProducer<S, PP>>, //
-            TypedJavaToDataCellConverterFactory<?, DoubleToDataCellConverter>> {
+    private final class DoubleMapper extends Mapper<PP> {
+
+        private final DoubleCellValueProducer<S, PP> m_producer;
+
+        private final DoubleToDataCellConverter m_converter;
 
         private DoubleMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, DoubleCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, DoubleToDataCellConverter> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final DoubleCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final DoubleToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertDouble(producer.produceDoubleCellValue(m_source, params));
+                return m_converter.convertDouble(m_producer.produceDoubleCellValue(m_source, params));
             }
         }
     }
 
-    private final class IntMapper extends Mapper<PP, //
-            TypedCellValueProducerFactory<S, ?, ?, PP, IntCellValueProducer<S, PP>>, //
-            TypedJavaToDataCellConverterFactory<?, IntToDataCellConverter>> {
+    private final class IntMapper extends Mapper<PP> {
+
+        private final IntCellValueProducer<S, PP> m_producer;
+
+        private final IntToDataCellConverter m_converter;
 
         private IntMapper(final TypedCellValueProducerFactory<S, ?, ?, PP, IntCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, IntToDataCellConverter> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final IntCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final IntToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertInt(producer.produceIntCellValue(m_source, params));
+                return m_converter.convertInt(m_producer.produceIntCellValue(m_source, params));
             }
         }
     }
 
-    private final class LongMapper extends Mapper<PP, //
-            TypedCellValueProducerFactory<S, ?, ?, PP, LongCellValueProducer<S, PP>>, //
-            TypedJavaToDataCellConverterFactory<?, LongToDataCellConverter>> {
+    private final class LongMapper extends Mapper<PP> {
+
+        private final LongCellValueProducer<S, PP> m_producer;
+
+        private final LongToDataCellConverter m_converter;
 
         private LongMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, LongCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, LongToDataCellConverter> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final LongCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final LongToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertLong(producer.produceLongCellValue(m_source, params));
+                return m_converter.convertLong(m_producer.produceLongCellValue(m_source, params));
             }
         }
     }
 
-    private final class BooleanMapper extends Mapper<PP, //
-            TypedCellValueProducerFactory<S, ?, ?, PP, BooleanCellValueProducer<S, PP>>, //
-            TypedJavaToDataCellConverterFactory<?, BooleanToDataCellConverter>> {
+    private final class BooleanMapper extends Mapper<PP> {
+
+        private final BooleanCellValueProducer<S, PP> m_producer;
+
+        private final BooleanToDataCellConverter m_converter;
 
         private BooleanMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, BooleanCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, BooleanToDataCellConverter> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final BooleanCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final BooleanToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertBoolean(producer.produceBooleanCellValue(m_source, params));
+                return m_converter.convertBoolean(m_producer.produceBooleanCellValue(m_source, params));
             }
         }
     }
 
-    private final class FloatMapper extends Mapper<PP, //
-            TypedCellValueProducerFactory<S, ?, ?, PP, FloatCellValueProducer<S, PP>>, //
-            TypedJavaToDataCellConverterFactory<?, FloatToDataCellConverter>> {
+    private final class FloatMapper extends Mapper<PP> {
+
+        private final FloatCellValueProducer<S, PP> m_producer;
+
+        private final FloatToDataCellConverter m_converter;
 
         private FloatMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, FloatCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, FloatToDataCellConverter> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final FloatCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final FloatToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertFloat(producer.produceFloatCellValue(m_source, params));
+                return m_converter.convertFloat(m_producer.produceFloatCellValue(m_source, params));
             }
         }
     }
 
-    private final class ByteMapper extends Mapper<PP, //
-            TypedCellValueProducerFactory<S, ?, ?, PP, ByteCellValueProducer<S, PP>>, //
-            TypedJavaToDataCellConverterFactory<?, ByteToDataCellConverter>> {
+    private final class ByteMapper extends Mapper<PP> {
+
+        private final ByteCellValueProducer<S, PP> m_producer;
+
+        private final ByteToDataCellConverter m_converter;
 
         private ByteMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, ByteCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, ByteToDataCellConverter> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final ByteCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final ByteToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertByte(producer.produceByteCellValue(m_source, params));
+                return m_converter.convertByte(m_producer.produceByteCellValue(m_source, params));
             }
         }
     }
 
-    private final class ShortMapper extends Mapper<PP, //
-            TypedCellValueProducerFactory<S, ?, ?, PP, ShortCellValueProducer<S, PP>>, //
-            TypedJavaToDataCellConverterFactory<?, ShortToDataCellConverter>> {
+    private final class ShortMapper extends Mapper<PP> {
+
+        private final ShortCellValueProducer<S, PP> m_producer;
+
+        private final ShortToDataCellConverter m_converter;
 
         private ShortMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, ShortCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, ShortToDataCellConverter> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final ShortCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final ShortToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertShort(producer.produceShortCellValue(m_source, params));
+                return m_converter.convertShort(m_producer.produceShortCellValue(m_source, params));
             }
         }
     }
 
-    private final class CharMapper extends Mapper<PP, //
-            TypedCellValueProducerFactory<S, ?, ?, PP, CharCellValueProducer<S, PP>>, //
-            TypedJavaToDataCellConverterFactory<?, CharToDataCellConverter>> {
+    private final class CharMapper extends Mapper<PP> {
+
+        private final CharCellValueProducer<S, PP> m_producer;
+
+        private final CharToDataCellConverter m_converter;
 
         private CharMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, CharCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, CharToDataCellConverter> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final CharCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final CharToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertChar(producer.produceCharCellValue(m_source, params));
+                return m_converter.convertChar(m_producer.produceCharCellValue(m_source, params));
             }
         }
     }
 
-    private final class ObjectMapper extends Mapper<PP, //
-            CellValueProducerFactory<S, ?, ?, PP>, //
-            JavaToDataCellConverterFactory<?>> {
+    private final class ObjectMapper extends Mapper<PP> {
+
+        private final CellValueProducer<S, ?, PP> m_producer;
+
+        private final JavaToDataCellConverter<?> m_converter;
 
         private ObjectMapper(final CellValueProducerFactory<S, ?, ?, PP> producerFactory,
             final JavaToDataCellConverterFactory<?> converterFactory) {
-            super(producerFactory, converterFactory);
+            m_producer = producerFactory.create();
+            m_converter = converterFactory.create(m_fileStoreFactory);
         }
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final CellValueProducer<S, ?, PP> producer = m_producerFactory.create();
-            final JavaToDataCellConverter<?> converter = m_converterFactory.create(m_fileStoreFactory);
-            final Object value = producer.produceCellValue(m_source, params);
+            final Object value = m_producer.produceCellValue(m_source, params);
             if (value == null) {
                 return new MissingCell(null);
             } else {
-                return converter.convertUnsafe(value);
+                return m_converter.convertUnsafe(value);
             }
         }
     }
 
-    private abstract static class Mapper<PP extends ProducerParameters<?>, //
-            P extends CellValueProducerFactory<?, ?, ?, ?>, //
-            C extends JavaToDataCellConverterFactory<?>> {
-
-        protected final P m_producerFactory;
-
-        protected final C m_converterFactory;
-
-        private Mapper(final P producerFactory, final C converterFactory) {
-            m_producerFactory = producerFactory;
-            m_converterFactory = converterFactory;
-        }
+    private abstract static class Mapper<PP extends ProducerParameters<?>> {
 
         protected abstract DataCell map(PP params) throws Exception;
     }
@@ -1,6 +1,7 @@
 package org.knime.core.data.convert.map;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.knime.core.data.DataCell;
@@ -154,10 +155,11 @@ private MappingFramework() {
         return perST;
     }
 
-    private static HashMap<Class<? extends Destination<?>>, ConsumerRegistry<?, ?>> m_destinationTypes =
-        new HashMap<>();
+    private static final Map<Class<? extends Destination<?>>, ConsumerRegistry<?, ?>> m_destinationTypes =
+        new ConcurrentHashMap<>();
 
-    private static HashMap<Class<? extends Source<?>>, ProducerRegistry<?, ?>> m_sourceTypes = new HashMap<>();
+    private static final Map<Class<? extends Source<?>>, ProducerRegistry<?, ?>> m_sourceTypes =
+        new ConcurrentHashMap<>();
 
     /* Get the consumer registry for given destination type */
     private static <ET, DT extends Destination<ET>> ConsumerRegistry<ET, DT>
@@ -179,16 +181,20 @@ private MappingFramework() {
     private static <ET, D extends Destination<ET>> ConsumerRegistry<ET, D>
         createConsumerRegistry(final Class<? extends D> destinationType) {
         final ConsumerRegistry<ET, D> registry = new ConsumerRegistry<ET, D>();
-        m_destinationTypes.put(destinationType, registry);
-        return registry;
+        @SuppressWarnings("unchecked")
+        final ConsumerRegistry<ET, D> previous =
+            (ConsumerRegistry<ET, D>)m_destinationTypes.putIfAbsent(destinationType, registry);
+        return previous != null ? previous : registry;
     }
 
     /* Create the producer registry for given destination type */
     private static <ET, S extends Source<ET>> ProducerRegistry<ET, S>
         createProducerRegistry(final Class<? extends S> sourceType) {
         final ProducerRegistry<ET, S> registry = new ProducerRegistry<ET, S>();
-        m_sourceTypes.put(sourceType, registry);
-        return registry;
+        @SuppressWarnings("unchecked")
+        final ProducerRegistry<ET, S> previous =
+            (ProducerRegistry<ET, S>)m_sourceTypes.putIfAbsent(sourceType, registry);
+        return previous != null ? previous : registry;
     }
     /**
      * Creates a {@link DataRowProducer} that allows to produce data rows from a given {@link Source source} using a
@@ -247,6 +253,10 @@ public static <S extends Source<?>, PP extends ProducerParameters<S>> DataRow ma
 
     /**
      * Map a row of input data from the given source to a {@link DataRow}.
+     * <p>
+     * The converters and producers of the mapping are created on every call. When mapping many rows, create a
+     * {@link DataRowProducer} via {@link #createDataRowProducer(FileStoreFactory, Source, ProductionPath[])} once and
+     * reuse it instead.
      *
      * @param key Row key for the created row
      * @param fileStoreFactory {@link FileStoreFactory} which may be used for creating {@link CellFactory}s.
@@ -307,6 +317,10 @@ public static <S extends Source<?>, PP extends ProducerParameters<S>> DataRow ma
 
     /**
      * Map data from a {@link DataRow} to an external storage.
+     * <p>
+     * The converters and consumers of the mapping are created on every call. When mapping many rows, create a
+     * {@link DataRowConsumer} via {@link #createDataRowConsumer(Destination, ConsumptionPath[])} once and reuse it
+     * instead.
      *
      * @param row Row to map
      * @param dest Destination to write to
@@ -141,10 +141,7 @@ public List<ProductionPath> getAvailableProductionPaths(final ET externalType) {
      * @return self (for method chaining)
      */
     public ProducerRegistry<ET, ST> unregisterAllProducers() {
-        m_byDestinationType.clear();
-        m_bySourceType.clear();
-        m_byIdentifier.clear();
-        m_factories.clear();
+        unregisterAll();
         return this;
     }
 }
\ No newline at end of file
@@ -87,9 +87,7 @@ IFileStoreHandler getFileStoreHandler() {
     }
 
     public File getFile() {
-        File parentDir = m_fileStoreHandler.getParentDir(m_key.getIndex(), false);
-        String relativePath = m_key.getNameOnDisc();
-        return new File(parentDir, relativePath);
+        return m_fileStoreHandler.getFile(m_key);
     }
 
     /**
@@ -160,7 +160,8 @@ protected void postConstruct() throws IOException {
         // no op.
     }
 
-    void callFlushIfNeeded() throws IOException {
+    /** Synchronized as cells may be flushed by a background thread while they are copied into another handler. */
+    synchronized void callFlushIfNeeded() throws IOException {
         if (!m_isFlushedToFileStore) {
             m_isFlushedToFileStore = true;
             flushToFileStore();
@@ -176,8 +177,12 @@ void callFlushIfNeeded() throws IOException {
      * This method is also called when the file underlying the cell is copied into a another context (from a
      * BufferedDataTable to DataTable).
      *
-     * @throws IOException If thrown, the cell will be replaced by a missing value in the data stream and an error will
-     *             be reported to the log.
+     * <p>
+     * If asynchronous flushing is enabled (see
+     * {@link org.knime.core.node.KNIMEConstants#PROPERTY_FILESTORE_FLUSH_THREADS}), this method may be called by a
+     * background thread, i.e. after the cell has been added to the table but before the table is closed.
+     *
+     * @throws IOException If thrown, writing the table fails and so does the node creating it.
      * @since 2.8
      */
     protected void flushToFileStore() throws IOException {
@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.filestore.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Copies file store files (or directories) by creating hard links where the file system allows it, falling back to
+ * copying the content. Files are also indexed by their content: if a file with identical content has been copied
+ * through this object before, the new file is linked to that previous copy instead. This avoids storing the same
+ * bytes multiple times, e.g. when the same file store objects are copied into different handlers or saved as part of
+ * different nodes.
+ *
+ * <p>
+ * Linking requires that file store files are not modified once they are written, which is the case for all file
+ * stores whose cells have been added to a table. Target files are always deleted before they are created, so existing
+ * links are never written through.
+ *
+ * <p>
+ * The content hash (SHA-256) of a file is only computed if another file of the same size has been indexed already.
+ * Instances are thread-safe.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class FileStoreContentIndex {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(FileStoreContentIndex.class);
+
+    /** Files smaller than this are not indexed (and only linked or copied). */
+    static final long MIN_INDEXED_FILE_SIZE = 1024;
+
+    private final Map<Long, List<IndexedFile>> m_filesBySize = new HashMap<>();
+
+    private boolean m_isLinkFailureLogged;
+
+    /**
+     * Makes the content of <code>source</code> (file or directory) available as <code>dest</code>. Files in
+     * <code>dest</code> are replaced, other files already in the <code>dest</code> directory are retained (like
+     * {@link org.knime.core.util.FileUtil#copyDir(File, File)}).
+     *
+     * @param source the file or directory to copy, nothing is done if it doesn't exist
+     * @param dest the target location
+     * @throws IOException if copying fails
+     */
+    public void linkOrCopy(final File source, final File dest) throws IOException {
+        if (!source.exists()) {
+            return; // file store not written
+        }
+        if (source.isDirectory()) {
+            Files.createDirectories(dest.toPath());
+            File[] children = source.listFiles();
+            if (children == null) {
+                throw new IOException("Unable to list content of directory \"" + source.getAbsolutePath() + "\"");
+            }
+            for (File child : children) {
+                linkOrCopy(child, new File(dest, child.getName()));
+            }
+        } else {
+            linkOrCopyFile(source, dest);
+        }
+    }
+
+    private void linkOrCopyFile(final File source, final File dest) throws IOException {
+        if (dest.exists() && Files.isSameFile(source.toPath(), dest.toPath())) {
+            return;
+        }
+        final long size = source.length();
+        File linkSource = source;
+        IndexedFile sourceEntry = null;
+        if (size >= MIN_INDEXED_FILE_SIZE) {
+            sourceEntry = new IndexedFile(dest, size);
+            File identical = findIdentical(source, sourceEntry);
+            if (identical != null) {
+                linkSource = identical;
+            }
+        }
+        Files.deleteIfExists(dest.toPath());
+        try {
+            Files.createLink(dest.toPath(), linkSource.toPath());
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            synchronized (this) {
+                if (!m_isLinkFailureLogged) {
+                    m_isLinkFailureLogged = true;
+                    LOGGER.debugWithFormat("Unable to link file store files (%s), copying content", e.getMessage());
+                }
+            }
+            Files.copy(linkSource.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (linkSource == source && sourceEntry != null) {
+            synchronized (this) {
+                m_filesBySize.computeIfAbsent(size, s -> new ArrayList<>()).add(sourceEntry);
+            }
+        }
+    }
+
+    /**
+     * Finds a previously indexed file with the same content as <code>source</code>.
+     *
+     * @param source the file to look up
+     * @param sourceEntry the (not yet added) index entry for the source content, its hash is set if computed
+     * @return the identical file or null
+     */
+    private File findIdentical(final File source, final IndexedFile sourceEntry) throws IOException {
+        List<IndexedFile> candidates;
+        synchronized (this) {
+            List<IndexedFile> sameSize = m_filesBySize.get(sourceEntry.m_size);
+            if (sameSize == null) {
+                return null;
+            }
+            candidates = new ArrayList<>(sameSize);
+        }
+        sourceEntry.m_hash = hash(source);
+        for (IndexedFile candidate : candidates) {
+            if (candidate.m_file.length() != candidate.m_size) {
+                continue; // deleted or replaced in the meantime
+            }
+            if (Arrays.equals(sourceEntry.m_hash, candidate.getHash())) {
+                return candidate.m_file;
+            }
+        }
+        return null;
+    }
+
+    private static byte[] hash(final File file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+            while (in.read(buffer) >= 0) {
+            }
+        }
+        return digest.digest();
+    }
+
+    /** An indexed file, its hash is computed on demand. */
+    private static final class IndexedFile {
+
+        private final File m_file;
+
+        private final long m_size;
+
+        private byte[] m_hash;
+
+        IndexedFile(final File file, final long size) {
+            m_file = file;
+            m_size = size;
+        }
+
+        synchronized byte[] getHash() throws IOException {
+            if (m_hash == null) {
+                m_hash = hash(m_file);
+            }
+            return m_hash;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.filestore.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.data.filestore.FileStoreCell;
+import org.knime.core.data.filestore.FileStoreUtil;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.workflow.NodeContext;
+
+/**
+ * Flushes {@link FileStoreCell file store cells} in background threads while a table is written. One instance is
+ * used per table writer: cells are {@link #submit(FileStoreCell) submitted} while rows are written and the writer
+ * {@link #await() waits} for the remaining flushes when it is closed, so that all file store files are complete once
+ * the table is available to downstream nodes (or saved).
+ *
+ * <p>
+ * The number of flushes that are queued or in progress is bounded by {@link #MAX_PENDING_FLUSHES}: if the bound is
+ * reached, {@link #submit(FileStoreCell)} blocks until a flush has completed. The bound is on the number of cells as
+ * the size of the content held by a cell is not known before it is flushed.
+ *
+ * <p>
+ * The first failure of a background flush is rethrown by the next call to {@link #submit(FileStoreCell)} or
+ * {@link #await()}, and hence fails the node writing the table. The node context of the submitting thread is set in
+ * the flushing thread.
+ *
+ * <p>
+ * Asynchronous flushing is disabled by default as it runs the (possibly third-party) implementations of
+ * {@link FileStoreCell#flushToFileStore()} in foreign threads while the producing node is still running. It is
+ * enabled via {@link KNIMEConstants#PROPERTY_FILESTORE_FLUSH_THREADS}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class FileStoreFlushQueue {
+
+    /** Maximum number of cells (per queue) whose flush is queued or in progress. */
+    static final int MAX_PENDING_FLUSHES = 64;
+
+    /** Shared by all queues, null unless enabled via {@link KNIMEConstants#PROPERTY_FILESTORE_FLUSH_THREADS}. */
+    private static final ExecutorService FLUSH_EXECUTOR = createFlushExecutor();
+
+    private final Executor m_executor;
+
+    private final Semaphore m_pendingPermits = new Semaphore(MAX_PENDING_FLUSHES);
+
+    private volatile IOException m_failure;
+
+    /** @param executor the executor running the flushes, not null */
+    FileStoreFlushQueue(final Executor executor) {
+        m_executor = executor;
+    }
+
+    /**
+     * @return a new queue or <code>null</code> if asynchronous flushing is disabled (in which case cells need to be
+     *         flushed by the caller)
+     */
+    public static FileStoreFlushQueue createIfEnabled() {
+        return FLUSH_EXECUTOR != null ? new FileStoreFlushQueue(FLUSH_EXECUTOR) : null;
+    }
+
+    /**
+     * Flushes the argument cell asynchronously. Blocks if too many flushes are pending.
+     *
+     * @param cell the cell to flush
+     * @throws IOException if a previously submitted flush failed or if interrupted while waiting
+     */
+    public void submit(final FileStoreCell cell) throws IOException {
+        checkFailure();
+        try {
+            m_pendingPermits.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for file store flushes");
+        }
+        final NodeContext context = NodeContext.getContext();
+        try {
+            m_executor.execute(() -> flush(cell, context));
+        } catch (RejectedExecutionException ree) {
+            m_pendingPermits.release();
+            FileStoreUtil.invokeFlush(cell);
+        }
+    }
+
+    private void flush(final FileStoreCell cell, final NodeContext context) {
+        if (context != null) {
+            NodeContext.pushContext(context);
+        }
+        try {
+            if (m_failure == null) {
+                FileStoreUtil.invokeFlush(cell);
+            }
+        } catch (IOException ioe) {
+            setFailure(ioe);
+        } catch (Throwable t) {
+            setFailure(new IOException("Unable to flush file store cell: " + t.getMessage(), t));
+        } finally {
+            if (context != null) {
+                NodeContext.removeLastContext();
+            }
+            m_pendingPermits.release();
+        }
+    }
+
+    private synchronized void setFailure(final IOException ioe) {
+        if (m_failure == null) {
+            m_failure = ioe;
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        final IOException failure = m_failure;
+        if (failure != null) {
+            throw new IOException("Flushing file store cell failed: " + failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * Waits for all submitted flushes to complete.
+     *
+     * @throws IOException if any of the flushes failed or if interrupted while waiting
+     */
+    public void await() throws IOException {
+        try {
+            m_pendingPermits.acquire(MAX_PENDING_FLUSHES);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for file store flushes");
+        }
+        m_pendingPermits.release(MAX_PENDING_FLUSHES);
+        checkFailure();
+    }
+
+    private static ExecutorService createFlushExecutor() {
+        final int nrThreads = Integer.getInteger(KNIMEConstants.PROPERTY_FILESTORE_FLUSH_THREADS, 0);
+        if (nrThreads <= 0) {
+            return null;
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(nrThreads, nrThreads, 10L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread t = new Thread(r, "KNIME-FileStore-Flusher-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+}
@@ -0,0 +1,333 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.filestore.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * A single file containing the content of many small file store files. Packs are written when the file stores of a
+ * node are saved as part of a workflow (if enabled via {@link KNIMEConstants#PROPERTY_FILESTORE_PACK}) and avoid
+ * storing (and later copying and deleting) millions of tiny files. Larger files and file stores that are directories
+ * are stored as plain files next to the pack.
+ *
+ * <p>
+ * After load the pack is placed in the base directory of the file store handler and its files are only extracted
+ * when the corresponding {@link org.knime.core.data.filestore.FileStore#getFile() file} is requested, see
+ * {@link #extract(String, File)}. Files present in the directory take precedence over the pack content.
+ *
+ * <p>
+ * File layout: magic number and version, followed by the content of all files, followed by the index (relative path,
+ * offset and length of each file), followed by the offset of the index and the magic number.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class FileStorePack {
+
+    /** Name of the pack file in a file store directory. File store names must not start with a dot so it won't clash
+     * with any file store file. */
+    public static final String PACK_FILE_NAME = ".filestores.pack";
+
+    /** Files larger than this are not added to the pack. */
+    static final long MAX_PACKED_FILE_SIZE = 64 * 1024;
+
+    private static final int MAGIC = 0x4B4E4650; // "KNFP"
+
+    private static final int VERSION = 1;
+
+    /** Suffix of the hidden file a packed file is extracted to before it's renamed, see {@link #extract(String, File)}.
+     */
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /** Size of the trailer (index offset and magic number). */
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final File m_packFile;
+
+    /** Relative path (with '/' separators) to offset and length of the file content. */
+    private final Map<String, long[]> m_entries;
+
+    private FileStorePack(final File packFile, final Map<String, long[]> entries) {
+        m_packFile = packFile;
+        m_entries = entries;
+    }
+
+    /**
+     * Reads the index of a pack file.
+     *
+     * @param packFile the file to read from
+     * @return the pack
+     * @throws IOException if the file can't be read or is not a valid pack
+     */
+    public static FileStorePack open(final File packFile) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(packFile, "r")) {
+            final long length = raf.length();
+            if (length < 2 * Integer.BYTES + TRAILER_SIZE) {
+                throw new IOException("Invalid file store pack \"" + packFile.getAbsolutePath() + "\" (too short)");
+            }
+            raf.seek(length - TRAILER_SIZE);
+            final long indexOffset = raf.readLong();
+            if (raf.readInt() != MAGIC || indexOffset < 2 * Integer.BYTES || indexOffset > length - TRAILER_SIZE) {
+                throw new IOException("Invalid file store pack \"" + packFile.getAbsolutePath() + "\"");
+            }
+            raf.seek(0L);
+            if (raf.readInt() != MAGIC) {
+                throw new IOException("Invalid file store pack \"" + packFile.getAbsolutePath() + "\"");
+            }
+            final int version = raf.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported file store pack version " + version + " (\""
+                    + packFile.getAbsolutePath() + "\")");
+            }
+            raf.seek(indexOffset);
+            final DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Channels.newInputStream(raf.getChannel())));
+            final int count = in.readInt();
+            final Map<String, long[]> entries = new LinkedHashMap<>(Math.max(16, (int)(count / 0.75f) + 1));
+            for (int i = 0; i < count; i++) {
+                final String path = in.readUTF();
+                final long offset = in.readLong();
+                final long size = in.readLong();
+                if (offset < 2 * Integer.BYTES || size < 0 || offset + size > indexOffset) {
+                    throw new IOException("Invalid entry \"" + path + "\" in file store pack \""
+                        + packFile.getAbsolutePath() + "\"");
+                }
+                entries.put(path, new long[]{offset, size});
+            }
+            return new FileStorePack(packFile, entries);
+        }
+    }
+
+    /** @return the file this pack was read from */
+    public File getPackFile() {
+        return m_packFile;
+    }
+
+    /** @return number of files in the pack */
+    public int size() {
+        return m_entries.size();
+    }
+
+    /**
+     * @param relativePath the path relative to the file store directory, with '/' as separator
+     * @return whether the pack contains a file with the given path
+     */
+    public boolean contains(final String relativePath) {
+        return m_entries.containsKey(relativePath);
+    }
+
+    /**
+     * Writes the content of a packed file to <code>dest</code>, unless <code>dest</code> already exists.
+     *
+     * @param relativePath the path relative to the file store directory, with '/' as separator
+     * @param dest the file to write
+     * @return <code>true</code> if the pack contains the file (and it was extracted or <code>dest</code> exists)
+     * @throws IOException if extracting fails
+     */
+    public synchronized boolean extract(final String relativePath, final File dest) throws IOException {
+        final long[] entry = m_entries.get(relativePath);
+        if (entry == null) {
+            return false;
+        }
+        if (dest.exists()) {
+            return true;
+        }
+        Files.createDirectories(dest.getParentFile().toPath());
+        final File tempFile = new File(dest.getParentFile(), "." + dest.getName() + TEMP_FILE_SUFFIX);
+        try (OutputStream out = new FileOutputStream(tempFile)) {
+            copyEntry(entry, out);
+        }
+        if (!tempFile.renameTo(dest)) {
+            Files.deleteIfExists(tempFile.toPath());
+            throw new IOException("Unable to extract file store file \"" + dest.getAbsolutePath() + "\"");
+        }
+        return true;
+    }
+
+    private void copyEntry(final long[] entry, final OutputStream out) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(m_packFile, "r")) {
+            raf.seek(entry[0]);
+            final byte[] buffer = new byte[(int)Math.min(entry[1], 64 * 1024)];
+            long remaining = entry[1];
+            while (remaining > 0) {
+                final int read = raf.read(buffer, 0, (int)Math.min(remaining, buffer.length));
+                if (read < 0) {
+                    throw new IOException("Unexpected end of file store pack \"" + m_packFile.getAbsolutePath()
+                        + "\"");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    /**
+     * Saves the file store files of a directory, packing small files into a single {@value #PACK_FILE_NAME} file in
+     * <code>saveLocation</code>. Larger files are linked or copied via the <code>contentIndex</code>.
+     *
+     * @param baseDir the file store directory
+     * @param existingPack the pack of the file store directory whose files are not (all) extracted, or
+     *            <code>null</code>
+     * @param saveLocation the target directory
+     * @param contentIndex used to link or copy larger files
+     * @throws IOException if writing fails
+     */
+    public static void write(final File baseDir, final FileStorePack existingPack, final File saveLocation,
+        final FileStoreContentIndex contentIndex) throws IOException {
+        Files.createDirectories(saveLocation.toPath());
+        final List<String> packedPaths = new ArrayList<>();
+        final Set<String> savedPaths = new HashSet<>();
+        collect(baseDir, "", saveLocation, packedPaths, savedPaths, contentIndex);
+        final List<String> existingPaths = new ArrayList<>();
+        if (existingPack != null) {
+            for (String path : existingPack.m_entries.keySet()) {
+                if (!savedPaths.contains(path)) {
+                    existingPaths.add(path);
+                }
+            }
+        }
+        final File packFile = new File(saveLocation, PACK_FILE_NAME);
+        // always replace (a link to a previous pack must not be written through)
+        Files.deleteIfExists(packFile.toPath());
+        if (packedPaths.isEmpty() && existingPaths.isEmpty()) {
+            return;
+        }
+        final Map<String, long[]> entries = new LinkedHashMap<>();
+        try (DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(new FileOutputStream(packFile), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            long offset = 2 * Integer.BYTES;
+            for (String path : packedPaths) {
+                final long size = Files.copy(new File(baseDir, toFilePath(path)).toPath(), out);
+                entries.put(path, new long[]{offset, size});
+                offset += size;
+            }
+            for (String path : existingPaths) {
+                final long[] entry = existingPack.m_entries.get(path);
+                existingPack.copyEntry(entry, out);
+                entries.put(path, new long[]{offset, entry[1]});
+                offset += entry[1];
+            }
+            out.writeInt(entries.size());
+            for (Map.Entry<String, long[]> e : entries.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeLong(e.getValue()[0]);
+                out.writeLong(e.getValue()[1]);
+            }
+            out.writeLong(offset);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    private static void collect(final File dir, final String relativeDir, final File saveLocation,
+        final List<String> packedPaths, final Set<String> savedPaths, final FileStoreContentIndex contentIndex)
+        throws IOException {
+        final String[] names = dir.list();
+        if (names == null) {
+            return; // doesn't exist (yet)
+        }
+        // the file stores are in the directories of the bottom most level, see WriteFileStoreHandler#getParentDir
+        final boolean isFileStoreLevel = relativeDir.split("/", -1).length > WriteFileStoreHandler.FOLDER_LEVEL;
+        for (String name : names) {
+            if (relativeDir.isEmpty() && name.equals(PACK_FILE_NAME)) {
+                continue;
+            }
+            if (name.startsWith(".") && name.endsWith(TEMP_FILE_SUFFIX)) {
+                continue; // file currently extracted
+            }
+            final File file = new File(dir, name);
+            final String path = relativeDir + name;
+            if (file.isDirectory() && !isFileStoreLevel) {
+                collect(file, path + "/", saveLocation, packedPaths, savedPaths, contentIndex);
+            } else if (file.isDirectory()) {
+                // a file store that is a directory is saved as is, the pack only restores single files
+                savedPaths.add(path);
+                contentIndex.linkOrCopy(file, new File(saveLocation, toFilePath(path)));
+            } else {
+                savedPaths.add(path);
+                if (file.length() <= MAX_PACKED_FILE_SIZE) {
+                    packedPaths.add(path);
+                } else {
+                    contentIndex.linkOrCopy(file, new File(saveLocation, toFilePath(path)));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param relativePath path with '/' separators
+     * @return the path with the platform separator
+     */
+    static String toFilePath(final String relativePath) {
+        return relativePath.replace('/', File.separatorChar);
+    }
+
+    /** @return the paths of all packed files (for tests) */
+    Set<String> getPaths() {
+        return Collections.unmodifiableSet(m_entries.keySet());
+    }
+
+}
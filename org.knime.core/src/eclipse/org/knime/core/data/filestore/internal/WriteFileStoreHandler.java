@@ -49,6 +49,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.UUID;
 
 import org.knime.core.data.IDataRepository;
@@ -57,9 +58,11 @@
 import org.knime.core.data.filestore.FileStoreUtil;
 import org.knime.core.data.filestore.internal.FileStoreProxy.FlushCallback;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.WorkflowDataRepository;
+import org.knime.core.util.BackgroundFileDeleter;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.LRUCache;
 
@@ -89,6 +92,10 @@ public class WriteFileStoreHandler implements IWriteFileStoreHandler {
     private InternalDuplicateChecker m_duplicateChecker;
     private IDataRepository m_dataRepository;
     private LRUCache<FileStoreKey, FileStoreKey> m_createdFileStoreKeys;
+    /** Links copied file stores (and finds identical content), created on first copy. */
+    private FileStoreContentIndex m_copiedContentIndex;
+    /** Small file store files not yet extracted from the saved workflow, null if not loaded from a pack. */
+    private volatile FileStorePack m_pack;
     private int m_nextIndex = 0;
 
 
@@ -132,12 +139,10 @@ public void clearAndDispose() {
             if (!m_baseDir.exists()) { // possibly deleted as workflow cleanup (job folder gone)
                 b.append(" - associated folder already deleted");
                 LOGGER.debug(b.toString());
-            } else if (FileUtil.deleteRecursively(m_baseDir)) {
-                b.append(" - folder successfully deleted");
-                LOGGER.debug(b.toString());
             } else {
-                b.append(" - folder not or only partially deleted");
-                LOGGER.warn(b.toString());
+                BackgroundFileDeleter.delete(m_baseDir);
+                b.append(" - folder queued for deletion");
+                LOGGER.debug(b.toString());
             }
         }
     }
@@ -180,6 +185,7 @@ private synchronized FileStoreKey copyFileStore(final FileStore fs, final FlushC
             LOGGER.debug("Dump of valid file store handlers follows, omitting further log output");
             m_dataRepository.printValidFileStoreHandlersToLogDebug();
             m_createdFileStoreKeys = new LRUCache<FileStoreKey, FileStoreKey>(10000);
+            m_copiedContentIndex = new FileStoreContentIndex();
         }
         FileStoreKey local = m_createdFileStoreKeys.get(key);
         if (local != null) {
@@ -191,7 +197,7 @@ private synchronized FileStoreKey copyFileStore(final FileStore fs, final FlushC
             // notify them that a copy is taken place and that they need to flush their in memory content
             FileStoreUtil.invokeFlush(flushCallback);
             newStore = createFileStoreInternal(getNextIndex() + "_" + key.getName(), null, -1);
-            FileUtil.copyDir(fs.getFile(), newStore.getFile());
+            m_copiedContentIndex.linkOrCopy(fs.getFile(), newStore.getFile());
         } catch (IOException e) {
             throw new RuntimeException("Failed copying file stores to local handler", e);
         }
@@ -290,6 +296,51 @@ FileStore createFileStoreInternal(final String name,
         return fs;
     }
 
+    /**
+     * Get the file of a file store in this handler. If the file stores were loaded from a workflow saved with
+     * {@link KNIMEConstants#PROPERTY_FILESTORE_PACK} the file is extracted from the pack on first access.
+     *
+     * @param key the key of a file store of this handler
+     * @return the file
+     * @since 3.8
+     */
+    public File getFile(final FileStoreKey key) {
+        final File file = new File(getParentDir(key.getIndex(), false), key.getNameOnDisc());
+        final FileStorePack pack = m_pack;
+        if (pack != null && !file.exists()) {
+            String relativePath = m_baseDir.toPath().relativize(file.toPath()).toString();
+            relativePath = relativePath.replace(File.separatorChar, '/');
+            try {
+                pack.extract(relativePath, file);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not extract file store \"" + key + "\" from \""
+                    + pack.getPackFile().getAbsolutePath() + "\"", e);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Saves the file store files of this handler into the file store directory of a node in a saved workflow. Small
+     * files are packed into a single file if {@link KNIMEConstants#PROPERTY_FILESTORE_PACK} is set.
+     *
+     * @param saveLocation the target directory
+     * @param contentIndex used to link or copy the files
+     * @throws IOException if writing fails
+     * @since 3.8
+     */
+    public void save(final File saveLocation, final FileStoreContentIndex contentIndex) throws IOException {
+        if (Boolean.getBoolean(KNIMEConstants.PROPERTY_FILESTORE_PACK)) {
+            FileStorePack.write(m_baseDir, m_pack, saveLocation, contentIndex);
+        } else {
+            if (m_pack == null) {
+                Files.deleteIfExists(new File(saveLocation, FileStorePack.PACK_FILE_NAME).toPath());
+            }
+            // also saves the (not extracted) pack, if any
+            contentIndex.linkOrCopy(m_baseDir, saveLocation);
+        }
+    }
+
     /** @return the nextIndex */
     public int getNextIndex() {
         return m_nextIndex;
@@ -367,7 +418,13 @@ public synchronized void ensureOpenAfterLoad() throws IOException {
                 toString(), m_baseDirInWorkflowFolder);
             File source = m_baseDirInWorkflowFolder;
             m_baseDirInWorkflowFolder = null;
-            FileUtil.copyDir(source, m_baseDir);
+            new FileStoreContentIndex().linkOrCopy(source, m_baseDir);
+            final File packFile = new File(m_baseDir, FileStorePack.PACK_FILE_NAME);
+            if (packFile.isFile()) {
+                m_pack = FileStorePack.open(packFile);
+                LOGGER.debugWithFormat("Opened pack with %d file store files in \"%s\"", m_pack.size(),
+                    toString());
+            }
         }
     }
 
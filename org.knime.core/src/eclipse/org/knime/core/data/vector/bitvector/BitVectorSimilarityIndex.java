@@ -0,0 +1,624 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.vector.bitvector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * An in-memory index on a bit vector column for fast similarity searches, e.g. to find the most similar fingerprints
+ * in a large compound library. The bits of all vectors are packed into a few large <code>long</code> arrays (one row
+ * after the other, trailing zero words are omitted) so that no cell objects are created during a search.
+ *
+ * <p>
+ * Rows are additionally grouped by the cardinality of their vector. For all supported {@link Similarity similarity
+ * measures} the cardinalities give an upper bound for the similarity of two vectors (e.g. for Tanimoto
+ * <code>min(|a|, |b|) / max(|a|, |b|)</code>), which is used to skip all rows that can't be part of the result.
+ * The remaining candidates are compared in parallel, see {@link #searchTopK(BitVectorValue, int, Similarity)} and
+ * {@link #searchThreshold(BitVectorValue, double, Similarity)}.
+ *
+ * <p>
+ * Instances are immutable and can be searched concurrently. Rows with missing values are not indexed.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class BitVectorSimilarityIndex {
+
+    /** Similarity measures supported by the index. */
+    public enum Similarity {
+        /** See {@link BitVectorUtil#tanimotoSimilarity(BitVectorValue, BitVectorValue)}. */
+        TANIMOTO {
+            @Override
+            double similarity(final long intersection, final long card1, final long card2) {
+                final long union = card1 + card2 - intersection;
+                return union == 0 ? 1.0 : intersection / (double)union;
+            }
+
+            @Override
+            double upperBound(final long card1, final long card2) {
+                final long max = Math.max(card1, card2);
+                return max == 0 ? 1.0 : Math.min(card1, card2) / (double)max;
+            }
+        },
+        /** See {@link BitVectorUtil#diceSimilarity(BitVectorValue, BitVectorValue)}. */
+        DICE {
+            @Override
+            double similarity(final long intersection, final long card1, final long card2) {
+                final long sum = card1 + card2;
+                return sum == 0 ? 1.0 : 2.0 * intersection / sum;
+            }
+
+            @Override
+            double upperBound(final long card1, final long card2) {
+                final long sum = card1 + card2;
+                return sum == 0 ? 1.0 : 2.0 * Math.min(card1, card2) / sum;
+            }
+        },
+        /** See {@link BitVectorUtil#cosineSimilarity(BitVectorValue, BitVectorValue)}. */
+        COSINE {
+            @Override
+            double similarity(final long intersection, final long card1, final long card2) {
+                if (card1 == 0 || card2 == 0) {
+                    return card1 == card2 ? 1.0 : 0.0;
+                }
+                return intersection / Math.sqrt((double)card1 * card2);
+            }
+
+            @Override
+            double upperBound(final long card1, final long card2) {
+                if (card1 == 0 || card2 == 0) {
+                    return card1 == card2 ? 1.0 : 0.0;
+                }
+                return Math.sqrt(Math.min(card1, card2) / (double)Math.max(card1, card2));
+            }
+        };
+
+        /**
+         * @param intersection cardinality of the intersection
+         * @param card1 cardinality of the first vector
+         * @param card2 cardinality of the second vector
+         * @return the similarity
+         */
+        abstract double similarity(long intersection, long card1, long card2);
+
+        /**
+         * @param card1 cardinality of the first vector
+         * @param card2 cardinality of the second vector
+         * @return the maximum similarity of any two vectors with the given cardinalities
+         */
+        abstract double upperBound(long card1, long card2);
+    }
+
+    /** A single search result. */
+    public static final class Match {
+
+        private final int m_rowIndex;
+
+        private final double m_similarity;
+
+        Match(final int rowIndex, final double similarity) {
+            m_rowIndex = rowIndex;
+            m_similarity = similarity;
+        }
+
+        /** @return the index of the row in the indexed table (counting all rows, including rows with missing values) */
+        public int getRowIndex() {
+            return m_rowIndex;
+        }
+
+        /** @return the similarity to the query */
+        public double getSimilarity() {
+            return m_similarity;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return "Row " + m_rowIndex + ": " + m_similarity;
+        }
+    }
+
+    /** Result order: higher similarity first, lower row index first for equal similarities. */
+    private static final Comparator<Match> RESULT_ORDER =
+        Comparator.comparingDouble(Match::getSimilarity).reversed().thenComparingInt(Match::getRowIndex);
+
+    /** Maximum number of words in a storage array (unless a single vector is longer). */
+    private static final int MAX_CHUNK_WORDS = 1 << 24;
+
+    /** Initial number of words in a storage array, arrays grow geometrically up to {@link #MAX_CHUNK_WORDS}. */
+    private static final int MIN_CHUNK_WORDS = 1 << 10;
+
+    /** Number of rows compared by a worker before checking the pruning bound again. */
+    private static final int BLOCK_SIZE = 4096;
+
+    /** Searches with fewer candidates are done in the calling thread only. */
+    private static final int MIN_ROWS_FOR_PARALLEL_SEARCH = 4 * BLOCK_SIZE;
+
+    private static final ThreadPool SEARCH_POOL =
+        KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(Runtime.getRuntime().availableProcessors());
+
+    /** The packed bits of all entries. */
+    private final long[][] m_chunks;
+
+    /** Per entry: chunk index (upper 32 bits) and word offset in chunk (lower 32 bits). */
+    private final long[] m_addresses;
+
+    /** Per entry: number of words (after removing trailing zero words). */
+    private final int[] m_wordCounts;
+
+    /** Per entry: cardinality of the vector. */
+    private final int[] m_cardinalities;
+
+    /** Per entry: index of the row in the table. */
+    private final int[] m_rowIndices;
+
+    /** Entries sorted by cardinality. */
+    private final int[] m_entriesByCardinality;
+
+    /** Index into {@link #m_entriesByCardinality} of the first entry with a given cardinality (length max + 2). */
+    private final int[] m_cardinalityStart;
+
+    private BitVectorSimilarityIndex(final Builder builder) {
+        m_chunks = builder.m_chunks.toArray(new long[builder.m_chunks.size()][]);
+        if (m_chunks.length > 0) {
+            // the last chunk is usually only partially filled
+            final int last = m_chunks.length - 1;
+            if (m_chunks[last].length > builder.m_currentChunkSize) {
+                m_chunks[last] = Arrays.copyOf(m_chunks[last], builder.m_currentChunkSize);
+            }
+        }
+        final int size = builder.m_size;
+        m_addresses = Arrays.copyOf(builder.m_addresses, size);
+        m_wordCounts = Arrays.copyOf(builder.m_wordCounts, size);
+        m_cardinalities = Arrays.copyOf(builder.m_cardinalities, size);
+        m_rowIndices = Arrays.copyOf(builder.m_rowIndices, size);
+        // counting sort by cardinality
+        int maxCardinality = 0;
+        for (int i = 0; i < size; i++) {
+            maxCardinality = Math.max(maxCardinality, m_cardinalities[i]);
+        }
+        m_cardinalityStart = new int[maxCardinality + 2];
+        for (int i = 0; i < size; i++) {
+            m_cardinalityStart[m_cardinalities[i] + 1]++;
+        }
+        for (int c = 1; c < m_cardinalityStart.length; c++) {
+            m_cardinalityStart[c] += m_cardinalityStart[c - 1];
+        }
+        m_entriesByCardinality = new int[size];
+        final int[] next = Arrays.copyOf(m_cardinalityStart, m_cardinalityStart.length - 1);
+        for (int i = 0; i < size; i++) {
+            m_entriesByCardinality[next[m_cardinalities[i]]++] = i;
+        }
+    }
+
+    /**
+     * Creates an index on a bit vector column.
+     *
+     * @param table the table to index
+     * @param colIndex the index of a column compatible to {@link BitVectorValue}
+     * @param exec for progress and cancellation
+     * @return a new index
+     * @throws CanceledExecutionException if canceled
+     * @throws IllegalArgumentException if the column is not a bit vector column or if the table has more than
+     *             {@link Integer#MAX_VALUE} rows
+     */
+    public static BitVectorSimilarityIndex create(final BufferedDataTable table, final int colIndex,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        CheckUtils.checkArgumentNotNull(table, "Table must not be null");
+        final DataType type = table.getDataTableSpec().getColumnSpec(colIndex).getType();
+        CheckUtils.checkArgument(type.isCompatible(BitVectorValue.class), "Column %d is not a bit vector column: %s",
+            colIndex, type);
+        final long size = table.size();
+        CheckUtils.checkArgument(size <= Integer.MAX_VALUE, "Too many rows to index: %d", size);
+        final Builder builder = new Builder();
+        int rowIndex = 0;
+        for (DataRow row : table) {
+            exec.checkCanceled();
+            if (rowIndex % 1000 == 0) {
+                final int currentIndex = rowIndex;
+                exec.setProgress(rowIndex / (double)size, () -> "Indexing row " + currentIndex + " of " + size);
+            }
+            final DataCell cell = row.getCell(colIndex);
+            if (!cell.isMissing()) {
+                builder.add(rowIndex, (BitVectorValue)cell);
+            }
+            rowIndex++;
+        }
+        return new BitVectorSimilarityIndex(builder);
+    }
+
+    /**
+     * Creates an index on the given vectors (without missing values), the row index of each vector is its position in
+     * the argument list.
+     *
+     * @param vectors the vectors to index
+     * @return a new index
+     */
+    public static BitVectorSimilarityIndex create(final List<? extends BitVectorValue> vectors) {
+        final Builder builder = new Builder();
+        int rowIndex = 0;
+        for (BitVectorValue vector : vectors) {
+            builder.add(rowIndex++, CheckUtils.checkArgumentNotNull(vector, "Vector must not be null"));
+        }
+        return new BitVectorSimilarityIndex(builder);
+    }
+
+    /** @return the number of words in the storage arrays (for tests) */
+    long getStorageWordCount() {
+        return Arrays.stream(m_chunks).mapToLong(c -> c.length).sum();
+    }
+
+    /** @return the number of indexed vectors */
+    public int size() {
+        return m_rowIndices.length;
+    }
+
+    /**
+     * Finds the <code>k</code> vectors most similar to the query.
+     *
+     * @param query the query vector
+     * @param k the maximum number of results, &gt; 0
+     * @param similarity the similarity measure
+     * @return the matches, most similar first (equally similar vectors are sorted by row index)
+     */
+    public List<Match> searchTopK(final BitVectorValue query, final int k, final Similarity similarity) {
+        CheckUtils.checkArgument(k > 0, "Number of results must be positive: %d", k);
+        return search(query, k, 0.0, similarity);
+    }
+
+    /**
+     * Finds all vectors whose similarity to the query is at least the given threshold.
+     *
+     * @param query the query vector
+     * @param threshold the minimum similarity
+     * @param similarity the similarity measure
+     * @return the matches, most similar first (equally similar vectors are sorted by row index)
+     */
+    public List<Match> searchThreshold(final BitVectorValue query, final double threshold,
+        final Similarity similarity) {
+        return search(query, -1, threshold, similarity);
+    }
+
+    /**
+     * @param k max number of results or -1 for all results above the threshold
+     * @param threshold the minimum similarity
+     */
+    private List<Match> search(final BitVectorValue query, final int k, final double threshold,
+        final Similarity similarity) {
+        CheckUtils.checkArgumentNotNull(query, "Query must not be null");
+        CheckUtils.checkArgumentNotNull(similarity, "Similarity must not be null");
+        final long[] queryWords = Builder.toWords(query);
+        final int queryWordCount = Builder.wordCount(queryWords);
+        long queryCardinality = 0;
+        for (int i = 0; i < queryWordCount; i++) {
+            queryCardinality += Long.bitCount(queryWords[i]);
+        }
+        final Search search = new Search(queryWords, queryWordCount, queryCardinality, k, threshold, similarity);
+        final int candidateCount = search.m_blocks.stream().mapToInt(b -> b[2] - b[1]).sum();
+        final int nrWorkers = candidateCount < MIN_ROWS_FOR_PARALLEL_SEARCH ? 1
+            : Math.min(search.m_blocks.size(), Runtime.getRuntime().availableProcessors());
+        for (int i = 1; i < nrWorkers; i++) {
+            SEARCH_POOL.enqueue(search::workInPool);
+        }
+        final List<Match> result;
+        try {
+            result = search.finish(search.work());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for search results", e);
+        }
+        Collections.sort(result, RESULT_ORDER);
+        return k > 0 && result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    /** State of a single search, shared by all workers. */
+    private final class Search {
+
+        private final long[] m_queryWords;
+
+        private final int m_queryWordCount;
+
+        private final long m_queryCardinality;
+
+        private final int m_k;
+
+        private final Similarity m_similarity;
+
+        /** Blocks to compare: {cardinality, from, to} (indices into m_entriesByCardinality), best bound first. */
+        private final List<int[]> m_blocks = new ArrayList<>();
+
+        /** Upper bound of the similarity of each block. */
+        private final double[] m_blockBounds;
+
+        private final AtomicInteger m_nextBlock = new AtomicInteger();
+
+        /** Bits of the (non-negative) minimum similarity of a result; increases in top-k searches. */
+        private final AtomicLong m_minSimilarityBits;
+
+        /** Results of pool workers, guarded by this. */
+        private final List<Match> m_poolResults = new ArrayList<>();
+
+        /** Number of running pool workers, guarded by this. */
+        private int m_activePoolWorkers;
+
+        /** Set once the calling thread is done, pool workers that haven't started yet aren't needed then. */
+        private boolean m_isFinished;
+
+        private RuntimeException m_poolFailure;
+
+        Search(final long[] queryWords, final int queryWordCount, final long queryCardinality, final int k,
+            final double threshold, final Similarity similarity) {
+            m_queryWords = queryWords;
+            m_queryWordCount = queryWordCount;
+            m_queryCardinality = queryCardinality;
+            m_k = k;
+            m_similarity = similarity;
+            m_minSimilarityBits = new AtomicLong(Double.doubleToLongBits(Math.max(0.0, threshold)));
+            final List<Integer> cardinalities = new ArrayList<>();
+            for (int c = 0; c < m_cardinalityStart.length - 1; c++) {
+                if (m_cardinalityStart[c + 1] > m_cardinalityStart[c]
+                    && similarity.upperBound(queryCardinality, c) >= threshold) {
+                    cardinalities.add(c);
+                }
+            }
+            cardinalities.sort(Comparator.comparingDouble((Integer c) -> similarity.upperBound(queryCardinality, c))
+                .reversed());
+            for (int c : cardinalities) {
+                for (int from = m_cardinalityStart[c]; from < m_cardinalityStart[c + 1]; from += BLOCK_SIZE) {
+                    m_blocks.add(new int[]{c, from, Math.min(from + BLOCK_SIZE, m_cardinalityStart[c + 1])});
+                }
+            }
+            m_blockBounds = new double[m_blocks.size()];
+            for (int i = 0; i < m_blockBounds.length; i++) {
+                m_blockBounds[i] = similarity.upperBound(queryCardinality, m_blocks.get(i)[0]);
+            }
+        }
+
+        /** Runs {@link #work()} in a pool thread, unless the search is finished. */
+        void workInPool() {
+            synchronized (this) {
+                if (m_isFinished) {
+                    return;
+                }
+                m_activePoolWorkers++;
+            }
+            try {
+                final List<Match> matches = work();
+                synchronized (this) {
+                    m_poolResults.addAll(matches);
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    m_poolFailure = e;
+                }
+            } finally {
+                synchronized (this) {
+                    m_activePoolWorkers--;
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Called by the searching thread after it processed all blocks, waits for running pool workers.
+         *
+         * @param matches the matches found by the calling thread
+         * @return all matches (unsorted)
+         */
+        synchronized List<Match> finish(final List<Match> matches) throws InterruptedException {
+            m_isFinished = true;
+            while (m_activePoolWorkers > 0) {
+                wait();
+            }
+            if (m_poolFailure != null) {
+                throw new IllegalStateException("Similarity search failed: " + m_poolFailure.getMessage(),
+                    m_poolFailure);
+            }
+            final List<Match> result = new ArrayList<>(matches);
+            result.addAll(m_poolResults);
+            return result;
+        }
+
+        /** Processes blocks until all are done or the remaining blocks can't contain any result. */
+        List<Match> work() {
+            final PriorityQueue<Match> topK = m_k > 0 ? new PriorityQueue<>(m_k + 1, RESULT_ORDER.reversed()) : null;
+            final List<Match> matches = new ArrayList<>();
+            int blockIndex;
+            while ((blockIndex = m_nextBlock.getAndIncrement()) < m_blockBounds.length) {
+                final double minSimilarity = Double.longBitsToDouble(m_minSimilarityBits.get());
+                if (m_blockBounds[blockIndex] < minSimilarity) {
+                    break; // blocks are sorted by bound
+                }
+                final int[] block = m_blocks.get(blockIndex);
+                for (int i = block[1]; i < block[2]; i++) {
+                    final int entry = m_entriesByCardinality[i];
+                    final double sim = m_similarity.similarity(intersection(entry), m_queryCardinality,
+                        m_cardinalities[entry]);
+                    if (sim < minSimilarity) {
+                        continue;
+                    }
+                    final Match match = new Match(m_rowIndices[entry], sim);
+                    if (topK == null) {
+                        matches.add(match);
+                    } else {
+                        topK.add(match);
+                        if (topK.size() > m_k) {
+                            topK.poll();
+                        }
+                    }
+                }
+                if (topK != null && topK.size() == m_k) {
+                    raiseMinSimilarity(topK.peek().getSimilarity());
+                }
+            }
+            return topK == null ? matches : new ArrayList<>(topK);
+        }
+
+        /** Cardinality of the intersection of the query and the given entry. */
+        private long intersection(final int entry) {
+            final long address = m_addresses[entry];
+            final long[] chunk = m_chunks[(int)(address >>> 32)];
+            final int offset = (int)address;
+            final int wordCount = Math.min(m_queryWordCount, m_wordCounts[entry]);
+            final long[] queryWords = m_queryWords;
+            long result = 0;
+            for (int i = 0; i < wordCount; i++) {
+                result += Long.bitCount(queryWords[i] & chunk[offset + i]);
+            }
+            return result;
+        }
+
+        private void raiseMinSimilarity(final double similarity) {
+            // similarities are non-negative, hence the order of their bits is the order of their values
+            final long bits = Double.doubleToLongBits(similarity);
+            long current;
+            while (bits > (current = m_minSimilarityBits.get())) {
+                if (m_minSimilarityBits.compareAndSet(current, bits)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Collects the vectors while the index is created. */
+    private static final class Builder {
+
+        private final List<long[]> m_chunks = new ArrayList<>();
+
+        private long[] m_currentChunk;
+
+        private int m_currentChunkSize;
+
+        private int m_size;
+
+        private long[] m_addresses = new long[1024];
+
+        private int[] m_wordCounts = new int[1024];
+
+        private int[] m_cardinalities = new int[1024];
+
+        private int[] m_rowIndices = new int[1024];
+
+        void add(final int rowIndex, final BitVectorValue vector) {
+            final long[] words = toWords(vector);
+            final int wordCount = wordCount(words);
+            if (m_currentChunk == null || m_currentChunk.length - m_currentChunkSize < wordCount) {
+                final long required = (long)m_currentChunkSize + wordCount;
+                if (m_currentChunk != null && required <= MAX_CHUNK_WORDS) {
+                    // grow the current chunk, entries keep their offsets
+                    final int newLength =
+                        (int)Math.min(MAX_CHUNK_WORDS, Math.max(2L * m_currentChunk.length, required));
+                    m_currentChunk = Arrays.copyOf(m_currentChunk, newLength);
+                    m_chunks.set(m_chunks.size() - 1, m_currentChunk);
+                } else {
+                    // the current chunk is full (the rest is smaller than a vector), start a new one
+                    m_currentChunk = new long[Math.max(MIN_CHUNK_WORDS, wordCount)];
+                    m_currentChunkSize = 0;
+                    m_chunks.add(m_currentChunk);
+                }
+            }
+            long cardinality = 0;
+            for (int i = 0; i < wordCount; i++) {
+                cardinality += Long.bitCount(words[i]);
+            }
+            CheckUtils.checkArgument(cardinality <= Integer.MAX_VALUE, "Too many bits set in vector: %d",
+                cardinality);
+            System.arraycopy(words, 0, m_currentChunk, m_currentChunkSize, wordCount);
+            if (m_size == m_addresses.length) {
+                final int newLength = (int)Math.min(Integer.MAX_VALUE - 8, 2L * m_size);
+                m_addresses = Arrays.copyOf(m_addresses, newLength);
+                m_wordCounts = Arrays.copyOf(m_wordCounts, newLength);
+                m_cardinalities = Arrays.copyOf(m_cardinalities, newLength);
+                m_rowIndices = Arrays.copyOf(m_rowIndices, newLength);
+            }
+            m_addresses[m_size] = ((long)(m_chunks.size() - 1) << 32) | m_currentChunkSize;
+            m_wordCounts[m_size] = wordCount;
+            m_cardinalities[m_size] = (int)cardinality;
+            m_rowIndices[m_size] = rowIndex;
+            m_size++;
+            m_currentChunkSize += wordCount;
+        }
+
+        /** The bits of a vector as long words, bit i is bit (i % 64) of word (i / 64). */
+        static long[] toWords(final BitVectorValue vector) {
+            if (vector instanceof DenseBitVectorCell) {
+                return ((DenseBitVectorCell)vector).getBitVectorCopy().getAllBits();
+            }
+            final long length = vector.length();
+            CheckUtils.checkArgument((length >>> 6) < Integer.MAX_VALUE, "Bit vector too long: %d", length);
+            final long[] words = new long[(int)((length + 63) >>> 6)];
+            for (long i = vector.nextSetBit(0); i >= 0; i = vector.nextSetBit(i + 1)) {
+                words[(int)(i >>> 6)] |= 1L << i;
+            }
+            return words;
+        }
+
+        /** Number of words up to and including the last non-zero word. */
+        static int wordCount(final long[] words) {
+            int count = words.length;
+            while (count > 0 && words[count - 1] == 0L) {
+                count--;
+            }
+            return count;
+        }
+    }
+}
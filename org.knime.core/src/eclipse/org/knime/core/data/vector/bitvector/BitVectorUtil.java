@@ -73,7 +73,8 @@ private BitVectorUtil() { /*empty*/
      *
      * To perform the AND operation the sparse implementation
      * {@link SparseBitVectorCellFactory#and(BitVectorValue, BitVectorValue)}, or the dense implementation
-     * {@link DenseBitVectorCellFactory#and(BitVectorValue, BitVectorValue)} is called.
+     * {@link DenseBitVectorCellFactory#and(BitVectorValue, BitVectorValue)} is called. Two
+     * {@link CompressedBitVectorCell}s result in a compressed bit vector cell.
      *
      * @param bv1 the first operand to AND with the other
      * @param bv2 the other operand to AND with the first one
@@ -84,6 +85,9 @@ public static BitVectorValue and(final BitVectorValue bv1, final BitVectorValue
             throw new NullPointerException(NPE_MESSAGE);
         }
 
+        if (bv1 instanceof CompressedBitVectorCell && bv2 instanceof CompressedBitVectorCell) {
+            return CompressedBitVectorCellFactory.and(bv1, bv2);
+        }
         int noSparseBVC = sparseBitVectorCellCount(bv1, bv2);
         if (noSparseBVC >= 1) {
             return SparseBitVectorCellFactory.and(bv1, bv2);
@@ -101,7 +105,8 @@ public static BitVectorValue and(final BitVectorValue bv1, final BitVectorValue
      *
      * To perform the OR operation the sparse implementation
      * {@link SparseBitVectorCellFactory#or(BitVectorValue, BitVectorValue)}, or the dense implementation
-     * {@link DenseBitVectorCellFactory#or(BitVectorValue, BitVectorValue)} is called.
+     * {@link DenseBitVectorCellFactory#or(BitVectorValue, BitVectorValue)} is called. Two
+     * {@link CompressedBitVectorCell}s result in a compressed bit vector cell.
      *
      * @param bv1 the first operand to OR with the other
      * @param bv2 the other operand to OR with the first one
@@ -112,6 +117,9 @@ public static BitVectorValue or(final BitVectorValue bv1, final BitVectorValue b
             throw new NullPointerException(NPE_MESSAGE);
         }
 
+        if (bv1 instanceof CompressedBitVectorCell && bv2 instanceof CompressedBitVectorCell) {
+            return CompressedBitVectorCellFactory.or(bv1, bv2);
+        }
         int noSparseBVC = sparseBitVectorCellCount(bv1, bv2);
         if (noSparseBVC == 2) {
             return SparseBitVectorCellFactory.or(bv1, bv2);
@@ -129,7 +137,8 @@ public static BitVectorValue or(final BitVectorValue bv1, final BitVectorValue b
      *
      * To perform the XOR operation the sparse implementation
      * {@link SparseBitVectorCellFactory#xor(BitVectorValue, BitVectorValue)}, or the dense implementation
-     * {@link DenseBitVectorCellFactory#xor(BitVectorValue, BitVectorValue)} is called.
+     * {@link DenseBitVectorCellFactory#xor(BitVectorValue, BitVectorValue)} is called. Two
+     * {@link CompressedBitVectorCell}s result in a compressed bit vector cell.
      *
      * @param bv1 the first operand to XOR with the other
      * @param bv2 the other operand to XOR with the first one
@@ -140,6 +149,9 @@ public static BitVectorValue xor(final BitVectorValue bv1, final BitVectorValue
             throw new NullPointerException(NPE_MESSAGE);
         }
 
+        if (bv1 instanceof CompressedBitVectorCell && bv2 instanceof CompressedBitVectorCell) {
+            return CompressedBitVectorCellFactory.xor(bv1, bv2);
+        }
         int noSparseBVC = sparseBitVectorCellCount(bv1, bv2);
         if (noSparseBVC == 2) {
             return SparseBitVectorCellFactory.xor(bv1, bv2);
@@ -169,22 +181,101 @@ public static long cardinalityOfIntersection(final BitVectorValue bv1, final Bit
             return ((DenseBitVectorCell)bv1).cardinalityOfIntersection((DenseBitVectorCell)bv2);
         } else if (bv1 instanceof SparseBitVectorCell && bv2 instanceof SparseBitVectorCell) {
             return ((SparseBitVectorCell)bv1).cardinalityOfIntersection((SparseBitVectorCell)bv2);
+        } else if (bv1 instanceof CompressedBitVectorCell && bv2 instanceof CompressedBitVectorCell) {
+            return ((CompressedBitVectorCell)bv1).cardinalityOfIntersection((CompressedBitVectorCell)bv2);
         }
 
-        // we have to go into the loop
-        long bv1Idx = bv1.nextSetBit(0);
+        // we have to go into the loop - iterate the ones of the sparse vector, if any (the operation is symmetric)
+        final BitVectorValue iterated =
+            bv2 instanceof SparseBitVectorCell || bv2 instanceof CompressedBitVectorCell ? bv2 : bv1;
+        final BitVectorValue other = iterated == bv1 ? bv2 : bv1;
+        final long otherLength = other.length();
+        long idx = iterated.nextSetBit(0);
 
         long toReturn = 0;
-        while (bv1Idx >= 0 && bv1Idx < bv2.length()) {
-            if (bv2.get(bv1Idx)) {
+        while (idx >= 0 && idx < otherLength) {
+            if (other.get(idx)) {
                 // both vectors have 1 at the index.
                 toReturn++;
             }
-            bv1Idx = bv1.nextSetBit(bv1Idx + 1);
+            idx = iterated.nextSetBit(idx + 1);
         }
         return toReturn;
     }
 
+    /**
+     * Computes the Tanimoto (Jaccard) similarity of the given vectors, i.e. the cardinality of the intersection
+     * divided by the cardinality of the union. Two vectors without any bit set are considered identical (similarity
+     * 1). The computation doesn't create any intermediate vectors and is fastest if both vectors are
+     * {@link DenseBitVectorCell}s or both are {@link SparseBitVectorCell}s.
+     *
+     * @param bv1 first vector
+     * @param bv2 second vector
+     * @return the similarity, a value in [0, 1]
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @since 3.8
+     */
+    public static double tanimotoSimilarity(final BitVectorValue bv1, final BitVectorValue bv2) {
+        final long intersection = cardinalityOfIntersection(bv1, bv2);
+        final long union = bv1.cardinality() + bv2.cardinality() - intersection;
+        return union == 0 ? 1.0 : intersection / (double)union;
+    }
+
+    /**
+     * Computes the Dice similarity of the given vectors, i.e. twice the cardinality of the intersection divided by the
+     * sum of the cardinalities. Two vectors without any bit set are considered identical (similarity 1). See
+     * {@link #tanimotoSimilarity(BitVectorValue, BitVectorValue)} for performance notes.
+     *
+     * @param bv1 first vector
+     * @param bv2 second vector
+     * @return the similarity, a value in [0, 1]
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @since 3.8
+     */
+    public static double diceSimilarity(final BitVectorValue bv1, final BitVectorValue bv2) {
+        final long intersection = cardinalityOfIntersection(bv1, bv2);
+        final long sum = bv1.cardinality() + bv2.cardinality();
+        return sum == 0 ? 1.0 : 2.0 * intersection / sum;
+    }
+
+    /**
+     * Computes the cosine similarity of the given vectors, i.e. the cardinality of the intersection divided by the
+     * geometric mean of the cardinalities. Two vectors without any bit set are considered identical (similarity 1), a
+     * vector without any bit set and a non-empty vector have similarity 0. See
+     * {@link #tanimotoSimilarity(BitVectorValue, BitVectorValue)} for performance notes.
+     *
+     * @param bv1 first vector
+     * @param bv2 second vector
+     * @return the similarity, a value in [0, 1]
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @since 3.8
+     */
+    public static double cosineSimilarity(final BitVectorValue bv1, final BitVectorValue bv2) {
+        final long intersection = cardinalityOfIntersection(bv1, bv2);
+        final long card1 = bv1.cardinality();
+        final long card2 = bv2.cardinality();
+        if (card1 == 0 || card2 == 0) {
+            return card1 == card2 ? 1.0 : 0.0;
+        }
+        return intersection / Math.sqrt((double)card1 * card2);
+    }
+
+    /**
+     * Computes the Hamming distance of the given vectors, i.e. the number of positions at which the bits differ (the
+     * cardinality of the XOR). Bits beyond the length of the shorter vector are considered to be cleared. See
+     * {@link #tanimotoSimilarity(BitVectorValue, BitVectorValue)} for performance notes.
+     *
+     * @param bv1 first vector
+     * @param bv2 second vector
+     * @return the number of differing bits
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @since 3.8
+     */
+    public static long hammingDistance(final BitVectorValue bv1, final BitVectorValue bv2) {
+        final long intersection = cardinalityOfIntersection(bv1, bv2);
+        return bv1.cardinality() + bv2.cardinality() - 2 * intersection;
+    }
+
     /**
      * Computes the cardinality of the relative complement of the given vectors, i.e. the number of ones contained in
      * bv1 but not in bv2.
@@ -203,6 +294,8 @@ public static long cardinalityOfRelativeComplement(final BitVectorValue bv1, fin
             return ((DenseBitVectorCell)bv1).cardinalityOfRelativeComplement((DenseBitVectorCell)bv2);
         } else if (bv1 instanceof SparseBitVectorCell && bv2 instanceof SparseBitVectorCell) {
             return ((SparseBitVectorCell)bv1).cardinalityOfRelativeComplement((SparseBitVectorCell)bv2);
+        } else if (bv1 instanceof CompressedBitVectorCell && bv2 instanceof CompressedBitVectorCell) {
+            return ((CompressedBitVectorCell)bv1).cardinalityOfRelativeComplement((CompressedBitVectorCell)bv2);
         }
 
         long bv1Idx = bv1.nextSetBit(0);
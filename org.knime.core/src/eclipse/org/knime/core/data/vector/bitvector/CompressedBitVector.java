@@ -0,0 +1,1339 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.vector.bitvector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Stores Zeros and Ones in a vector, i.e. with fixed positions. The vector has a fixed length. <br>
+ * The implementation splits the index space into chunks of 65536 bits and stores only the chunks that contain ones
+ * (&quot;roaring bitmap&quot; layout). Each chunk uses the most suitable of three containers: a sorted array of the
+ * (16 bit) indices of the ones for sparse chunks, a bitmap of 1024 longs for dense chunks, or a list of runs of
+ * consecutive ones. This makes it suitable for very long vectors with a medium density or clustered ones (e.g. from
+ * hashed features), for which {@link SparseBitVector} is slow to modify and {@link DenseBitVector} too large.<br>
+ * Run containers are only created by {@link #runOptimize()}; they are converted back into array or bitmap containers
+ * when modified.<br>
+ * The length of the vector is restricted to {@link Long#MAX_VALUE}. The implementation is not thread-safe.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public class CompressedBitVector implements BitVector {
+
+    /** Number of bits of a bit index that address a bit within a chunk. */
+    private static final int CHUNK_BITS = 16;
+
+    /** Number of bits in a chunk. */
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    /** Number of longs in a bitmap container. */
+    private static final int BITMAP_WORDS = CHUNK_SIZE >>> 6;
+
+    /** Maximum number of ones in an array container; more ones take more space than a bitmap container. */
+    private static final int MAX_ARRAY_CARDINALITY = 4096;
+
+    /** Type identifiers of the containers in the serialized form. */
+    private static final byte ARRAY_CONTAINER = 0;
+
+    private static final byte BITMAP_CONTAINER = 1;
+
+    private static final byte RUN_CONTAINER = 2;
+
+    private final long m_length;
+
+    // sorted chunk indices (bit index >>> CHUNK_BITS) of the non-empty chunks, only the first m_size are used
+    private long[] m_keys;
+
+    // the (never empty) containers of the chunks in m_keys
+    private Container[] m_containers;
+
+    private int m_size;
+
+    /**
+     * Creates a new vector of the specified length, with all bits cleared.
+     *
+     * @param length the length of the vector to create
+     */
+    public CompressedBitVector(final long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length of a BitVector can't be negative.");
+        }
+        m_length = length;
+        m_keys = new long[4];
+        m_containers = new Container[4];
+    }
+
+    /**
+     * Creates a new vector of the specified length, with the bits at the specified indices set.
+     *
+     * @param length the length of the vector to create
+     * @param oneIndices the indices of the bits to set. Building the vector is fastest if they are sorted.
+     * @throws ArrayIndexOutOfBoundsException if an index is negative or not smaller than the length
+     */
+    public CompressedBitVector(final long length, final long[] oneIndices) {
+        this(length);
+        for (long idx : oneIndices) {
+            set(idx);
+        }
+    }
+
+    /**
+     * Creates a new vector initialized by the specified one.
+     *
+     * @param clone the vector to copy
+     */
+    public CompressedBitVector(final CompressedBitVector clone) {
+        m_length = clone.m_length;
+        m_size = clone.m_size;
+        m_keys = Arrays.copyOf(clone.m_keys, Math.max(4, m_size));
+        m_containers = new Container[m_keys.length];
+        for (int i = 0; i < m_size; i++) {
+            m_containers[i] = clone.m_containers[i].copy();
+        }
+    }
+
+    /**
+     * Creates a new vector from the hex representation in the passed string. Only characters <code>'0' - '9'</code>,
+     * <code>'A' - 'F'</code> and <code>'a' - 'f'</code> are allowed. The character at string position
+     * <code>(length - 1)</code> represents the bits with index 0 to 3 in the vector. The character at position 0
+     * represents the bits with the highest indices. The length of the vector created is the length of the string times
+     * 4 (as each character represents four bits).
+     *
+     * @param hexString containing the hex value to initialize the vector with
+     * @throws IllegalArgumentException if <code>hexString</code> contains characters other then the hex characters
+     *             (i.e. <code>0 - 9, A - F, and a - f</code>)
+     */
+    public CompressedBitVector(final String hexString) {
+        this(hexString.length() * 4L);
+        long bitIdx = 0;
+        for (int c = hexString.length() - 1; c >= 0; c--) {
+            final int cVal = Character.digit(hexString.charAt(c), 16);
+            if (cVal < 0) {
+                throw new IllegalArgumentException("Invalid character in hex number ('" + hexString.charAt(c) + "')");
+            }
+            for (int b = 0; b < 4; b++) {
+                if ((cVal & (1 << b)) != 0) {
+                    set(bitIdx + b);
+                }
+            }
+            bitIdx += 4;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() {
+        return m_length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(final long bitIdx, final boolean value) {
+        if (value) {
+            set(bitIdx);
+        } else {
+            clear(bitIdx);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(final long bitIdx) {
+        checkIndex(bitIdx);
+        final long key = bitIdx >>> CHUNK_BITS;
+        final int low = (int)(bitIdx & (CHUNK_SIZE - 1));
+        final int pos = findKey(key);
+        if (pos >= 0) {
+            m_containers[pos] = m_containers[pos].add(low);
+        } else {
+            insertContainer(-(pos + 1), key, new ArrayContainer().add(low));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear(final long bitIdx) {
+        checkIndex(bitIdx);
+        final int pos = findKey(bitIdx >>> CHUNK_BITS);
+        if (pos >= 0) {
+            final Container c = m_containers[pos].remove((int)(bitIdx & (CHUNK_SIZE - 1)));
+            if (c.cardinality() == 0) {
+                removeContainer(pos);
+            } else {
+                m_containers[pos] = c;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean get(final long bitIdx) {
+        checkIndex(bitIdx);
+        final int pos = findKey(bitIdx >>> CHUNK_BITS);
+        return pos >= 0 && m_containers[pos].contains((int)(bitIdx & (CHUNK_SIZE - 1)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextSetBit(final long startIdx) {
+        if (startIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException("Starting index can't be negative");
+        }
+        if (startIdx >= m_length) {
+            return -1;
+        }
+        final long key = startIdx >>> CHUNK_BITS;
+        int pos = findKey(key);
+        if (pos >= 0) {
+            final int low = m_containers[pos].nextSetBit((int)(startIdx & (CHUNK_SIZE - 1)));
+            if (low >= 0) {
+                return (key << CHUNK_BITS) | low;
+            }
+            pos++;
+        } else {
+            pos = -(pos + 1);
+        }
+        if (pos >= m_size) {
+            return -1;
+        }
+        // containers are never empty
+        return (m_keys[pos] << CHUNK_BITS) | m_containers[pos].nextSetBit(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextClearBit(final long startIdx) {
+        if (startIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException("Starting index can't be negative");
+        }
+        long idx = startIdx;
+        while (idx < m_length) {
+            final long key = idx >>> CHUNK_BITS;
+            final int pos = findKey(key);
+            if (pos < 0) {
+                return idx;
+            }
+            final int low = m_containers[pos].nextClearBit((int)(idx & (CHUNK_SIZE - 1)));
+            if (low < CHUNK_SIZE) {
+                idx = (key << CHUNK_BITS) | low;
+                return idx < m_length ? idx : -1;
+            }
+            idx = (key + 1) << CHUNK_BITS;
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long cardinality() {
+        long result = 0;
+        for (int i = 0; i < m_size; i++) {
+            result += m_containers[i].cardinality();
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return m_size == 0;
+    }
+
+    /**
+     * Converts every chunk into the container type that uses the least memory, in particular into a list of runs if
+     * the ones are mostly consecutive. Should be called once the vector is no longer modified.
+     */
+    public void runOptimize() {
+        for (int i = 0; i < m_size; i++) {
+            m_containers[i] = m_containers[i].optimize();
+        }
+        if (m_keys.length > m_size + 4) {
+            m_keys = Arrays.copyOf(m_keys, m_size);
+            m_containers = Arrays.copyOf(m_containers, m_size);
+        }
+    }
+
+    /**
+     * Creates and returns a new bit vector whose bits are set at positions where both, this and the argument vector
+     * have their bits set. The length of the new vector is the maximum of the length of this and the argument.
+     *
+     * @param bv the vector to AND this one with
+     * @return a new instance containing the result of the AND operation
+     */
+    public CompressedBitVector and(final CompressedBitVector bv) {
+        final CompressedBitVector result = new CompressedBitVector(Math.max(m_length, bv.m_length));
+        int thisPos = 0;
+        int bvPos = 0;
+        while (thisPos < m_size && bvPos < bv.m_size) {
+            final long thisKey = m_keys[thisPos];
+            final long bvKey = bv.m_keys[bvPos];
+            if (thisKey == bvKey) {
+                final Container c = and(m_containers[thisPos], bv.m_containers[bvPos]);
+                if (c != null) {
+                    result.appendContainer(thisKey, c);
+                }
+                thisPos++;
+                bvPos++;
+            } else if (thisKey < bvKey) {
+                thisPos++;
+            } else {
+                bvPos++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates and returns a new bit vector whose bits are set at positions where at least one of the vectors (this or
+     * the argument vector) have a bit set. The length of the new vector is the maximum of the length of this and the
+     * argument.
+     *
+     * @param bv the vector to OR this one with
+     * @return a new instance containing the result of the OR operation
+     */
+    public CompressedBitVector or(final CompressedBitVector bv) {
+        return union(bv, false);
+    }
+
+    /**
+     * Creates and returns a new bit vector whose bits are set at positions where (exactly) one of the vectors (this or
+     * the argument vector) have a bit set. The length of the new vector is the maximum of the length of this and the
+     * argument.
+     *
+     * @param bv the vector to XOR this one with
+     * @return a new instance containing the result of the XOR operation
+     */
+    public CompressedBitVector xor(final CompressedBitVector bv) {
+        return union(bv, true);
+    }
+
+    private CompressedBitVector union(final CompressedBitVector bv, final boolean exclusive) {
+        final CompressedBitVector result = new CompressedBitVector(Math.max(m_length, bv.m_length));
+        int thisPos = 0;
+        int bvPos = 0;
+        while (thisPos < m_size || bvPos < bv.m_size) {
+            final long thisKey = thisPos < m_size ? m_keys[thisPos] : Long.MAX_VALUE;
+            final long bvKey = bvPos < bv.m_size ? bv.m_keys[bvPos] : Long.MAX_VALUE;
+            if (thisKey == bvKey) {
+                final Container a = m_containers[thisPos];
+                final Container b = bv.m_containers[bvPos];
+                final Container c = exclusive ? xor(a, b) : or(a, b);
+                if (c != null) {
+                    result.appendContainer(thisKey, c);
+                }
+                thisPos++;
+                bvPos++;
+            } else if (thisKey < bvKey) {
+                result.appendContainer(thisKey, m_containers[thisPos].copy());
+                thisPos++;
+            } else {
+                result.appendContainer(bvKey, bv.m_containers[bvPos].copy());
+                bvPos++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the cardinality of the intersection with the given bitVector.
+     *
+     * @see BitVectorUtil#cardinalityOfIntersection(BitVectorValue, BitVectorValue)
+     * @param bitVector the other operand for the AND operator
+     * @return the cardinality of the intersection
+     */
+    long cardinalityOfIntersection(final CompressedBitVector bitVector) {
+        long result = 0;
+        int thisPos = 0;
+        int bvPos = 0;
+        while (thisPos < m_size && bvPos < bitVector.m_size) {
+            final long thisKey = m_keys[thisPos];
+            final long bvKey = bitVector.m_keys[bvPos];
+            if (thisKey == bvKey) {
+                result += andCardinality(m_containers[thisPos], bitVector.m_containers[bvPos]);
+                thisPos++;
+                bvPos++;
+            } else if (thisKey < bvKey) {
+                thisPos++;
+            } else {
+                bvPos++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the cardinality of the complement relative to the given bitVector.
+     *
+     * @see BitVectorUtil#cardinalityOfRelativeComplement(BitVectorValue, BitVectorValue)
+     * @param bitVector the other operand
+     * @return the number of ones in this vector that are not set in the argument
+     */
+    long cardinalityOfRelativeComplement(final CompressedBitVector bitVector) {
+        return cardinality() - cardinalityOfIntersection(bitVector);
+    }
+
+    /**
+     * Returns the indices of all '1's in the vector, sorted (lowest index first). The length of the returned array is
+     * the cardinality of the vector.
+     *
+     * @return the indices of the bits set in this vector
+     * @throws IllegalStateException if more than {@link Integer#MAX_VALUE} bits are set
+     */
+    public long[] getAllOneIndices() {
+        final long cardinality = cardinality();
+        if (cardinality > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many bits set (" + cardinality + ") to return them in an array");
+        }
+        final long[] result = new long[(int)cardinality];
+        int i = 0;
+        for (long idx = nextSetBit(0); idx >= 0; idx = nextSetBit(idx + 1)) {
+            result[i++] = idx;
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        // computed from the runs of ones so that it doesn't depend on the container types
+        long hash = m_length;
+        for (int i = 0; i < m_size; i++) {
+            final Container c = m_containers[i];
+            final long offset = m_keys[i] << CHUNK_BITS;
+            for (int start = c.nextSetBit(0); start >= 0;) {
+                final int end = c.nextClearBit(start);
+                hash = hash * 524287 + offset + start;
+                hash = hash * 524287 + offset + end;
+                start = end < CHUNK_SIZE ? c.nextSetBit(end) : -1;
+            }
+        }
+        return (int)(hash ^ (hash >> 32));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CompressedBitVector)) {
+            return false;
+        }
+        final CompressedBitVector other = (CompressedBitVector)obj;
+        if (other.m_length != m_length || other.m_size != m_size) {
+            return false;
+        }
+        for (int i = 0; i < m_size; i++) {
+            if (m_keys[i] != other.m_keys[i] || !m_containers[i].contentEquals(other.m_containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a string containing (comma separated) indices of the bits set in this vector and the total number of
+     * bits. The number of bit indices added to the string is limited to {@link BitVectorValue#MAX_DISPLAY_BITS}. If the
+     * output is truncated, the string ends on &quot;... }&quot;
+     *
+     * @return a string containing (comma separated) indices of the bits set in this vector.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder("{length=").append(m_length).append(", set bits=");
+        int count = 0;
+        long idx = nextSetBit(0);
+        while (idx >= 0 && count < BitVectorValue.MAX_DISPLAY_BITS) {
+            result.append(count > 0 ? ", " : "").append(idx);
+            count++;
+            idx = nextSetBit(idx + 1);
+        }
+        if (idx >= 0) {
+            result.append(", ... ");
+        }
+        result.append('}');
+        return result.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toHexString() {
+        // the number of bits we store in the string
+        final int max = (int)Math.min(m_length, BitVectorValue.MAX_DISPLAY_BITS);
+        // 4 bits are combined to one character, the highest bits come first
+        final char[] nibbles = new char[(max + 3) >> 2];
+        for (long idx = nextSetBit(0); idx >= 0 && idx < nibbles.length * 4L; idx = nextSetBit(idx + 1)) {
+            nibbles[nibbles.length - 1 - (int)(idx >> 2)] |= 1 << (idx & 3);
+        }
+        for (int i = 0; i < nibbles.length; i++) {
+            nibbles[i] = Character.toUpperCase(Character.forDigit(nibbles[i], 16));
+        }
+        return max < m_length ? "..." + new String(nibbles) : new String(nibbles);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toBinaryString() {
+        // the number of bits we store in the string
+        final int max = (int)Math.min(m_length, BitVectorValue.MAX_DISPLAY_BITS);
+        final char[] bits = new char[max];
+        Arrays.fill(bits, '0');
+        for (long idx = nextSetBit(0); idx >= 0 && idx < max; idx = nextSetBit(idx + 1)) {
+            bits[max - 1 - (int)idx] = '1';
+        }
+        return max < m_length ? new String(bits) + "..." : new String(bits);
+    }
+
+    /**
+     * Writes the vector in a compact form: the length, the number of containers and for each container its chunk
+     * index, type and content.
+     *
+     * @param out to write to
+     * @throws IOException if writing fails
+     */
+    void writeTo(final DataOutput out) throws IOException {
+        out.writeLong(m_length);
+        out.writeInt(m_size);
+        for (int i = 0; i < m_size; i++) {
+            out.writeLong(m_keys[i]);
+            m_containers[i].writeTo(out);
+        }
+    }
+
+    /**
+     * Reads a vector written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in to read from
+     * @return the vector read
+     * @throws IOException if reading fails or the content is corrupt
+     */
+    static CompressedBitVector readFrom(final DataInput in) throws IOException {
+        final CompressedBitVector result = new CompressedBitVector(in.readLong());
+        final int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid number of containers in compressed bit vector: " + size);
+        }
+        result.m_keys = new long[size];
+        result.m_containers = new Container[size];
+        for (int i = 0; i < size; i++) {
+            final long key = in.readLong();
+            if (i > 0 && key <= result.m_keys[i - 1]) {
+                throw new IOException("Chunks of compressed bit vector not sorted");
+            }
+            result.m_keys[i] = key;
+            result.m_containers[i] = readContainer(in);
+            result.m_size++;
+        }
+        return result;
+    }
+
+    private void checkIndex(final long bitIdx) {
+        if (bitIdx >= m_length) {
+            throw new ArrayIndexOutOfBoundsException(
+                "Index ('" + bitIdx + "') too large for vector of length " + m_length);
+        }
+        if (bitIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index of the bit can't be negative");
+        }
+    }
+
+    /** Position of the key or -(insertion point + 1), like {@link Arrays#binarySearch(long[], long)}. */
+    private int findKey(final long key) {
+        // bits are mostly set in ascending order - check the last chunk first
+        if (m_size > 0 && m_keys[m_size - 1] <= key) {
+            return m_keys[m_size - 1] == key ? m_size - 1 : -(m_size + 1);
+        }
+        return Arrays.binarySearch(m_keys, 0, m_size, key);
+    }
+
+    private void insertContainer(final int pos, final long key, final Container c) {
+        if (m_size == m_keys.length) {
+            final int newCapacity = Math.max(4, m_size + (m_size >> 1));
+            m_keys = Arrays.copyOf(m_keys, newCapacity);
+            m_containers = Arrays.copyOf(m_containers, newCapacity);
+        }
+        System.arraycopy(m_keys, pos, m_keys, pos + 1, m_size - pos);
+        System.arraycopy(m_containers, pos, m_containers, pos + 1, m_size - pos);
+        m_keys[pos] = key;
+        m_containers[pos] = c;
+        m_size++;
+    }
+
+    private void appendContainer(final long key, final Container c) {
+        insertContainer(m_size, key, c);
+    }
+
+    private void removeContainer(final int pos) {
+        System.arraycopy(m_keys, pos + 1, m_keys, pos, m_size - pos - 1);
+        System.arraycopy(m_containers, pos + 1, m_containers, pos, m_size - pos - 1);
+        m_size--;
+        m_containers[m_size] = null;
+    }
+
+    /* ------------------------------------------------------------------------------------------------------------ */
+    /* Operations on containers                                                                                     */
+    /* ------------------------------------------------------------------------------------------------------------ */
+
+    /** @return the intersection or null if empty */
+    private static Container and(final Container a, final Container b) {
+        if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+            final ArrayContainer array = (ArrayContainer)(a instanceof ArrayContainer ? a : b);
+            final Container other = array == a ? b : a;
+            final char[] values = new char[array.m_cardinality];
+            int card = 0;
+            for (int i = 0; i < array.m_cardinality; i++) {
+                if (other.contains(array.m_values[i])) {
+                    values[card++] = array.m_values[i];
+                }
+            }
+            return card == 0 ? null : new ArrayContainer(values, card);
+        }
+        final long[] words = a.toWords();
+        if (b instanceof BitmapContainer) {
+            final long[] bWords = ((BitmapContainer)b).m_words;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= bWords[i];
+            }
+        } else {
+            final long[] bWords = b.toWords();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= bWords[i];
+            }
+        }
+        return fromWords(words);
+    }
+
+    /** @return the union, never null */
+    private static Container or(final Container a, final Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer
+            && a.cardinality() + b.cardinality() <= MAX_ARRAY_CARDINALITY) {
+            return mergeArrays((ArrayContainer)a, (ArrayContainer)b, false);
+        }
+        final long[] words = a.toWords();
+        b.orInto(words);
+        return fromWords(words);
+    }
+
+    /** @return the symmetric difference or null if empty */
+    private static Container xor(final Container a, final Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer
+            && a.cardinality() + b.cardinality() <= MAX_ARRAY_CARDINALITY) {
+            final Container c = mergeArrays((ArrayContainer)a, (ArrayContainer)b, true);
+            return c.cardinality() == 0 ? null : c;
+        }
+        final long[] words = a.toWords();
+        final long[] bWords = b.toWords();
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            words[i] ^= bWords[i];
+        }
+        return fromWords(words);
+    }
+
+    private static ArrayContainer mergeArrays(final ArrayContainer a, final ArrayContainer b, final boolean exclusive) {
+        final char[] values = new char[a.m_cardinality + b.m_cardinality];
+        int card = 0;
+        int aPos = 0;
+        int bPos = 0;
+        while (aPos < a.m_cardinality && bPos < b.m_cardinality) {
+            final char aVal = a.m_values[aPos];
+            final char bVal = b.m_values[bPos];
+            if (aVal == bVal) {
+                if (!exclusive) {
+                    values[card++] = aVal;
+                }
+                aPos++;
+                bPos++;
+            } else if (aVal < bVal) {
+                values[card++] = aVal;
+                aPos++;
+            } else {
+                values[card++] = bVal;
+                bPos++;
+            }
+        }
+        System.arraycopy(a.m_values, aPos, values, card, a.m_cardinality - aPos);
+        card += a.m_cardinality - aPos;
+        System.arraycopy(b.m_values, bPos, values, card, b.m_cardinality - bPos);
+        card += b.m_cardinality - bPos;
+        return new ArrayContainer(values, card);
+    }
+
+    private static long andCardinality(final Container a, final Container b) {
+        if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+            final ArrayContainer array = (ArrayContainer)(a instanceof ArrayContainer ? a : b);
+            final Container other = array == a ? b : a;
+            int result = 0;
+            for (int i = 0; i < array.m_cardinality; i++) {
+                if (other.contains(array.m_values[i])) {
+                    result++;
+                }
+            }
+            return result;
+        }
+        if (a instanceof RunContainer || b instanceof RunContainer) {
+            final RunContainer runs = (RunContainer)(a instanceof RunContainer ? a : b);
+            final Container other = runs == a ? b : a;
+            int result = 0;
+            for (int r = 0; r < runs.m_numRuns; r++) {
+                result += other.cardinalityInRange(runs.start(r), runs.end(r));
+            }
+            return result;
+        }
+        final long[] aWords = ((BitmapContainer)a).m_words;
+        final long[] bWords = ((BitmapContainer)b).m_words;
+        int result = 0;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            result += Long.bitCount(aWords[i] & bWords[i]);
+        }
+        return result;
+    }
+
+    /** @return the smallest of array and bitmap container for the bits, null if no bit is set */
+    private static Container fromWords(final long[] words) {
+        int card = 0;
+        for (long w : words) {
+            card += Long.bitCount(w);
+        }
+        if (card == 0) {
+            return null;
+        }
+        final BitmapContainer bitmap = new BitmapContainer(words, card);
+        return card <= MAX_ARRAY_CARDINALITY ? bitmap.toArrayContainer() : bitmap;
+    }
+
+    private static Container readContainer(final DataInput in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case ARRAY_CONTAINER: {
+                final int card = in.readUnsignedShort() + 1;
+                final char[] values = new char[card];
+                for (int i = 0; i < card; i++) {
+                    values[i] = in.readChar();
+                }
+                return new ArrayContainer(values, card);
+            }
+            case BITMAP_CONTAINER: {
+                final long[] words = new long[BITMAP_WORDS];
+                int card = 0;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    words[i] = in.readLong();
+                    card += Long.bitCount(words[i]);
+                }
+                return new BitmapContainer(words, card);
+            }
+            case RUN_CONTAINER: {
+                final int numRuns = in.readUnsignedShort() + 1;
+                final char[] runs = new char[2 * numRuns];
+                for (int i = 0; i < runs.length; i++) {
+                    runs[i] = in.readChar();
+                }
+                return new RunContainer(runs, numRuns);
+            }
+            default:
+                throw new IOException("Unknown container type in compressed bit vector: " + type);
+        }
+    }
+
+    /** Sets the bits from <code>start</code> (inclusive) to <code>end</code> (exclusive). */
+    private static void setRange(final long[] words, final int start, final int end) {
+        if (start >= end) {
+            return;
+        }
+        final int firstWord = start >>> 6;
+        final int lastWord = (end - 1) >>> 6;
+        final long firstMask = -1L << start;
+        final long lastMask = -1L >>> -end;
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            words[i] = -1L;
+        }
+        words[lastWord] |= lastMask;
+    }
+
+    /**
+     * The bits of one chunk, addressed by their index within the chunk (0 to 65535). Modifications return the
+     * container to use from then on, which is a different one if the type had to change.
+     */
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(int idx);
+
+        abstract Container add(int idx);
+
+        abstract Container remove(int idx);
+
+        /** @return the next set bit on or after the index, -1 if there is none */
+        abstract int nextSetBit(int idx);
+
+        /** @return the next cleared bit on or after the index, {@link CompressedBitVector#CHUNK_SIZE} if none */
+        abstract int nextClearBit(int idx);
+
+        /** @return number of ones from start (inclusive) to end (exclusive) */
+        abstract int cardinalityInRange(int start, int end);
+
+        abstract int numberOfRuns();
+
+        /** Sets the bits of this container in the bitmap words. */
+        abstract void orInto(long[] words);
+
+        abstract Container copy();
+
+        abstract void writeTo(DataOutput out) throws IOException;
+
+        /** @return a new bitmap with the bits of this container */
+        long[] toWords() {
+            final long[] words = new long[BITMAP_WORDS];
+            orInto(words);
+            return words;
+        }
+
+        ArrayContainer toArrayContainer() {
+            final char[] values = new char[cardinality()];
+            int i = 0;
+            for (int idx = nextSetBit(0); idx >= 0; idx = nextSetBit(idx + 1)) {
+                values[i++] = (char)idx;
+            }
+            return new ArrayContainer(values, values.length);
+        }
+
+        BitmapContainer toBitmapContainer() {
+            return new BitmapContainer(toWords(), cardinality());
+        }
+
+        RunContainer toRunContainer() {
+            final char[] runs = new char[2 * numberOfRuns()];
+            int numRuns = 0;
+            for (int start = nextSetBit(0); start >= 0;) {
+                final int end = nextClearBit(start);
+                runs[2 * numRuns] = (char)start;
+                runs[2 * numRuns + 1] = (char)(end - start - 1);
+                numRuns++;
+                start = end < CHUNK_SIZE ? nextSetBit(end) : -1;
+            }
+            return new RunContainer(runs, numRuns);
+        }
+
+        /** @return the container type that needs the least memory (and serialized bytes) for the bits */
+        Container optimize() {
+            final int card = cardinality();
+            final int arraySize = card <= MAX_ARRAY_CARDINALITY ? 2 * card : Integer.MAX_VALUE;
+            final int bitmapSize = 8 * BITMAP_WORDS;
+            final int runSize = 4 * numberOfRuns();
+            if (runSize < arraySize && runSize < bitmapSize) {
+                return this instanceof RunContainer ? this : toRunContainer();
+            } else if (arraySize <= bitmapSize) {
+                return this instanceof ArrayContainer ? this : toArrayContainer();
+            } else {
+                return this instanceof BitmapContainer ? this : toBitmapContainer();
+            }
+        }
+
+        /** @return whether both containers have the same bits set, independent of their type */
+        boolean contentEquals(final Container other) {
+            if (cardinality() != other.cardinality()) {
+                return false;
+            }
+            // same number of ones - equal if all runs of this are contained in the other
+            for (int start = nextSetBit(0); start >= 0;) {
+                final int end = nextClearBit(start);
+                if (other.cardinalityInRange(start, end) != end - start) {
+                    return false;
+                }
+                start = end < CHUNK_SIZE ? nextSetBit(end) : -1;
+            }
+            return true;
+        }
+    }
+
+    /** Stores the sorted indices of the ones, used for up to {@link CompressedBitVector#MAX_ARRAY_CARDINALITY}. */
+    private static final class ArrayContainer extends Container {
+
+        private char[] m_values;
+
+        private int m_cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(final char[] values, final int cardinality) {
+            m_values = values;
+            m_cardinality = cardinality;
+        }
+
+        /** @return the position of the first value not smaller than the index */
+        private int lowerBound(final int idx) {
+            int low = 0;
+            int high = m_cardinality;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (m_values[mid] < idx) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        int cardinality() {
+            return m_cardinality;
+        }
+
+        @Override
+        boolean contains(final int idx) {
+            final int pos = lowerBound(idx);
+            return pos < m_cardinality && m_values[pos] == idx;
+        }
+
+        @Override
+        Container add(final int idx) {
+            // appending is the common case
+            final int pos = m_cardinality > 0 && m_values[m_cardinality - 1] < idx ? m_cardinality : lowerBound(idx);
+            if (pos < m_cardinality && m_values[pos] == idx) {
+                return this;
+            }
+            if (m_cardinality == MAX_ARRAY_CARDINALITY) {
+                return toBitmapContainer().add(idx);
+            }
+            if (m_cardinality == m_values.length) {
+                m_values = Arrays.copyOf(m_values, Math.min(MAX_ARRAY_CARDINALITY, Math.max(4, 2 * m_cardinality)));
+            }
+            System.arraycopy(m_values, pos, m_values, pos + 1, m_cardinality - pos);
+            m_values[pos] = (char)idx;
+            m_cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(final int idx) {
+            final int pos = lowerBound(idx);
+            if (pos < m_cardinality && m_values[pos] == idx) {
+                System.arraycopy(m_values, pos + 1, m_values, pos, m_cardinality - pos - 1);
+                m_cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        int nextSetBit(final int idx) {
+            final int pos = lowerBound(idx);
+            return pos < m_cardinality ? m_values[pos] : -1;
+        }
+
+        @Override
+        int nextClearBit(final int idx) {
+            int pos = lowerBound(idx);
+            int result = idx;
+            while (pos < m_cardinality && m_values[pos] == result) {
+                pos++;
+                result++;
+            }
+            return result;
+        }
+
+        @Override
+        int cardinalityInRange(final int start, final int end) {
+            return lowerBound(end) - lowerBound(start);
+        }
+
+        @Override
+        int numberOfRuns() {
+            int result = 0;
+            for (int i = 0; i < m_cardinality; i++) {
+                if (i == 0 || m_values[i] != m_values[i - 1] + 1) {
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        void orInto(final long[] words) {
+            for (int i = 0; i < m_cardinality; i++) {
+                words[m_values[i] >>> 6] |= 1L << m_values[i];
+            }
+        }
+
+        @Override
+        ArrayContainer toArrayContainer() {
+            return new ArrayContainer(Arrays.copyOf(m_values, m_cardinality), m_cardinality);
+        }
+
+        @Override
+        Container copy() {
+            return toArrayContainer();
+        }
+
+        @Override
+        boolean contentEquals(final Container other) {
+            if (other instanceof ArrayContainer) {
+                final ArrayContainer o = (ArrayContainer)other;
+                if (o.m_cardinality != m_cardinality) {
+                    return false;
+                }
+                for (int i = 0; i < m_cardinality; i++) {
+                    if (m_values[i] != o.m_values[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return super.contentEquals(other);
+        }
+
+        @Override
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeByte(ARRAY_CONTAINER);
+            out.writeShort(m_cardinality - 1);
+            for (int i = 0; i < m_cardinality; i++) {
+                out.writeChar(m_values[i]);
+            }
+        }
+    }
+
+    /** Stores all bits of the chunk in 1024 longs. */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] m_words;
+
+        private int m_cardinality;
+
+        BitmapContainer(final long[] words, final int cardinality) {
+            m_words = words;
+            m_cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return m_cardinality;
+        }
+
+        @Override
+        boolean contains(final int idx) {
+            return (m_words[idx >>> 6] & (1L << idx)) != 0;
+        }
+
+        @Override
+        Container add(final int idx) {
+            final long before = m_words[idx >>> 6];
+            final long after = before | (1L << idx);
+            if (before != after) {
+                m_words[idx >>> 6] = after;
+                m_cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(final int idx) {
+            final long before = m_words[idx >>> 6];
+            final long after = before & ~(1L << idx);
+            if (before != after) {
+                m_words[idx >>> 6] = after;
+                m_cardinality--;
+                if (m_cardinality <= MAX_ARRAY_CARDINALITY) {
+                    return toArrayContainer();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        int nextSetBit(final int idx) {
+            if (idx >= CHUNK_SIZE) {
+                return -1;
+            }
+            int wordIdx = idx >>> 6;
+            long word = m_words[wordIdx] & (-1L << idx);
+            while (word == 0) {
+                if (++wordIdx == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = m_words[wordIdx];
+            }
+            return (wordIdx << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        int nextClearBit(final int idx) {
+            if (idx >= CHUNK_SIZE) {
+                return CHUNK_SIZE;
+            }
+            int wordIdx = idx >>> 6;
+            long word = ~m_words[wordIdx] & (-1L << idx);
+            while (word == 0) {
+                if (++wordIdx == BITMAP_WORDS) {
+                    return CHUNK_SIZE;
+                }
+                word = ~m_words[wordIdx];
+            }
+            return (wordIdx << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        int cardinalityInRange(final int start, final int end) {
+            if (start >= end) {
+                return 0;
+            }
+            final int firstWord = start >>> 6;
+            final int lastWord = (end - 1) >>> 6;
+            final long firstMask = -1L << start;
+            final long lastMask = -1L >>> -end;
+            if (firstWord == lastWord) {
+                return Long.bitCount(m_words[firstWord] & firstMask & lastMask);
+            }
+            int result = Long.bitCount(m_words[firstWord] & firstMask);
+            for (int i = firstWord + 1; i < lastWord; i++) {
+                result += Long.bitCount(m_words[i]);
+            }
+            return result + Long.bitCount(m_words[lastWord] & lastMask);
+        }
+
+        @Override
+        int numberOfRuns() {
+            int result = 0;
+            long previousHighBit = 0;
+            for (long word : m_words) {
+                // a run starts at every set bit whose lower neighbor is cleared
+                result += Long.bitCount(word & ~((word << 1) | previousHighBit));
+                previousHighBit = word >>> 63;
+            }
+            return result;
+        }
+
+        @Override
+        void orInto(final long[] words) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] |= m_words[i];
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            return m_words.clone();
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(m_words.clone(), m_cardinality);
+        }
+
+        @Override
+        boolean contentEquals(final Container other) {
+            if (other instanceof BitmapContainer) {
+                return Arrays.equals(m_words, ((BitmapContainer)other).m_words);
+            }
+            return super.contentEquals(other);
+        }
+
+        @Override
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeByte(BITMAP_CONTAINER);
+            for (long word : m_words) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    /**
+     * Stores the runs of consecutive ones as pairs of start index and length minus one. Runs are sorted and neither
+     * overlap nor touch each other. The container is immutable - modifications convert it.
+     */
+    private static final class RunContainer extends Container {
+
+        private final char[] m_runs;
+
+        private final int m_numRuns;
+
+        private final int m_cardinality;
+
+        RunContainer(final char[] runs, final int numRuns) {
+            m_runs = runs;
+            m_numRuns = numRuns;
+            int card = 0;
+            for (int r = 0; r < numRuns; r++) {
+                card += runs[2 * r + 1] + 1;
+            }
+            m_cardinality = card;
+        }
+
+        int start(final int run) {
+            return m_runs[2 * run];
+        }
+
+        /** @return the end of the run (exclusive) */
+        int end(final int run) {
+            return m_runs[2 * run] + m_runs[2 * run + 1] + 1;
+        }
+
+        /** @return the last run starting on or before the index, -1 if there is none */
+        private int findRun(final int idx) {
+            int low = 0;
+            int high = m_numRuns - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (start(mid) <= idx) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        @Override
+        int cardinality() {
+            return m_cardinality;
+        }
+
+        @Override
+        boolean contains(final int idx) {
+            final int run = findRun(idx);
+            return run >= 0 && idx < end(run);
+        }
+
+        @Override
+        Container add(final int idx) {
+            return contains(idx) ? this : toMutableContainer().add(idx);
+        }
+
+        @Override
+        Container remove(final int idx) {
+            return contains(idx) ? toMutableContainer().remove(idx) : this;
+        }
+
+        private Container toMutableContainer() {
+            return m_cardinality <= MAX_ARRAY_CARDINALITY ? toArrayContainer() : toBitmapContainer();
+        }
+
+        @Override
+        int nextSetBit(final int idx) {
+            final int run = findRun(idx);
+            if (run >= 0 && idx < end(run)) {
+                return idx;
+            }
+            return run + 1 < m_numRuns ? start(run + 1) : -1;
+        }
+
+        @Override
+        int nextClearBit(final int idx) {
+            final int run = findRun(idx);
+            return run >= 0 && idx < end(run) ? end(run) : idx;
+        }
+
+        @Override
+        int cardinalityInRange(final int start, final int end) {
+            int result = 0;
+            for (int run = Math.max(0, findRun(start)); run < m_numRuns && start(run) < end; run++) {
+                result += Math.max(0, Math.min(end, end(run)) - Math.max(start, start(run)));
+            }
+            return result;
+        }
+
+        @Override
+        int numberOfRuns() {
+            return m_numRuns;
+        }
+
+        @Override
+        void orInto(final long[] words) {
+            for (int run = 0; run < m_numRuns; run++) {
+                setRange(words, start(run), end(run));
+            }
+        }
+
+        @Override
+        Container copy() {
+            // immutable
+            return this;
+        }
+
+        @Override
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeByte(RUN_CONTAINER);
+            out.writeShort(m_numRuns - 1);
+            for (int i = 0; i < 2 * m_numRuns; i++) {
+                out.writeChar(m_runs[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.data.vector.bitvector;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellFactory.FromComplexString;
+import org.knime.core.data.DataCellFactory.FromSimpleString;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValue;
+
+/**
+ * Stores Zeros and Ones in a vector, i.e. with fixed positions. The vector has a fixed length. <br>
+ * Implementation stores the bits in a {@link CompressedBitVector}, i.e. in one container per chunk of 65536 bits,
+ * which is either a sorted array of indices, a bitmap or a list of runs of ones - whichever is smallest. It is best
+ * suited for very long vectors with a medium density or clustered ones, e.g. from hashed features. The length of the
+ * vector is restricted to {@link Long#MAX_VALUE}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public class CompressedBitVectorCell extends DataCell implements BitVectorValue {
+    /**
+     * Convenience access member for <code>DataType.getType(CompressedBitVectorCell.class)</code>.
+     *
+     * @see DataType#getType(Class)
+     */
+    public static final DataType TYPE = DataType.getType(CompressedBitVectorCell.class);
+
+    private final CompressedBitVector m_bitVector;
+
+    /**
+     * Use the {@link CompressedBitVectorCellFactory} to create instances of this cell.
+     *
+     * @param bitVector the bit vector to store in this cell.
+     */
+    CompressedBitVectorCell(final CompressedBitVector bitVector) {
+        this(new CompressedBitVector(bitVector), true);
+    }
+
+    /**
+     * @param bitVector the bit vector to store in this cell (not copied)
+     * @param optimize whether to convert the containers into the smallest type, i.e. unless the vector was read from
+     *            a serialized cell
+     */
+    private CompressedBitVectorCell(final CompressedBitVector bitVector, final boolean optimize) {
+        m_bitVector = bitVector;
+        if (optimize) {
+            // the cell's vector is never modified - use the smallest containers
+            m_bitVector.runOptimize();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean equalsDataCell(final DataCell dc) {
+        return ((CompressedBitVectorCell)dc).m_bitVector.equals(m_bitVector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean equalContent(final DataValue otherValue) {
+        return BitVectorValue.equalContent(this, (BitVectorValue) otherValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return m_bitVector.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return m_bitVector.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toHexString() {
+        return m_bitVector.toHexString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toBinaryString() {
+        return m_bitVector.toBinaryString();
+    }
+
+    /**
+     * Returns a clone of the internal compressed bit vector.
+     *
+     * @return a copy of the internal compressed bit vector.
+     */
+    public CompressedBitVector getBitVectorCopy() {
+        return new CompressedBitVector(m_bitVector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long cardinality() {
+        return m_bitVector.cardinality();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean get(final long index) {
+        return m_bitVector.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return m_bitVector.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() {
+        return m_bitVector.length();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextClearBit(final long startIdx) {
+        return m_bitVector.nextClearBit(startIdx);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextSetBit(final long startIdx) {
+        return m_bitVector.nextSetBit(startIdx);
+    }
+
+    /**
+     * @see BitVectorUtil#cardinalityOfIntersection(BitVectorValue, BitVectorValue)
+     * @param bitVectorCell the other cell containing the operand
+     * @return the cardinality of intersection
+     */
+    long cardinalityOfIntersection(final CompressedBitVectorCell bitVectorCell) {
+        return m_bitVector.cardinalityOfIntersection(bitVectorCell.m_bitVector);
+    }
+
+    /**
+     * @see BitVectorUtil#cardinalityOfRelativeComplement(BitVectorValue, BitVectorValue)
+     * @param bitVectorCell the other cell containing the operand
+     * @return the cardinality of the relative complement
+     */
+    long cardinalityOfRelativeComplement(final CompressedBitVectorCell bitVectorCell) {
+        return m_bitVector.cardinalityOfRelativeComplement(bitVectorCell.m_bitVector);
+    }
+
+    /**
+     * @return the vector of this cell, not copied and not to be modified
+     */
+    CompressedBitVector getBitVector() {
+        return m_bitVector;
+    }
+
+    /**
+     * Factory for {@link CompressedBitVectorCell}s.
+     */
+    public static final class Factory implements FromSimpleString, FromComplexString {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public DataCell createCell(final String input) {
+            BigInteger big = new BigInteger(input, 2);
+            return new CompressedBitVectorCell(new CompressedBitVector(big.toString(16)));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public DataType getDataType() {
+            return CompressedBitVectorCell.TYPE;
+        }
+    }
+
+    /**
+     * Factory for (de-)serializing a CompressedBitVectorCell. Each chunk is written in the form of its container, i.e.
+     * as 2 bytes per set bit, 8 KB per bitmap or 4 bytes per run of ones.
+     *
+     * @noreference This class is not intended to be referenced by clients.
+     */
+    public static final class CompressedBitVectorSerializer implements DataCellSerializer<CompressedBitVectorCell> {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void serialize(final CompressedBitVectorCell cell, final DataCellDataOutput out) throws IOException {
+            cell.m_bitVector.writeTo(out);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public CompressedBitVectorCell deserialize(final DataCellDataInput input) throws IOException {
+            return new CompressedBitVectorCell(CompressedBitVector.readFrom(input), false);
+        }
+    }
+}
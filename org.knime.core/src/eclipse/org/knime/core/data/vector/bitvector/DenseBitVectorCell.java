@@ -91,6 +91,10 @@ public static final DataCellSerializer<DenseBitVectorCell> getCellSerializer() {
 
     private final DenseBitVector m_bitVector;
 
+    /** Cardinality of the (immutable) vector plus one, computed lazily on first access as it's repeatedly needed in
+     * similarity computations (0 if not yet computed). Not serialized, it's recomputed when needed. */
+    private transient volatile long m_cardinalityPlusOne;
+
     /**
      * Use the {@link DenseBitVectorCellFactory} to create instances of this cell.
      *
@@ -162,7 +166,12 @@ public DenseBitVector getBitVectorCopy() {
      */
     @Override
     public long cardinality() {
-        return m_bitVector.cardinality();
+        long cardinalityPlusOne = m_cardinalityPlusOne;
+        if (cardinalityPlusOne == 0) {
+            cardinalityPlusOne = m_bitVector.cardinality() + 1;
+            m_cardinalityPlusOne = cardinalityPlusOne;
+        }
+        return cardinalityPlusOne - 1;
     }
 
     /**
@@ -47,6 +47,11 @@
  */
 package org.knime.core.data.vector.bytevector;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
 import javax.swing.Icon;
 
 import org.knime.core.data.DataValue;
@@ -136,6 +141,85 @@ public interface ByteVectorValue extends DataValue {
      */
     long nextCountIndex(final long startIdx);
 
+    /**
+     * Copies counts of this vector into an int array, each value in [0-255]. Implementations backed by an array
+     * override this method with a bulk copy, the default implementation only visits the non-zero counts.
+     *
+     * @param srcIndex the index of the first count to copy
+     * @param dest the array to copy into
+     * @param destIndex the position of the first count in <code>dest</code>
+     * @param length the number of counts to copy
+     * @throws IndexOutOfBoundsException if the source or destination range is invalid
+     * @since 3.8
+     */
+    default void copyTo(final long srcIndex, final int[] dest, final int destIndex, final int length) {
+        if (srcIndex < 0 || destIndex < 0 || length < 0 || srcIndex + length > length()
+            || destIndex + length > dest.length) {
+            throw new IndexOutOfBoundsException("Cannot copy " + length + " counts from index " + srcIndex
+                + " of a vector of length " + length() + " to index " + destIndex + " of an array of length "
+                + dest.length);
+        }
+        Arrays.fill(dest, destIndex, destIndex + length, 0);
+        final long srcEnd = srcIndex + length;
+        for (long i = nextCountIndex(srcIndex); i >= 0 && i < srcEnd; i = nextCountIndex(i + 1)) {
+            dest[destIndex + (int)(i - srcIndex)] = get(i);
+        }
+    }
+
+    /**
+     * Copies counts of this vector into a byte array. Counts larger than 127 appear as negative bytes; use
+     * <code>b &amp; 0xFF</code> to get the count.
+     *
+     * @param srcIndex the index of the first count to copy
+     * @param dest the array to copy into
+     * @param destIndex the position of the first count in <code>dest</code>
+     * @param length the number of counts to copy
+     * @throws IndexOutOfBoundsException if the source or destination range is invalid
+     * @since 3.8
+     */
+    default void copyTo(final long srcIndex, final byte[] dest, final int destIndex, final int length) {
+        if (srcIndex < 0 || destIndex < 0 || length < 0 || srcIndex + length > length()
+            || destIndex + length > dest.length) {
+            throw new IndexOutOfBoundsException("Cannot copy " + length + " counts from index " + srcIndex
+                + " of a vector of length " + length() + " to index " + destIndex + " of an array of length "
+                + dest.length);
+        }
+        Arrays.fill(dest, destIndex, destIndex + length, (byte)0);
+        final long srcEnd = srcIndex + length;
+        for (long i = nextCountIndex(srcIndex); i >= 0 && i < srcEnd; i = nextCountIndex(i + 1)) {
+            dest[destIndex + (int)(i - srcIndex)] = (byte)get(i);
+        }
+    }
+
+    /**
+     * Returns all counts of this vector (values in [0-255]) as a stream.
+     *
+     * @return a new sequential stream of {@link #length()} counts
+     * @since 3.8
+     */
+    default IntStream stream() {
+        return LongStream.range(0, length()).mapToInt(this::get);
+    }
+
+    /**
+     * Returns a read-only buffer holding all counts of this vector, see {@link #copyTo(long, byte[], int, int)} for
+     * the representation of counts as bytes. Implementations backed by an array return a view on that array, the
+     * default implementation copies the counts.
+     *
+     * @return a read-only buffer, its position is 0 and its limit is {@link #length()}
+     * @throws IllegalStateException if the vector is too long to fit into a buffer
+     * @since 3.8
+     */
+    default ByteBuffer asReadOnlyBuffer() {
+        final long length = length();
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Vector too long for a buffer: " + length);
+        }
+        final byte[] counts = new byte[(int)length];
+        copyTo(0, counts, 0, counts.length);
+        return ByteBuffer.wrap(counts).asReadOnlyBuffer();
+    }
+
     /**
      * Returns whether the two data values have the same content.
      *
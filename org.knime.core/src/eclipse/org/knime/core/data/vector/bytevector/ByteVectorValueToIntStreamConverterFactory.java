@@ -48,7 +48,6 @@
  */
 package org.knime.core.data.vector.bytevector;
 
-import java.util.function.IntSupplier;
 import java.util.stream.IntStream;
 
 import org.knime.core.data.convert.java.SimpleDataCellToJavaConverterFactory;
@@ -65,15 +64,7 @@
 
     /** Calls super constructor and sets all fields (including the conversion logic). */
     public ByteVectorValueToIntStreamConverterFactory() {
-        super(ByteVectorValue.class, IntStream.class, v -> {
-            return IntStream.generate(new IntSupplier() {
-                long m_index = 0L;
-                @Override
-                public int getAsInt() {
-                    return v.get(m_index++);
-                }
-            }).limit(v.length());
-        }, "IntStream (values in [0-255])");
+        super(ByteVectorValue.class, IntStream.class, ByteVectorValue::stream, "IntStream (values in [0-255])");
     }
 
 }
@@ -67,9 +67,7 @@ public ByteVectorValueToPrimitiveIntArrayConverterFactory() {
             long length = VEC.length();
             CheckUtils.checkArgument(length <= Integer.MAX_VALUE, "Vector too long: %d", length);
             int[] result = new int[(int)length];
-            for (long index = VEC.nextCountIndex(0); index >= 0; index = VEC.nextCountIndex(index + 1)) {
-                result[(int)index] = VEC.get(index);
-            }
+            VEC.copyTo(0, result, 0, result.length);
             return result;
         }, "int[] (values in [0-255])");
     }
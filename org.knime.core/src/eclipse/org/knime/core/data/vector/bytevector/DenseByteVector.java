@@ -95,7 +95,22 @@ public DenseByteVector(final int length) {
      * @since 2.11
      */
     public DenseByteVector(final byte[] counts) {
-        m_storage = counts.clone();
+        this(counts, true);
+    }
+
+    /**
+     * Creates a new vector that takes ownership of the passed counts, used by
+     * the serializer of the {@link DenseByteVectorCell}.
+     *
+     * @param counts the counts, not copied
+     * @return a new vector backed by the argument array
+     */
+    static DenseByteVector wrap(final byte[] counts) {
+        return new DenseByteVector(counts, false);
+    }
+
+    private DenseByteVector(final byte[] counts, final boolean copy) {
+        m_storage = copy ? counts.clone() : counts;
     }
 
     /**
@@ -480,6 +495,16 @@ public byte[] getAllCountsAsBytes() {
         return m_storage.clone();
     }
 
+    /**
+     * Returns the internal array of counts (not a copy), which must not be
+     * modified. Used for bulk access by the {@link DenseByteVectorCell}.
+     *
+     * @return the internal byte array
+     */
+    byte[] getStorage() {
+        return m_storage;
+    }
+
     /**
      * Returns a copy of the internal array of counts. The returned array has
      * the same length as this vector and holds values 0 ... 255
@@ -48,6 +48,8 @@
 package org.knime.core.data.vector.bytevector;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellDataInput;
@@ -96,7 +98,11 @@ public static final DataCellSerializer<DenseByteVectorCell> getCellSerializer()
      * @param byteVector the byte vector a copy of which is stored in this cell.
      */
     DenseByteVectorCell(final DenseByteVector byteVector) {
-        m_byteVector = new DenseByteVector(byteVector);
+        this(new DenseByteVector(byteVector), false);
+    }
+
+    private DenseByteVectorCell(final DenseByteVector byteVector, final boolean copy) {
+        m_byteVector = copy ? new DenseByteVector(byteVector) : byteVector;
     }
 
     /**
@@ -196,6 +202,60 @@ public long sumOfAllCounts() {
         return m_byteVector.sumOfAllCounts();
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.8
+     */
+    @Override
+    public void copyTo(final long srcIndex, final int[] dest, final int destIndex, final int length) {
+        final byte[] counts = m_byteVector.getStorage();
+        if (srcIndex < 0 || srcIndex + length > counts.length) {
+            throw new IndexOutOfBoundsException("Cannot copy " + length + " counts from index " + srcIndex
+                + " of a vector of length " + counts.length);
+        }
+        if (destIndex < 0 || length < 0 || destIndex + length > dest.length) {
+            throw new IndexOutOfBoundsException("Cannot copy " + length + " counts to index " + destIndex
+                + " of an array of length " + dest.length);
+        }
+        final int offset = (int)srcIndex - destIndex;
+        for (int i = destIndex; i < destIndex + length; i++) {
+            dest[i] = counts[i + offset] & 0xFF;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.8
+     */
+    @Override
+    public void copyTo(final long srcIndex, final byte[] dest, final int destIndex, final int length) {
+        if (srcIndex > Integer.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("Index too large: " + srcIndex);
+        }
+        System.arraycopy(m_byteVector.getStorage(), (int)srcIndex, dest, destIndex, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.8
+     */
+    @Override
+    public IntStream stream() {
+        final byte[] counts = m_byteVector.getStorage();
+        return IntStream.range(0, counts.length).map(i -> counts[i] & 0xFF);
+    }
+
+    /**
+     * Returns a read-only view on the counts of this cell, no data is copied.
+     *
+     * {@inheritDoc}
+     * @since 3.8
+     */
+    @Override
+    public ByteBuffer asReadOnlyBuffer() {
+        return ByteBuffer.wrap(m_byteVector.getStorage()).asReadOnlyBuffer();
+    }
+
     /**
      * Returns a clone of the internal dense byte vector.
      * @return a copy of the internal dense byte vector.
@@ -274,11 +334,9 @@ public static final class DenseByteVectorSerializer implements DataCellSerialize
         public void serialize(final DenseByteVectorCell cell,
                 final DataCellDataOutput out) throws IOException {
 
-            byte[] cnts = cell.m_byteVector.getAllCountsAsBytes();
+            byte[] cnts = cell.m_byteVector.getStorage();
             out.writeInt(cnts.length);
-            for (int i = 0; i < cnts.length; i++) {
-                out.writeByte(cnts[i]);
-            }
+            out.write(cnts);
         }
 
         /**
@@ -289,10 +347,8 @@ public DenseByteVectorCell deserialize(final DataCellDataInput input)
                 throws IOException {
             int arrayLength = input.readInt();
             byte[] cnts = new byte[arrayLength];
-            for (int i = 0; i < arrayLength; i++) {
-                cnts[i] = input.readByte();
-            }
-            return new DenseByteVectorCell(new DenseByteVector(cnts));
+            input.readFully(cnts);
+            return new DenseByteVectorCell(DenseByteVector.wrap(cnts), false);
         }
     }
 }
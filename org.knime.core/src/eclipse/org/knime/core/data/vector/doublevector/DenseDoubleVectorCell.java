@@ -48,8 +48,11 @@
 package org.knime.core.data.vector.doublevector;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
 import org.knime.core.data.DataCell;
@@ -100,6 +103,28 @@ public double getValue(final int index) {
         return m_doubleVector[index];
     }
 
+    /** {@inheritDoc}
+     * @since 3.8 */
+    @Override
+    public void copyTo(final int srcIndex, final double[] dest, final int destIndex, final int length) {
+        System.arraycopy(m_doubleVector, srcIndex, dest, destIndex, length);
+    }
+
+    /** {@inheritDoc}
+     * @since 3.8 */
+    @Override
+    public DoubleStream stream() {
+        return Arrays.stream(m_doubleVector);
+    }
+
+    /** Returns a read-only view on the values of this cell, no data is copied.
+     * {@inheritDoc}
+     * @since 3.8 */
+    @Override
+    public DoubleBuffer asReadOnlyBuffer() {
+        return DoubleBuffer.wrap(m_doubleVector).asReadOnlyBuffer();
+    }
+
     /* ########################
      * CollectionDataValue
      * ######################## */
@@ -125,7 +150,7 @@ public boolean containsBlobWrapperCells() {
     /** {@inheritDoc} */
     @Override
     public Iterator<DataCell> iterator() {
-        return Arrays.stream(m_doubleVector).boxed().map(d -> (DataCell)new DoubleCell(d)).iterator();
+        return Arrays.stream(m_doubleVector).mapToObj(d -> (DataCell)new DoubleCell(d)).iterator();
     }
 
     /** {@inheritDoc} */
@@ -163,13 +188,21 @@ public String toString() {
      * @noreference This class is not intended to be referenced by clients.
      */
     public static final class DenseDoubleVectorSerializer implements DataCellSerializer<DenseDoubleVectorCell> {
+
+        /** Number of values written and read in one call, limits the size of the intermediate buffer. */
+        private static final int SERIALIZATION_CHUNK_SIZE = 8192;
+
         /** {@inheritDoc} */
         @Override
         public void serialize(final DenseDoubleVectorCell cell, final DataCellDataOutput out) throws IOException {
             double[] cnts = cell.m_doubleVector;
             out.writeInt(cnts.length);
-            for (int i = 0; i < cnts.length; i++) {
-                out.writeDouble(cnts[i]);
+            ByteBuffer buffer = ByteBuffer.allocate(Math.min(cnts.length, SERIALIZATION_CHUNK_SIZE) * Double.BYTES);
+            for (int start = 0; start < cnts.length; start += SERIALIZATION_CHUNK_SIZE) {
+                int length = Math.min(SERIALIZATION_CHUNK_SIZE, cnts.length - start);
+                buffer.clear();
+                buffer.asDoubleBuffer().put(cnts, start, length);
+                out.write(buffer.array(), 0, length * Double.BYTES);
             }
         }
 
@@ -178,8 +211,12 @@ public void serialize(final DenseDoubleVectorCell cell, final DataCellDataOutput
         public DenseDoubleVectorCell deserialize(final DataCellDataInput input) throws IOException {
             int arrayLength = input.readInt();
             double[] vector = new double[arrayLength];
-            for (int i = 0; i < arrayLength; i++) {
-                vector[i] = input.readDouble();
+            ByteBuffer buffer = ByteBuffer.allocate(Math.min(arrayLength, SERIALIZATION_CHUNK_SIZE) * Double.BYTES);
+            for (int start = 0; start < arrayLength; start += SERIALIZATION_CHUNK_SIZE) {
+                int length = Math.min(SERIALIZATION_CHUNK_SIZE, arrayLength - start);
+                input.readFully(buffer.array(), 0, length * Double.BYTES);
+                buffer.clear();
+                buffer.asDoubleBuffer().get(vector, start, length);
             }
             return new DenseDoubleVectorCell(vector);
         }
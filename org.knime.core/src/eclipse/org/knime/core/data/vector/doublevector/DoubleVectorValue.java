@@ -48,6 +48,10 @@
  */
 package org.knime.core.data.vector.doublevector;
 
+import java.nio.DoubleBuffer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
 import javax.swing.Icon;
 
 import org.knime.core.data.DataValue;
@@ -79,6 +83,46 @@ public interface DoubleVectorValue extends DataValue {
      */
     public double getValue(final int index);
 
+    /** Copies values of this vector into an array. Implementations backed by an array override this method with a
+     * bulk copy.
+     * @param srcIndex The index of the first value to copy.
+     * @param dest The array to copy into.
+     * @param destIndex The position of the first value in <code>dest</code>.
+     * @param length The number of values to copy.
+     * @throws IndexOutOfBoundsException if the source or destination range is invalid
+     * @since 3.8
+     */
+    public default void copyTo(final int srcIndex, final double[] dest, final int destIndex, final int length) {
+        if (srcIndex < 0 || destIndex < 0 || length < 0 || srcIndex + length > getLength()
+            || destIndex + length > dest.length) {
+            throw new IndexOutOfBoundsException("Cannot copy " + length + " values from index " + srcIndex
+                + " of a vector of length " + getLength() + " to index " + destIndex + " of an array of length "
+                + dest.length);
+        }
+        for (int i = 0; i < length; i++) {
+            dest[destIndex + i] = getValue(srcIndex + i);
+        }
+    }
+
+    /** All values of this vector as stream.
+     * @return A new sequential stream of {@link #getLength()} values.
+     * @since 3.8
+     */
+    public default DoubleStream stream() {
+        return IntStream.range(0, getLength()).mapToDouble(this::getValue);
+    }
+
+    /** A read-only buffer holding all values of this vector. Implementations backed by an array return a view on that
+     * array, the default implementation copies the values.
+     * @return A read-only buffer, its position is 0 and its limit is {@link #getLength()}.
+     * @since 3.8
+     */
+    public default DoubleBuffer asReadOnlyBuffer() {
+        final double[] values = new double[getLength()];
+        copyTo(0, values, 0, values.length);
+        return DoubleBuffer.wrap(values).asReadOnlyBuffer();
+    }
+
     /** Implementations of the meta information of this value class. */
     class DoubleVectorUtilityFactory extends ExtensibleUtilityFactory {
         /** Singleton icon to be used to display this cell type. */
@@ -66,8 +66,9 @@
  * <code>null</code> if not available or set wrong (progress value out of range). Furthermore, it holds a flag which
  * indicates that the task during execution was interrupted.
  * <p>
- * This progress monitor uses a static timer task looking every 250 milliseconds if progress information has changed.
- * The <code>ProgressEvent</code> is fired if either the value or message has changed only.
+ * This progress monitor uses a static timer task looking every 250 milliseconds (configurable via
+ * {@link KNIMEConstants#PROPERTY_PROGRESS_REFRESH_INTERVAL}) if progress information has changed. The
+ * <code>ProgressEvent</code> is fired if either the value or message has changed only.
  *
  * @author Thomas Gabriel, University of Konstanz
  */
@@ -92,8 +93,10 @@ public class DefaultNodeProgressMonitor implements NodeProgressMonitor {
     /** A set of progress listeners. */
     private final CopyOnWriteArrayList<NodeProgressListener> m_listeners;
 
-    /** Timer period looking for changed progress information. */
-    private static final int TIMER_PERIOD = KNIMEConstants.MIN_GUI_REFRESH_INTERVAL;
+    /** Timer period looking for changed progress information, see
+     * {@link KNIMEConstants#PROPERTY_PROGRESS_REFRESH_INTERVAL}. */
+    private static final int TIMER_PERIOD = Math.max(1, Integer.getInteger(
+        KNIMEConstants.PROPERTY_PROGRESS_REFRESH_INTERVAL, KNIMEConstants.MIN_GUI_REFRESH_INTERVAL));
 
     /**
      * Keeps a static list of these progress monitors if they are active. The timer task iterates over this list and
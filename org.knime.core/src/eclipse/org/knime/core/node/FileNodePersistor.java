@@ -59,6 +59,10 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -68,6 +72,7 @@
 import org.knime.core.data.filestore.FileStorePortObject;
 import org.knime.core.data.filestore.FileStoreUtil;
 import org.knime.core.data.filestore.internal.EmptyFileStoreHandler;
+import org.knime.core.data.filestore.internal.FileStoreContentIndex;
 import org.knime.core.data.filestore.internal.IFileStoreHandler;
 import org.knime.core.data.filestore.internal.WriteFileStoreHandler;
 import org.knime.core.internal.ReferencedFile;
@@ -156,6 +161,9 @@ public class FileNodePersistor implements NodePersistor {
 
     private PortObject[] m_portObjects;
 
+    /** Loaders of port objects read on first access, see {@link #getPortObjectLoader(int)}. */
+    private Callable<PortObject>[] m_portObjectLoaders;
+
     private PortObjectSpec[] m_portObjectSpecs;
 
     private String[] m_portObjectSummaries;
@@ -368,6 +376,21 @@ void loadPort(final Node node, final ReferencedFile portDir, final NodeSettingsR
             } else if (specClass != null) {
                 spec = BufferedDataTable.loadSpec(portDir);
             }
+        } else if (specClass != null && objectClass != null && !isInactive
+            && settings.getString("port_object_summary", null) != null) {
+            // tables are read lazily already (see ContainerTable), do the same for all other objects: the spec is
+            // needed right away (configure of downstream nodes), the object only when a view or successor needs it
+            spec = loadPortObjectSpec(portDir, settings);
+            Class<? extends PortObject> cl = PortTypeRegistry.getInstance().getObjectClass(objectClass)
+                .orElseThrow(() -> new IOException("Invalid object class \"" + objectClass + "\""));
+            if (!designatedType.getPortObjectClass().isAssignableFrom(cl)) {
+                throw new IOException("Actual port object type (\"" + cl.getSimpleName()
+                    + "\") does not match designated one (\"" + designatedType.getPortObjectClass().getSimpleName()
+                    + "\")");
+            }
+            final PortObjectSpec objectSpec = spec;
+            m_portObjectLoaders[portIdx] = () -> loadPortObject(portDir, settings, objectSpec, new ExecutionMonitor(),
+                dataRepository).orElse(null);
         } else {
             object = loadPortObject(portDir, settings, exec, dataRepository).orElse(null);
             spec = object != null ? object.getSpec() : null;
@@ -390,6 +413,8 @@ void loadPort(final Node node, final ReferencedFile portDir, final NodeSettingsR
             if (summary == null) {
                 summary = object.getSummary();
             }
+        } else if (m_portObjectLoaders[portIdx] != null) {
+            summary = settings.getString("port_object_summary", null);
         }
         setPortObjectSpec(portIdx, spec);
         setPortObject(portIdx, object);
@@ -411,9 +436,13 @@ private Optional<PortObject> loadPortObject(final ReferencedFile portDir, final
         final ExecutionMonitor exec, final WorkflowDataRepository dataRepository)
             throws IOException, InvalidSettingsException, FileNotFoundException, CanceledExecutionException {
         exec.setMessage("Loading port object");
+        return loadPortObject(portDir, settings, loadPortObjectSpec(portDir, settings), exec, dataRepository);
+    }
+
+    /** Reads the spec of a (non-table) port object, returns null if there is none. */
+    private static PortObjectSpec loadPortObjectSpec(final ReferencedFile portDir, final NodeSettingsRO settings)
+        throws IOException, InvalidSettingsException {
         final String specClass = settings.getString("port_spec_class");
-        final String objectClass = loadPortObjectClassName(settings);
-        PortObject object = null;
         PortObjectSpec spec = null;
         if (specClass != null) {
             Class<? extends PortObjectSpec> cl = PortTypeRegistry.getInstance().getSpecClass(specClass)
@@ -433,6 +462,15 @@ private Optional<PortObject> loadPortObject(final ReferencedFile portDir, final
                 }
             }
         }
+        return spec;
+    }
+
+    /** Reads a (non-table) port object, whose spec was read already. */
+    private Optional<PortObject> loadPortObject(final ReferencedFile portDir, final NodeSettingsRO settings,
+        final PortObjectSpec spec, final ExecutionMonitor exec, final WorkflowDataRepository dataRepository)
+            throws IOException, InvalidSettingsException, FileNotFoundException, CanceledExecutionException {
+        final String objectClass = loadPortObjectClassName(settings);
+        PortObject object = null;
         if (spec != null && objectClass != null) {
             Class<? extends PortObject> cl = PortTypeRegistry.getInstance().getObjectClass(objectClass)
                     .orElseThrow(() -> new IOException("Invalid object class \"" + objectClass + "\""));
@@ -952,6 +990,9 @@ public final void load(final Node node, final WorkflowPersistor parentPersistor,
         ExecutionMonitor loadIntTblsExec = exec.createSilentSubProgress(0.2);
         exec.setMessage("settings");
         m_portObjects = new PortObject[node.getNrOutPorts()];
+        @SuppressWarnings("unchecked")
+        Callable<PortObject>[] portObjectLoaders = new Callable[node.getNrOutPorts()];
+        m_portObjectLoaders = portObjectLoaders;
         m_portObjectSpecs = new PortObjectSpec[node.getNrOutPorts()];
         m_portObjectSummaries = new String[node.getNrOutPorts()];
         String nodeName = node.getName();
@@ -1067,6 +1108,12 @@ public PortObject getPortObject(final int outportIndex) {
         return m_portObjects[outportIndex];
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Callable<PortObject> getPortObjectLoader(final int outportIndex) {
+        return outportIndex == 0 || m_portObjectLoaders == null ? null : m_portObjectLoaders[outportIndex];
+    }
+
     /**
      * @param idx The outport index.
      * @param portObject the portObjects to set
@@ -1161,6 +1208,35 @@ public IFileStoreHandler getFileStoreHandler() {
     public static void save(final NativeNodeContainer nnc, final NodeSettingsWO settings,
         final ExecutionMonitor execMon, final ReferencedFile nodeDirRef,
         final boolean isSaveData) throws IOException, CanceledExecutionException {
+        save(nnc, settings, execMon, nodeDirRef, isSaveData, null, null);
+    }
+
+    /**
+     * Saves the node like {@link #save(NativeNodeContainer, NodeSettingsWO, ExecutionMonitor, ReferencedFile,
+     * boolean)} but hands the writing of the node's tables and file stores to the argument executor. The settings
+     * (including the location of the data) are complete when this method returns; the data is written when the
+     * returned future completes.
+     *
+     * @param nnc ...
+     * @param settings ...
+     * @param execMon Used to report progress during saving.
+     * @param nodeDirRef Directory associated with node - will create internals folder in it
+     * @param isSaveData ...
+     * @param dataWriteExecutor the executor to write tables and file stores in, or null to write them in the calling
+     *            thread before this method returns.
+     * @param fileStoreContentIndex used to link the file store files into the node directory, shared by all nodes
+     *            saved in one operation so that identical files are stored once; null to use a new index.
+     * @return a future representing the pending data writes, its {@link Future#get()} fails with the exception of the
+     *         failing write (if any)
+     * @throws IOException If the node file can't be found or read.
+     * @throws CanceledExecutionException If the saving has been canceled.
+     * @since 3.8
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static Future<Void> save(final NativeNodeContainer nnc, final NodeSettingsWO settings,
+        final ExecutionMonitor execMon, final ReferencedFile nodeDirRef, final boolean isSaveData,
+        final ExecutorService dataWriteExecutor, final FileStoreContentIndex fileStoreContentIndex)
+        throws IOException, CanceledExecutionException {
         final Node node = nnc.getNode();
 
         saveCustomName(node, settings);
@@ -1196,23 +1272,52 @@ public static void save(final NativeNodeContainer nnc, final NodeSettingsWO sett
          * table is returned in multiple outputs or if an output table is used
          * as "internal" held table. See bug 2117. */
         final Set<Integer> savedTableIDs = new HashSet<Integer>();
+        // table and file store writes, run in this order (possibly deferred)
+        final List<DataWrite> dataWrites = new ArrayList<>();
         execMon.setMessage("Ports");
-        savePorts(node, nodeDirRef, settings, savedTableIDs, portMon, isSaveData);
-        portMon.setProgress(1.0);
+        savePorts(node, nodeDirRef, settings, savedTableIDs, portMon, isSaveData, dataWrites);
         execMon.setMessage("Internal Tables");
-        saveInternalHeldTables(node, nodeDirRef, settings, savedTableIDs, internalMon, isSaveData);
-        intTblsMon.setProgress(1.0);
+        saveInternalHeldTables(node, nodeDirRef, settings, savedTableIDs, internalMon, isSaveData, dataWrites);
         // save them last as now all tables have been saved (all cells ran through persistor) and all
         // FileStore#getFile() have been called and saved
         execMon.setMessage("File Store Objects");
-        saveFileStoreObjects(node, nodeDirRef, settings, fileStoreMon, isSaveData);
-        fileStoreMon.setProgress(1.0);
-        execMon.setProgress(1.0);
+        saveFileStoreObjects(node, nodeDirRef, settings, fileStoreMon, isSaveData, dataWrites,
+            fileStoreContentIndex != null ? fileStoreContentIndex : new FileStoreContentIndex());
+        final DataWrite finishWrite = () -> {
+            portMon.setProgress(1.0);
+            intTblsMon.setProgress(1.0);
+            fileStoreMon.setProgress(1.0);
+            execMon.setProgress(1.0);
+        };
+        dataWrites.add(finishWrite);
+        if (dataWriteExecutor == null) {
+            for (DataWrite w : dataWrites) {
+                w.write();
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        return dataWriteExecutor.submit(() -> {
+            NodeContext.pushContext(nnc);
+            try {
+                for (DataWrite w : dataWrites) {
+                    w.write();
+                }
+            } finally {
+                NodeContext.removeLastContext();
+            }
+            return null;
+        });
+    }
+
+    /** Writing of a table or file store, possibly deferred to after the settings have been saved. */
+    @FunctionalInterface
+    private interface DataWrite {
+        void write() throws IOException, CanceledExecutionException;
     }
 
     private static void savePorts(final Node node, final ReferencedFile nodeDirRef, final NodeSettingsWO settings,
-        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final boolean saveData) throws IOException,
-        CanceledExecutionException {
+        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final boolean saveData,
+        final List<DataWrite> dataWrites) throws IOException, CanceledExecutionException {
         if (node.getNrOutPorts() == 0) {
             return;
         }
@@ -1243,18 +1348,18 @@ private static void savePorts(final Node node, final ReferencedFile nodeDirRef,
                 if (!portDir.canWrite()) {
                     throw new IOException("Cannot write to port directory " + portDir.getAbsolutePath());
                 }
-                savePort(node, portDir, singlePortSetting, savedTableIDs, subProgress, i, saveData);
+                savePort(node, portDir, singlePortSetting, savedTableIDs, subProgress, i, saveData, dataWrites);
             } else {
                 portDirName = null;
             }
             singlePortSetting.addString("port_dir_location", portDirName);
-            subProgress.setProgress(1.0);
+            dataWrites.add(() -> subProgress.setProgress(1.0));
         }
     }
 
     private static void saveInternalHeldTables(final Node node, final ReferencedFile nodeDirRef,
         final NodeSettingsWO settings, final Set<Integer> savedTableIDs, final ExecutionMonitor exec,
-        final boolean saveData) throws IOException, CanceledExecutionException {
+        final boolean saveData, final List<DataWrite> dataWrites) throws IOException, CanceledExecutionException {
         PortObject[] internalObjects = node.getInternalHeldPortObjects();
         if (internalObjects == null || !saveData) {
             return;
@@ -1281,7 +1386,8 @@ private static void saveInternalHeldTables(final Node node, final ReferencedFile
                 singlePortSetting.addString("type", "null");
             } else if (t instanceof BufferedDataTable) {
                 BufferedDataTable table = (BufferedDataTable)t;
-                saveBufferedDataTable(table, savedTableIDs, createDirectory(portDir), exec);
+                final File tableDir = createDirectory(portDir);
+                dataWrites.add(() -> saveBufferedDataTable(table, savedTableIDs, tableDir, exec));
                 singlePortSetting.addString("type", "table");
                 singlePortSetting.addString("table_dir_location", objName);
             } else {
@@ -1297,7 +1403,7 @@ private static void saveInternalHeldTables(final Node node, final ReferencedFile
                     savePortObject(t.getSpec(), t, createDirectory(portDir), singlePortSetting, exec);
                 }
             }
-            subProgress.setProgress(1.0);
+            dataWrites.add(() -> subProgress.setProgress(1.0));
         }
     }
 
@@ -1319,8 +1425,8 @@ private static File createDirectory(final File portDir) throws IOException {
     }
 
     private static void savePort(final Node node, final File portDir, final NodeSettingsWO settings,
-        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final int portIdx, final boolean saveData)
-        throws IOException, CanceledExecutionException {
+        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final int portIdx, final boolean saveData,
+        final List<DataWrite> dataWrites) throws IOException, CanceledExecutionException {
         PortObjectSpec spec = node.getOutputSpec(portIdx);
         PortObject object = node.getOutputObject(portIdx);
         String summary = node.getOutputObjectSummary(portIdx);
@@ -1339,7 +1445,7 @@ private static void savePort(final Node node, final File portDir, final NodeSett
                 + object.getClass().getSimpleName();
             // executed and instructed to save data
             if (saveData && object != null) {
-                saveBufferedDataTable((BufferedDataTable)object, savedTableIDs, portDir, exec);
+                dataWrites.add(() -> saveBufferedDataTable((BufferedDataTable)object, savedTableIDs, portDir, exec));
             }
         } else {
             if (isSaveObject) {
@@ -1406,10 +1512,11 @@ private static void savePortObject(final PortObjectSpec spec, final PortObject o
      * @param settings
      * @param fileStoreMon
      * @param isSaveData
-     * @throws IOException
+     * @param dataWrites the list to add the copying of the file stores to
      */
     private static void saveFileStoreObjects(final Node node, final ReferencedFile nodeDirRef,
-        final NodeSettingsWO settings, final ExecutionMonitor fileStoreMon, final boolean isSaveData) throws IOException {
+        final NodeSettingsWO settings, final ExecutionMonitor fileStoreMon, final boolean isSaveData,
+        final List<DataWrite> dataWrites, final FileStoreContentIndex fileStoreContentIndex) {
         NodeSettingsWO fsSettings = settings.addNodeSettings("filestores");
         IFileStoreHandler fileStoreHandler = node.getFileStoreHandler();
         String uuidS;
@@ -1420,7 +1527,7 @@ private static void saveFileStoreObjects(final Node node, final ReferencedFile n
             dirNameInFlow = baseDir == null ? null : FILESTORE_FOLDER_PREFIX;
             if (dirNameInFlow != null) {
                 File saveLocation = new File(nodeDirRef.getFile(), dirNameInFlow);
-                FileUtil.copyDir(baseDir, saveLocation);
+                dataWrites.add(() -> defFileStoreHandler.save(saveLocation, fileStoreContentIndex));
             }
             uuidS = defFileStoreHandler.getStoreUUID().toString();
         } else {
@@ -341,6 +341,71 @@ public final class KNIMEConstants {
      */
     public static final int MIN_GUI_REFRESH_INTERVAL = 250;
 
+    /**
+     * Java property to specify the interval in milliseconds at which node progress changes are forwarded to the
+     * progress listeners. All changes within one interval are coalesced into a single event carrying the latest
+     * progress. If not specified the default is {@value #MIN_GUI_REFRESH_INTERVAL}.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_PROGRESS_REFRESH_INTERVAL = "knime.progress.refresh.interval";
+
+    /**
+     * Java property to specify the number of threads used to read the settings files of the nodes in a workflow ahead
+     * of the (sequential) load of the nodes. A value of 1 or less disables reading ahead. If not specified the number
+     * of available processors is used.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_WORKFLOW_LOAD_THREADS = "knime.workflow.load.threads";
+
+    /**
+     * Java property to specify the number of threads used to write the tables of the nodes in a workflow while the
+     * workflow is saved. A value of 1 or less writes all tables sequentially in the saving thread. If not specified
+     * the number of available processors is used.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_WORKFLOW_SAVE_THREADS = "knime.workflow.save.threads";
+
+    /**
+     * Java property to save the binary data of node output tables as plain file next to the table's zip file instead
+     * of adding it to the zip file. Such tables are read without extracting the data from the zip file (the file is
+     * linked into the temp directory if the file system allows). Workflows saved with this option cannot be read by
+     * earlier versions of KNIME.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_TABLE_PLAIN_DATA_FILE = "knime.table.plaindatafile";
+
+    /**
+     * Java property to save the settings of the nodes in a workflow (file settings.xml) in a compact binary format
+     * instead of XML. Such files are read transparently, though not by earlier versions of KNIME. Settings containing
+     * passwords or transient values are always saved as XML.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_BINARY_NODE_SETTINGS = "knime.settings.binary";
+
+    /**
+     * Java property to enable flushing file store cells to disc in background threads while a table is written (the
+     * table is closed once all cells are flushed). The value is the number of threads; asynchronous flushing is
+     * disabled by default (or if the value is 0), i.e. cells are flushed by the thread writing the table. Only enable
+     * it if all file store cell implementations in use can be flushed from a thread other than the node's.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_FILESTORE_FLUSH_THREADS = "knime.filestore.flush.threads";
+
+    /**
+     * Java property to save small file store files of a node into a single pack file when the workflow is saved.
+     * This avoids creating many small files in the workflow directory. After load the packed files are only extracted
+     * when they are accessed. Workflows saved with this option cannot be read by earlier versions of KNIME.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_FILESTORE_PACK = "knime.filestore.pack";
+
     /**
      * Connection timeout in ms when the workflow manager is connected to a server in order to retrieve the workflow
      * information.
@@ -62,6 +62,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -195,6 +196,22 @@ static class Output {
         PortObject object;
         HiLiteHandler hiliteHdl;
         String summary;
+        /** Reads {@link #object} on first access; non-null only if loaded lazily and not accessed yet. */
+        volatile Callable<PortObject> objectLoader;
+
+        /** Sets the object, discarding any pending lazy load. Synchronized so that a concurrent lazy load doesn't
+         * write a stale object back, see {@link Node#resolveLazyOutputObject(Output, int)}. */
+        synchronized void setObject(final PortObject o) {
+            object = o;
+            // volatile write also publishes the object
+            objectLoader = null;
+        }
+
+        /** Sets the loader of a lazily loaded object (and clears the object), see {@link #setObject(PortObject)}. */
+        synchronized void setObjectLoader(final Callable<PortObject> loader) {
+            objectLoader = loader;
+            object = null;
+        }
     }
     private final Output[] m_outputs;
 
@@ -451,10 +468,17 @@ public void loadDataAndInternals(final NodeContentPersistor loader,
             }
 
             PortObject obj = loader.getPortObject(i);
-            if (checkPortObjectClass(obj, i)) {
-                m_outputs[i].object = obj;
+            Callable<PortObject> objLoader = obj == null ? loader.getPortObjectLoader(i) : null;
+            if (objLoader != null) {
+                // type was validated by the loader, spec and summary are available without reading the object
+                m_outputs[i].setObjectLoader(objLoader);
+                m_outputs[i].summary = loader.getPortObjectSummary(i);
+                m_outputs[i].hiliteHdl = (i == 0) ? null : m_model.getOutHiLiteHandler(i - 1);
+            } else if (checkPortObjectClass(obj, i)) {
+                m_outputs[i].setObject(obj);
                 m_outputs[i].summary = loader.getPortObjectSummary(i);
             } else {
+                m_outputs[i].setObject(null);
                 Class<? extends PortObject> objClass =
                     m_outputs[i].type.getPortObjectClass();
                 loadResult.addError("Loaded PortObject of class \""
@@ -772,7 +796,64 @@ public PortObjectSpec getOutputSpec(final int index) {
     }
 
     public PortObject getOutputObject(final int index) {
-        return m_outputs[index].object;
+        final Output output = m_outputs[index];
+        if (output.objectLoader != null) {
+            resolveLazyOutputObject(output, index);
+        }
+        return output.object;
+    }
+
+    /** Reads an output object that was loaded lazily, see {@link NodeContentPersistor#getPortObjectLoader(int)}. If
+     * that fails the port remains empty (the error is logged). */
+    private void resolveLazyOutputObject(final Output output, final int index) {
+        final Callable<PortObject> objectLoader = output.objectLoader;
+        if (objectLoader == null) {
+            return; // resolved concurrently
+        }
+        // loads at most once per loader; the output itself is not locked while loading so that a reset or
+        // re-execution (which replace the loader) doesn't wait for a slow load
+        synchronized (objectLoader) {
+            if (output.objectLoader != objectLoader) {
+                return; // resolved, reset or replaced concurrently
+            }
+            PortObject object = null;
+            try {
+                object = objectLoader.call();
+                if (!checkPortObjectClass(object, index)) {
+                    LOGGER.error("Loaded PortObject of class \"" + object.getClass().getSimpleName()
+                        + "\", expected " + output.type.getPortObjectClass().getSimpleName());
+                    object = null;
+                }
+            } catch (Exception e) {
+                LOGGER.error("Unable to load port object at output " + index + " of node \"" + getName() + "\": "
+                    + e.getMessage(), e);
+            }
+            synchronized (output) {
+                // compare-and-set: only write the result if the output still expects it
+                if (output.objectLoader == objectLoader) {
+                    output.setObject(object);
+                }
+            }
+        }
+    }
+
+    /** Reads all output objects that were loaded lazily and have not been accessed yet. Called before the files they
+     * are read from are replaced, e.g. when the node is saved into its own directory.
+     * @since 3.8
+     * @noreference This method is not intended to be referenced by clients. */
+    public void resolveLazyOutputObjects() {
+        for (int i = 0; i < m_outputs.length; i++) {
+            if (m_outputs[i].objectLoader != null) {
+                resolveLazyOutputObject(m_outputs[i], i);
+            }
+        }
+    }
+
+    /** @return true if any output object was loaded lazily and has not been accessed yet.
+     * @since 3.8
+     * @noreference This method is not intended to be referenced by clients. */
+    public boolean hasLazyOutputObjects() {
+        return Arrays.stream(m_outputs).anyMatch(o -> o.objectLoader != null);
     }
 
     public String getOutputObjectSummary(final int index) {
@@ -1290,11 +1371,11 @@ private boolean setOutPortObjects(final PortObject[] newOutData,
                 }
                 BufferedDataTable t = thisTable;
                 t.setOwnerRecursively(this);
-                m_outputs[p].object = t;
+                m_outputs[p].setObject(t);
                 m_outputs[p].summary = t.getSummary();
                 m_outputs[p].spec = newPortSpec;
             } else {
-                m_outputs[p].object = newOutData[p];
+                m_outputs[p].setObject(newOutData[p]);
                 if (newOutData[p] != null) {
                     m_outputs[p].spec = newOutData[p].getSpec();
                     m_outputs[p].summary = newOutData[p].getSummary();
@@ -1549,7 +1630,7 @@ public void cleanOutPorts(final boolean isLoopRestart) {
                 table.collectTableAndReferencesOwnedBy(this, disposableTables);
             }
             m_outputs[i].spec = null;
-            m_outputs[i].object = null;
+            m_outputs[i].setObject(null);
             m_outputs[i].summary = null;
         }
 
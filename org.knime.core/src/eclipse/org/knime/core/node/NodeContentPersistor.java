@@ -47,6 +47,8 @@
  */
 package org.knime.core.node;
 
+import java.util.concurrent.Callable;
+
 import org.knime.core.data.filestore.internal.IFileStoreHandler;
 import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.port.PortObject;
@@ -70,6 +72,18 @@ public interface NodeContentPersistor {
     ReferencedFile getNodeInternDirectory();
     PortObjectSpec getPortObjectSpec(final int outportIndex);
     PortObject getPortObject(final int outportIndex);
+
+    /**
+     * Loader of a port object that is read on first access only. Only consulted if {@link #getPortObject(int)}
+     * returns null; the spec and summary of the port are available as usual.
+     *
+     * @param outportIndex the port index
+     * @return the loader or null if the port object is not loaded lazily (the default)
+     * @since 3.8
+     */
+    default Callable<PortObject> getPortObjectLoader(final int outportIndex) {
+        return null;
+    }
     String getPortObjectSummary(final int outportIndex);
     PortObject[] getInternalHeldPortObjects();
     /** @since 2.6 */
@@ -0,0 +1,409 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.config;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.config.base.AbstractConfigEntry;
+import org.knime.core.node.config.base.ConfigBase;
+
+/**
+ * Compact binary representation of a {@link ConfigBase} tree, used as alternative to the XML format when saving
+ * node settings in a workflow (see {@link org.knime.core.node.KNIMEConstants#PROPERTY_BINARY_NODE_SETTINGS}).
+ * Streams in this format are recognized by a leading magic number, {@link Config#load(InputStream)} and the static
+ * <code>loadFromXML</code> methods of {@link org.knime.core.node.NodeSettings} and
+ * {@link org.knime.core.node.ModelContent} read them transparently.
+ *
+ * <p>
+ * The format is a depth-first sequence of typed entries. Integral numbers are written as (zig-zag encoded) varints,
+ * floating point numbers with their exact bit pattern. Keys and string values are written once and referenced by
+ * their index in a string table thereafter. Passwords and transient strings are not supported, configs containing
+ * them are saved as XML (see {@link #canSave(ConfigBase)}).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class BinaryConfig {
+
+    /** Magic number at the beginning of each stream ("KNCB"), never the start of an XML document. */
+    private static final byte[] MAGIC = new byte[]{'K', 'N', 'C', 'B'};
+
+    private static final int VERSION = 1;
+
+    private static final byte TYPE_CONFIG = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_SHORT = 4;
+    private static final byte TYPE_BYTE = 5;
+    private static final byte TYPE_CHAR = 6;
+    private static final byte TYPE_FLOAT = 7;
+    private static final byte TYPE_DOUBLE = 8;
+    private static final byte TYPE_BOOLEAN = 9;
+    private static final byte TYPE_STRING = 10;
+
+    /** String reference for <code>null</code>; 1 is a new string, larger values reference the string table. */
+    private static final int STRING_NULL = 0;
+    private static final int STRING_NEW = 1;
+
+    private BinaryConfig() {
+    }
+
+    /**
+     * Whether all entries in the argument config (recursively) can be represented in the binary format.
+     *
+     * @param config The config to check.
+     * @return true if {@link #save(ConfigBase, OutputStream)} can be used.
+     */
+    public static boolean canSave(final ConfigBase config) {
+        for (String key : config.keySet()) {
+            AbstractConfigEntry entry = config.getEntry(key);
+            switch (entry.getType()) {
+                case config:
+                    if (!canSave((ConfigBase)entry)) {
+                        return false;
+                    }
+                    break;
+                case xint:
+                case xlong:
+                case xshort:
+                case xbyte:
+                case xchar:
+                case xfloat:
+                case xdouble:
+                case xboolean:
+                case xstring:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the argument config in binary format. The stream is closed by this call.
+     *
+     * @param config The config to save.
+     * @param out To write to.
+     * @throws IOException If writing fails or the config contains unsupported entries (see
+     *             {@link #canSave(ConfigBase)}).
+     */
+    public static void save(final ConfigBase config, final OutputStream out) throws IOException {
+        try (DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out))) {
+            dataOut.write(MAGIC);
+            dataOut.writeByte(VERSION);
+            Writer writer = new Writer(dataOut);
+            writer.writeString(config.getKey());
+            writer.writeConfig(config);
+        }
+    }
+
+    /**
+     * Whether the argument stream contains a config in binary format. The stream must support
+     * {@link InputStream#mark(int) mark and reset}, its position is not changed.
+     *
+     * @param in The stream to test.
+     * @return true if the stream starts with the magic number of this format.
+     * @throws IOException If reading fails.
+     */
+    public static boolean isBinary(final InputStream in) throws IOException {
+        in.mark(MAGIC.length);
+        try {
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (in.read() != MAGIC[i]) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Reads a config in binary format. The stream is not closed.
+     *
+     * @param in To read from.
+     * @param rootFactory Creates (or returns) the config to fill given the key of the saved root config.
+     * @return The config returned by the factory, filled with the stream's content.
+     * @throws IOException If the stream doesn't contain a config in binary format or reading fails.
+     */
+    public static ConfigBase load(final InputStream in, final Function<String, ? extends ConfigBase> rootFactory)
+        throws IOException {
+        DataInputStream dataIn =
+            new DataInputStream(in instanceof BufferedInputStream ? in : new BufferedInputStream(in));
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (dataIn.readByte() != MAGIC[i]) {
+                throw new IOException("Not a binary config stream (invalid magic number)");
+            }
+        }
+        int version = dataIn.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Unsupported binary config version " + version + " (supported: " + VERSION
+                + ") - was it written with a future version of KNIME?");
+        }
+        Reader reader = new Reader(dataIn);
+        ConfigBase config = rootFactory.apply(reader.readString());
+        reader.readConfig(config);
+        return config;
+    }
+
+    private static final class Writer {
+
+        private final DataOutputStream m_out;
+
+        private final Map<String, Integer> m_stringTable = new HashMap<>();
+
+        Writer(final DataOutputStream out) {
+            m_out = out;
+        }
+
+        void writeConfig(final ConfigBase config) throws IOException {
+            writeVarInt(config.keySet().size());
+            try {
+                for (String key : config.keySet()) {
+                    AbstractConfigEntry entry = config.getEntry(key);
+                    switch (entry.getType()) {
+                        case config:
+                            m_out.writeByte(TYPE_CONFIG);
+                            writeString(key);
+                            writeConfig((ConfigBase)entry);
+                            break;
+                        case xint:
+                            m_out.writeByte(TYPE_INT);
+                            writeString(key);
+                            writeVarLong(zigZag(config.getInt(key)));
+                            break;
+                        case xlong:
+                            m_out.writeByte(TYPE_LONG);
+                            writeString(key);
+                            writeVarLong(zigZag(config.getLong(key)));
+                            break;
+                        case xshort:
+                            m_out.writeByte(TYPE_SHORT);
+                            writeString(key);
+                            writeVarLong(zigZag(config.getShort(key)));
+                            break;
+                        case xbyte:
+                            m_out.writeByte(TYPE_BYTE);
+                            writeString(key);
+                            m_out.writeByte(config.getByte(key));
+                            break;
+                        case xchar:
+                            m_out.writeByte(TYPE_CHAR);
+                            writeString(key);
+                            writeVarInt(config.getChar(key));
+                            break;
+                        case xfloat:
+                            m_out.writeByte(TYPE_FLOAT);
+                            writeString(key);
+                            m_out.writeInt(Float.floatToRawIntBits(config.getFloat(key)));
+                            break;
+                        case xdouble:
+                            m_out.writeByte(TYPE_DOUBLE);
+                            writeString(key);
+                            m_out.writeLong(Double.doubleToRawLongBits(config.getDouble(key)));
+                            break;
+                        case xboolean:
+                            m_out.writeByte(TYPE_BOOLEAN);
+                            writeString(key);
+                            m_out.writeBoolean(config.getBoolean(key));
+                            break;
+                        case xstring:
+                            m_out.writeByte(TYPE_STRING);
+                            writeString(key);
+                            writeString(config.getString(key));
+                            break;
+                        default:
+                            throw new IOException("Entry \"" + key + "\" of type " + entry.getType()
+                                + " can't be saved in binary format");
+                    }
+                }
+            } catch (InvalidSettingsException ise) {
+                throw new IOException("Unable to read entry from config \"" + config.getKey() + "\"", ise);
+            }
+        }
+
+        void writeString(final String s) throws IOException {
+            if (s == null) {
+                writeVarInt(STRING_NULL);
+                return;
+            }
+            Integer index = m_stringTable.get(s);
+            if (index != null) {
+                writeVarInt(index + 2);
+            } else {
+                m_stringTable.put(s, m_stringTable.size());
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(STRING_NEW);
+                writeVarInt(bytes.length);
+                m_out.write(bytes);
+            }
+        }
+
+        void writeVarInt(final int value) throws IOException {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(final long value) throws IOException {
+            long v = value;
+            while ((v & ~0x7FL) != 0) {
+                m_out.writeByte((int)((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            m_out.writeByte((int)v);
+        }
+
+        private static long zigZag(final long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream m_in;
+
+        private final List<String> m_stringTable = new ArrayList<>();
+
+        Reader(final DataInputStream in) {
+            m_in = in;
+        }
+
+        void readConfig(final ConfigBase config) throws IOException {
+            final int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                final byte type = m_in.readByte();
+                final String key = readString();
+                switch (type) {
+                    case TYPE_CONFIG:
+                        readConfig(config.addConfigBase(key));
+                        break;
+                    case TYPE_INT:
+                        config.addInt(key, (int)unZigZag(readVarLong()));
+                        break;
+                    case TYPE_LONG:
+                        config.addLong(key, unZigZag(readVarLong()));
+                        break;
+                    case TYPE_SHORT:
+                        config.addShort(key, (short)unZigZag(readVarLong()));
+                        break;
+                    case TYPE_BYTE:
+                        config.addByte(key, m_in.readByte());
+                        break;
+                    case TYPE_CHAR:
+                        config.addChar(key, (char)readVarInt());
+                        break;
+                    case TYPE_FLOAT:
+                        config.addFloat(key, Float.intBitsToFloat(m_in.readInt()));
+                        break;
+                    case TYPE_DOUBLE:
+                        config.addDouble(key, Double.longBitsToDouble(m_in.readLong()));
+                        break;
+                    case TYPE_BOOLEAN:
+                        config.addBoolean(key, m_in.readBoolean());
+                        break;
+                    case TYPE_STRING:
+                        config.addString(key, readString());
+                        break;
+                    default:
+                        throw new IOException("Invalid entry type " + type + " for key \"" + key + "\"");
+                }
+            }
+        }
+
+        String readString() throws IOException {
+            final int ref = readVarInt();
+            if (ref == STRING_NULL) {
+                return null;
+            } else if (ref == STRING_NEW) {
+                byte[] bytes = new byte[readVarInt()];
+                m_in.readFully(bytes);
+                String s = new String(bytes, StandardCharsets.UTF_8);
+                m_stringTable.add(s);
+                return s;
+            }
+            final int index = ref - 2;
+            if (index >= m_stringTable.size()) {
+                throw new IOException("Invalid string reference " + index + " (table size " + m_stringTable.size()
+                    + ")");
+            }
+            return m_stringTable.get(index);
+        }
+
+        int readVarInt() throws IOException {
+            return (int)readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = m_in.readByte();
+                result |= (long)(b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private static long unZigZag(final long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
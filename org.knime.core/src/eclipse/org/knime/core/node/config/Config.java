@@ -45,6 +45,7 @@
  */
 package org.knime.core.node.config;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -909,7 +910,8 @@ protected static Config readFromFile(
 
     /**
      * Reads Config from XML into a new Config object. The stream will be closed
-     * by this call.
+     * by this call. Streams in the {@link BinaryConfig binary format} are read
+     * into a new instance of the argument's class.
      *
      * @param config Depending on the readRoot, we write into this Config and
      *            return it.
@@ -922,19 +924,34 @@ protected static Config loadFromXML(final Config config,
         if (in == null) {
             throw new NullPointerException();
         }
-        config.load(in);
+        final InputStream markIn = in.markSupported() ? in : new BufferedInputStream(in);
+        if (BinaryConfig.isBinary(markIn)) {
+            try {
+                return (Config)BinaryConfig.load(markIn, config::getInstance);
+            } finally {
+                markIn.close();
+            }
+        }
+        config.load(markIn);
         return config;
     }
 
     /**
-     * Read config entries from an XML file into this object.
+     * Read config entries from an XML file into this object. Streams in the
+     * {@link BinaryConfig binary format} are also accepted (the key of this
+     * config is retained in this case).
      * @param is The XML inputstream storing the configuration to read
      * @throws IOException If the stream could not be read.
      */
     @Override
     public void load(final InputStream is) throws IOException {
+        final InputStream markIn = is.markSupported() ? is : new BufferedInputStream(is);
         try {
-            XMLConfig.load(this, is);
+            if (BinaryConfig.isBinary(markIn)) {
+                BinaryConfig.load(markIn, key -> this);
+                return;
+            }
+            XMLConfig.load(this, markIn);
         } catch (SAXException se) {
             IOException ioe = new IOException(se.getMessage());
             ioe.initCause(se);
@@ -944,7 +961,7 @@ public void load(final InputStream is) throws IOException {
             ioe.initCause(pce);
             throw ioe;
         } finally {
-            is.close();
+            markIn.close();
         }
     }
 
@@ -48,6 +48,8 @@
  */
 package org.knime.core.node.streamable;
 
+import java.util.List;
+
 import org.knime.core.data.DataRow;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
@@ -79,6 +81,16 @@ public void push(final DataRow row) throws InterruptedException {
         m_table.addRowToTable(row);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void pushBatch(final List<DataRow> rows) throws InterruptedException {
+        for (DataRow row : rows) {
+            m_table.addRowToTable(row);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -47,6 +47,8 @@
  */
 package org.knime.core.node.streamable;
 
+import java.util.List;
+
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
@@ -93,6 +95,17 @@ public DataRow poll() throws InterruptedException {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int pollBatch(final List<DataRow> batch, final int maxRows) throws InterruptedException {
+        int count = 0;
+        while (count < maxRows && m_iterator.hasNext()) {
+            batch.add(m_iterator.next());
+            count++;
+        }
+        return count;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {
@@ -47,6 +47,8 @@
  */
 package org.knime.core.node.streamable;
 
+import java.util.List;
+
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 
@@ -83,6 +85,38 @@ public abstract class RowInput extends PortInput {
      */
     public abstract DataRow poll() throws InterruptedException;
 
+    /**
+     * Gets up to <code>maxRows</code> next rows from the input stream and appends them to the argument list. The call
+     * blocks until at least one row is available or the end of the stream has been reached, it does not wait for
+     * <code>maxRows</code> rows to become available. Implementations that hand over rows between threads should
+     * overwrite this method to transfer all rows already available at once; the default implementation can't tell
+     * whether a further {@link #poll()} would block and therefore returns a single row per call. Client code could
+     * look like this:
+     *
+     * <pre>
+     * List&lt;DataRow&gt; batch = new ArrayList&lt;&gt;(BATCH_SIZE);
+     * while (rowInput.pollBatch(batch, BATCH_SIZE) &gt; 0) {
+     *     // do something with rows in batch
+     *     batch.clear();
+     * }
+     * rowInput.close();
+     * </pre>
+     *
+     * @param batch the non-null list the rows are appended to
+     * @param maxRows the maximum number of rows to add, &gt; 0
+     * @return the number of rows added or 0 if the end of the stream has been reached.
+     * @throws InterruptedException If canceled.
+     * @since 3.8
+     */
+    public int pollBatch(final List<DataRow> batch, final int maxRows) throws InterruptedException {
+        final DataRow row = poll();
+        if (row == null) {
+            return 0;
+        }
+        batch.add(row);
+        return 1;
+    }
+
     /** Indicates that no more input is needed. Upstream nodes may stop
      * generating data (unless there are other consumers). */
     public abstract void close();
@@ -47,6 +47,8 @@
  */
 package org.knime.core.node.streamable;
 
+import java.util.List;
+
 import org.knime.core.data.DataRow;
 import org.knime.core.node.BufferedDataTable;
 
@@ -69,6 +71,22 @@ public abstract class RowOutput extends PortOutput {
      */
     public abstract void push(final DataRow row) throws InterruptedException;
 
+    /**
+     * Adds the rows of the argument list in order, see {@link #push(DataRow)}. Implementations that hand over rows
+     * between threads should overwrite this method to transfer the batch at once; the default implementation calls
+     * {@link #push(DataRow)} for each row.
+     *
+     * @param rows the rows to add, not null
+     * @throws InterruptedException If canceled.
+     * @throws OutputClosedException If no consumer is to consume the generated output.
+     * @since 3.8
+     */
+    public void pushBatch(final List<DataRow> rows) throws InterruptedException {
+        for (DataRow row : rows) {
+            push(row);
+        }
+    }
+
     /** Fully sets the table and closes the output. Only valid to call if no other rows were added previously through
      * {@link #push(DataRow)}.
      * @param table The non-null table to set.
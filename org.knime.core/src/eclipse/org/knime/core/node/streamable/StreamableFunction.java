@@ -47,6 +47,9 @@
  */
 package org.knime.core.node.streamable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.knime.core.data.DataRow;
 import org.knime.core.node.ExecutionContext;
 
@@ -72,6 +75,9 @@ public abstract class StreamableFunction extends StreamableOperator {
      */
     public static final int DEFAULT_OUTPORT_INDEX = 0;
 
+    /** Number of rows polled from the input and pushed to the output at once. */
+    private static final int BATCH_SIZE = 128;
+
     private int m_inportIndex = DEFAULT_INPORT_INDEX;
     private int m_outportIndex = DEFAULT_OUTPORT_INDEX;
 
@@ -105,13 +111,21 @@ public void runFinal(final PortInput[] inputs, final PortOutput[] outputs,
         RowOutput rowOutput = ((RowOutput)outputs[m_outportIndex]);
         init(ctx);
         try {
-            DataRow inputRow;
+            final List<DataRow> inBatch = new ArrayList<>(BATCH_SIZE);
+            final List<DataRow> outBatch = new ArrayList<>(BATCH_SIZE);
             long index = 0;
-            while ((inputRow = rowInput.poll()) != null) {
-                rowOutput.push(compute(inputRow));
-                final long i = ++index;
-                final DataRow r = inputRow;
+            int batchSize;
+            while ((batchSize = rowInput.pollBatch(inBatch, BATCH_SIZE)) > 0) {
+                for (DataRow inputRow : inBatch) {
+                    outBatch.add(compute(inputRow));
+                }
+                rowOutput.pushBatch(outBatch);
+                index += batchSize;
+                final long i = index;
+                final DataRow r = inBatch.get(batchSize - 1);
                 ctx.setMessage(() -> String.format("Row %d (\"%s\"))", i, r.getKey()));
+                inBatch.clear();
+                outBatch.clear();
             }
             rowInput.close();
             rowOutput.close();
@@ -0,0 +1,81 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.node.workflow;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link WorkflowListener} that opts into batched event delivery. Workflow events are dispatched asynchronously;
+ * all events that accumulated for a workflow since the last dispatch cycle are handed to this listener in a single
+ * call (in the order they occurred). Redundant {@link WorkflowEvent.Type#WORKFLOW_DIRTY} events are coalesced.
+ *
+ * <p>
+ * Listeners that redo expensive work per event (e.g. a full refresh of a view) should implement this interface and
+ * process a whole batch at once.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public interface BatchWorkflowListener extends WorkflowListener {
+
+    /**
+     * Called from the manager with all events accumulated since the last dispatch cycle.
+     *
+     * @param events the non-empty, unmodifiable list of events, in the order they occurred
+     */
+    public void workflowChanged(final List<WorkflowEvent> events);
+
+    /**
+     * Delegates to {@link #workflowChanged(List)} with a singleton list.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public default void workflowChanged(final WorkflowEvent event) {
+        workflowChanged(Collections.singletonList(event));
+    }
+
+}
@@ -510,10 +510,12 @@ public PortType getUpstreamPortType(final int index) {
 
     static void save(final NativeNodeContainer nnc, final NodeSettingsWO settings,
         final ExecutionMonitor execMon, final ReferencedFile nodeDirRef,
-        final boolean isSaveData) throws IOException, CanceledExecutionException {
+        final boolean isSaveData, final WorkflowSaveHelper saveHelper)
+        throws IOException, CanceledExecutionException {
         saveNodeFactory(settings, nnc);
-        FileNodePersistor.save(nnc, settings, execMon, nodeDirRef,
-            isSaveData && nnc.getInternalState().equals(InternalNodeContainerState.EXECUTED));
+        saveHelper.addPendingDataWrite(FileNodePersistor.save(nnc, settings, execMon, nodeDirRef,
+            isSaveData && nnc.getInternalState().equals(InternalNodeContainerState.EXECUTED),
+            saveHelper.getDataWriteExecutor(), saveHelper.getFileStoreContentIndex()));
     }
 
     private static void saveNodeFactory(final NodeSettingsWO settings, final NativeNodeContainer nnc) {
@@ -51,24 +51,30 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.Node;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodePersistor.LoadNodeModelSettingsFailPolicy;
 import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.config.BinaryConfig;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.FlowLoopContext.RestoredFlowLoopContext;
 import org.knime.core.node.workflow.FlowVariable.Scope;
@@ -98,6 +104,10 @@ public abstract class FileSingleNodeContainerPersistor implements SingleNodeCont
 
     private NodeSettingsRO m_nodeSettings;
 
+    /** The content of settings.xml, read ahead of {@link #preLoadNodeContainer(WorkflowPersistor, NodeSettingsRO,
+     * LoadResult)} while the parent workflow loads other nodes. Null if not read ahead. */
+    private CompletableFuture<NodeSettingsRO> m_prefetchedNodeSettings;
+
     private SingleNodeContainerSettings m_sncSettings;
 
     private boolean m_needsResetAfterLoad;
@@ -209,13 +219,13 @@ public void preLoadNodeContainer(final WorkflowPersistor parentPersistor, final
         }
         NodeSettingsRO settings;
         try {
-            InputStream in = new FileInputStream(settingsFile);
-            // parentPersitor is null for loaded subnode templates
-            in = parentPersistor == null ? in : parentPersistor.decipherInput(in);
-            settings = NodeSettings.loadFromXML(new BufferedInputStream(in));
+            settings = m_prefetchedNodeSettings != null ? getPrefetchedNodeSettings()
+                : readNodeSettingsFile(settingsFile, parentPersistor);
         } catch (IOException ioe) {
             setDirtyAfterLoad();
             throw ioe;
+        } finally {
+            m_prefetchedNodeSettings = null;
         }
 
         boolean resetRequired = meta.load(settings, parentSettings, result);
@@ -230,6 +240,49 @@ public void preLoadNodeContainer(final WorkflowPersistor parentPersistor, final
 
     }
 
+    /**
+     * Starts reading and parsing the node's settings.xml in the argument executor. The result is picked up by
+     * {@link #preLoadNodeContainer(WorkflowPersistor, NodeSettingsRO, LoadResult)}, which is still called sequentially
+     * by the parent persistor. Errors are reported by that method as if the file was read there.
+     *
+     * @param parentPersistor the persistor of the parent workflow, its cipher must be loaded already
+     * @param executor the executor to read the file in
+     */
+    void prefetchNodeSettings(final WorkflowPersistor parentPersistor, final Executor executor) {
+        final File settingsFile = getMetaPersistor().getNodeSettingsFile().getFile();
+        m_prefetchedNodeSettings = CompletableFuture.supplyAsync(() -> {
+            try {
+                return readNodeSettingsFile(settingsFile, parentPersistor);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }, executor);
+    }
+
+    private NodeSettingsRO getPrefetchedNodeSettings() throws IOException {
+        try {
+            return m_prefetchedNodeSettings.join();
+        } catch (CompletionException ce) {
+            Throwable cause = ce.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException)cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private static NodeSettingsRO readNodeSettingsFile(final File settingsFile,
+        final WorkflowPersistor parentPersistor) throws IOException {
+        InputStream in = new FileInputStream(settingsFile);
+        // parentPersitor is null for loaded subnode templates
+        in = parentPersistor == null ? in : parentPersistor.decipherInput(in);
+        return NodeSettings.loadFromXML(new BufferedInputStream(in));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void loadNodeContainer(final Map<Integer, BufferedDataTable> tblRep, final ExecutionMonitor exec,
@@ -544,6 +597,8 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
         }
         boolean nodeDirDeleted = true;
         if (singleNC instanceof NativeNodeContainer) {
+            // lazily loaded outputs are read from the node directory (possibly the one about to be replaced)
+            ((NativeNodeContainer)singleNC).getNode().resolveLazyOutputObjects();
             nodeDirDeleted = deleteChildren(nodeDir, SingleNodeContainer.DROP_DIR_NAME);
         }
         nodeDir.mkdirs();
@@ -590,7 +645,8 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
         if (singleNC instanceof NativeNodeContainer) {
             NativeNodeContainer nativeNC = (NativeNodeContainer)singleNC;
             FileNativeNodeContainerPersistor.save(nativeNC, settings, exec, nodeDirRef,
-                saveHelper.isSaveData() && singleNC.getInternalState().equals(InternalNodeContainerState.EXECUTED));
+                saveHelper.isSaveData() && singleNC.getInternalState().equals(InternalNodeContainerState.EXECUTED),
+                saveHelper);
         } else {
             SubNodeContainer subnodeNC = (SubNodeContainer)singleNC;
             FileSubNodeContainerPersistor.save(subnodeNC, settings, exec, nodeDirRef, saveHelper);
@@ -598,7 +654,11 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
         File nodeSettingsXMLFile = new File(nodeDir, settingsDotXML);
         OutputStream os = new FileOutputStream(nodeSettingsXMLFile);
         os = singleNC.getDirectNCParent().cipherOutput(os);
-        settings.saveToXML(os);
+        if (Boolean.getBoolean(KNIMEConstants.PROPERTY_BINARY_NODE_SETTINGS) && BinaryConfig.canSave(settings)) {
+            BinaryConfig.save(settings, os);
+        } else {
+            settings.saveToXML(os);
+        }
         if (saveHelper.isAutoSave() && sncAutoSaveDirRef == null) {
             sncAutoSaveDirRef = nodeDirRef;
             singleNC.setAutoSaveDirectory(sncAutoSaveDirRef);
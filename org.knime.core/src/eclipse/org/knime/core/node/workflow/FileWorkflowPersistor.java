@@ -67,6 +67,11 @@
 import java.util.Set;
 import java.util.Stack;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.BufferedDataTable;
@@ -148,6 +153,10 @@ public String toString() {
 
     private static final String CFG_EDITOR_ZOOM = "workflow.editor.zoomLevel";
 
+    /** Reads the settings files of the nodes ahead of their sequential load, null if disabled.
+     * See {@link KNIMEConstants#PROPERTY_WORKFLOW_LOAD_THREADS}. */
+    private static final Executor SETTINGS_PREFETCH_EXECUTOR = createSettingsPrefetchExecutor();
+
     private static final String CFG_EDITOR_CURVED_CONNECTIONS = "workflow.editor.curvedConnections";
 
     private static final String CFG_EDITOR_CONNECTION_WIDTH = "workflow.editor.connectionWidth";
@@ -848,6 +857,8 @@ public void loadNodeContainer(final Map<Integer, BufferedDataTable> tblRep, fina
             new HashMap<Integer, NodeFactoryUnknownException>();
         exec.setMessage("node information");
         final ReferencedFile workflowDirRef = workflowKNIMEFile.getParent();
+        final Map<String, FromFileNodeContainerPersistor> prefetchingPersistors =
+            startPrefetchNodeSettings(nodes, workflowDirRef);
         /* Load nodes */
         for (String nodeKey : nodes.keySet()) {
             exec.checkCanceled();
@@ -927,16 +938,10 @@ public void loadNodeContainer(final Map<Integer, BufferedDataTable> tblRep, fina
                 failingNodeIDSet.add(nodeIDSuffix);
                 continue;
             }
-            FromFileNodeContainerPersistor persistor;
-            switch (nodeType) {
-                case MetaNode:
-                    persistor = createWorkflowPersistorLoad(nodeFile); break;
-                case NativeNode:
-                    persistor = createNativeNodeContainerPersistorLoad(nodeFile); break;
-                case SubNode:
-                    persistor = createSubNodeContainerPersistorLoad(nodeFile); break;
-                default:
-                    throw new IllegalStateException("Unknown node type: " + nodeType);
+            // non-null if its settings file is being read ahead
+            FromFileNodeContainerPersistor persistor = prefetchingPersistors.remove(nodeKey);
+            if (persistor == null) {
+                persistor = createNodeContainerPersistorLoad(nodeType, nodeFile);
             }
             try {
                 LoadResult childResult = new LoadResult(nodeType.toString() + " with ID suffix " + nodeIDSuffix);
@@ -1089,6 +1094,72 @@ public void loadNodeContainer(final Map<Integer, BufferedDataTable> tblRep, fina
         exec.setProgress(1.0);
     }
 
+    private FromFileNodeContainerPersistor createNodeContainerPersistorLoad(final NodeType nodeType,
+        final ReferencedFile nodeFile) {
+        switch (nodeType) {
+            case MetaNode:
+                return createWorkflowPersistorLoad(nodeFile);
+            case NativeNode:
+                return createNativeNodeContainerPersistorLoad(nodeFile);
+            case SubNode:
+                return createSubNodeContainerPersistorLoad(nodeFile);
+            default:
+                throw new IllegalStateException("Unknown node type: " + nodeType);
+        }
+    }
+
+    /**
+     * Creates the persistors of the native and component nodes in the argument settings and starts reading their
+     * settings.xml files in the background, see {@link FileSingleNodeContainerPersistor#prefetchNodeSettings(
+     * WorkflowPersistor, Executor)}. Nodes with incomplete settings are ignored here, their errors are reported by the
+     * sequential load.
+     *
+     * @return node keys mapped to the created persistors (possibly empty if reading ahead is disabled)
+     */
+    private Map<String, FromFileNodeContainerPersistor> startPrefetchNodeSettings(final NodeSettingsRO nodes,
+        final ReferencedFile workflowDirRef) {
+        if (SETTINGS_PREFETCH_EXECUTOR == null || getLoadVersion().isOlderThan(LoadVersion.V200)) {
+            return Collections.emptyMap();
+        }
+        Map<String, FromFileNodeContainerPersistor> result = new HashMap<>();
+        for (String nodeKey : nodes.keySet()) {
+            try {
+                NodeSettingsRO nodeSetting = nodes.getNodeSettings(nodeKey);
+                if (shouldSkipThisNode(nodeSetting)) {
+                    continue;
+                }
+                NodeType nodeType = loadNodeType(nodeSetting);
+                if (nodeType == NodeType.MetaNode) {
+                    continue;
+                }
+                ReferencedFile nodeFile = loadNodeFile(nodeSetting, workflowDirRef);
+                FromFileNodeContainerPersistor persistor = createNodeContainerPersistorLoad(nodeType, nodeFile);
+                ((FileSingleNodeContainerPersistor)persistor).prefetchNodeSettings(this, SETTINGS_PREFETCH_EXECUTOR);
+                result.put(nodeKey, persistor);
+            } catch (InvalidSettingsException e) {
+                // reported again during sequential load
+            }
+        }
+        return result;
+    }
+
+    private static Executor createSettingsPrefetchExecutor() {
+        final int nrThreads = Integer.getInteger(KNIMEConstants.PROPERTY_WORKFLOW_LOAD_THREADS,
+            Runtime.getRuntime().availableProcessors());
+        if (nrThreads <= 1) {
+            return null;
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(nrThreads, nrThreads, 10L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread t = new Thread(r, "KNIME-Workflow-Settings-Reader-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private NodeUIInformation loadNodeUIInformation(final NodeSettingsRO nodeSetting) throws InvalidSettingsException {
         // in previous releases, the settings were directly written to the
         // top-most node settings object; since 2.0 they are put into a
@@ -120,6 +120,10 @@ public static enum MemoryPolicy {
     private SingleNodeContainerSettings m_settings =
         new SingleNodeContainerSettings();
 
+    /** The model settings with flow variables applied as of the last configure, reused while neither the settings
+     * nor the flow variables change (see {@link #applySettingsUsingFlowObjectStack()}). */
+    private VariableOverlay m_lastVariableOverlay;
+
     /**
      * @param parent ...
      * @param id ...
@@ -330,31 +334,43 @@ private Map<String, FlowVariable> applySettingsUsingFlowObjectStack() throws Inv
         if (variablesSettings == null) {
             return Collections.emptyMap();
         }
-        NodeSettings fromModel = m_settings.getModelSettingsClone();
-        ConfigEditTreeModel configEditor;
-        try {
-            configEditor = ConfigEditTreeModel.create(fromModel, variablesSettings);
-        } catch (final InvalidSettingsException e) {
-            throw new InvalidSettingsException("Errors reading flow variables: " + e.getMessage(), e);
-        }
+        NodeSettingsRO modelSettings = m_settings.getModelSettings();
         Map<String, FlowVariable> flowVariablesMap = getFlowObjectStack().getAvailableFlowVariables();
         List<FlowVariable> newVariableList;
-        try {
-            newVariableList = configEditor.overwriteSettings(fromModel, flowVariablesMap);
-        } catch (InvalidSettingsException e) {
-            throw new InvalidSettingsException("Errors overwriting node settings with flow variables: "
-                + e.getMessage(), e);
+        VariableOverlay lastOverlay = m_lastVariableOverlay;
+        if (lastOverlay != null && lastOverlay.isValidFor(modelSettings, variablesSettings, flowVariablesMap)) {
+            // same settings and variables as in the previous configure - don't copy and overwrite again
+            newVariableList = lastOverlay.getExportedVariables();
+        } else {
+            m_lastVariableOverlay = null;
+            NodeSettings fromModel = m_settings.getModelSettingsClone();
+            ConfigEditTreeModel configEditor;
+            try {
+                configEditor = ConfigEditTreeModel.create(fromModel, variablesSettings);
+            } catch (final InvalidSettingsException e) {
+                throw new InvalidSettingsException("Errors reading flow variables: " + e.getMessage(), e);
+            }
+            try {
+                newVariableList = configEditor.overwriteSettings(fromModel, flowVariablesMap);
+            } catch (InvalidSettingsException e) {
+                throw new InvalidSettingsException("Errors overwriting node settings with flow variables: "
+                    + e.getMessage(), e);
+            }
+            lastOverlay = new VariableOverlay(modelSettings, variablesSettings, flowVariablesMap, fromModel,
+                newVariableList);
         }
 
         NodeContext.pushContext(this);
         try {
-            performValidateSettings(fromModel);
-            performLoadModelSettingsFrom(fromModel);
+            // the node may modify the settings it is handed, hence each call gets its own copy of the cached ones
+            performValidateSettings(lastOverlay.getOverlaidSettingsClone());
+            performLoadModelSettingsFrom(lastOverlay.getOverlaidSettingsClone());
         } catch (InvalidSettingsException e) {
             throw new InvalidSettingsException("Errors loading flow variables into node : " + e.getMessage(), e);
         } finally {
             NodeContext.removeLastContext();
         }
+        m_lastVariableOverlay = lastOverlay;
         Map<String, FlowVariable> newVariableHash = new LinkedHashMap<String, FlowVariable>();
         for (FlowVariable v : newVariableList) {
             if (newVariableHash.put(v.getName(), v) != null) {
@@ -364,6 +380,54 @@ private Map<String, FlowVariable> applySettingsUsingFlowObjectStack() throws Inv
         return newVariableHash;
     }
 
+    /** Model settings with flow variables applied, along with the inputs they were derived from. The settings
+     * objects are compared by identity as they are replaced (not modified) when the node's settings change.
+     * Package scope for testing. */
+    static final class VariableOverlay {
+
+        private final NodeSettingsRO m_modelSettings;
+        private final NodeSettingsRO m_variablesSettings;
+        private final Map<String, FlowVariable> m_flowVariables;
+        private final NodeSettings m_overlaidSettings;
+        private final List<FlowVariable> m_exportedVariables;
+
+        VariableOverlay(final NodeSettingsRO modelSettings, final NodeSettingsRO variablesSettings,
+            final Map<String, FlowVariable> flowVariables, final NodeSettings overlaidSettings,
+            final List<FlowVariable> exportedVariables) {
+            m_modelSettings = modelSettings;
+            m_variablesSettings = variablesSettings;
+            m_flowVariables = flowVariables;
+            m_overlaidSettings = new NodeSettings(overlaidSettings.getKey());
+            overlaidSettings.copyTo(m_overlaidSettings);
+            m_exportedVariables = new ArrayList<FlowVariable>(exportedVariables.size());
+            for (FlowVariable v : exportedVariables) {
+                m_exportedVariables.add(FlowObjectStack.cloneUnsetOwner(v));
+            }
+        }
+
+        boolean isValidFor(final NodeSettingsRO modelSettings, final NodeSettingsRO variablesSettings,
+            final Map<String, FlowVariable> flowVariables) {
+            return m_modelSettings == modelSettings && m_variablesSettings == variablesSettings
+                && m_flowVariables.equals(flowVariables);
+        }
+
+        /** @return a new copy of the settings with flow variables applied, never the cached instance. */
+        NodeSettings getOverlaidSettingsClone() {
+            NodeSettings s = new NodeSettings(m_overlaidSettings.getKey());
+            m_overlaidSettings.copyTo(s);
+            return s;
+        }
+
+        /** @return new copies of the variables exported by the overlaid settings. */
+        List<FlowVariable> getExportedVariables() {
+            List<FlowVariable> result = new ArrayList<FlowVariable>(m_exportedVariables.size());
+            for (FlowVariable v : m_exportedVariables) {
+                result.add(FlowObjectStack.cloneUnsetOwner(v));
+            }
+            return result;
+        }
+    }
+
     /** Load cleaned and "variable adjusted" into underlying implementation.  Throws exception
      * if validation of settings fails or other problems occur.
      *
@@ -1456,6 +1456,19 @@ NodeID getMatchingLoopStart(final NodeID id) throws IllegalLoopException {
      */
     ArrayList<NodeAndInports> findAllNodesConnectedToLoopBody(final NodeID startNode, final NodeID endNode)
             throws IllegalLoopException {
+        // the body is requested (at least) once per loop iteration but only changes with the workflow structure
+        final Pair<NodeID, NodeID> key = new Pair<NodeID, NodeID>(startNode, endNode);
+        List<NodeAndInports> cachedBody = m_loopBodyCache.get(key);
+        if (cachedBody == null) {
+            cachedBody = Collections.unmodifiableList(findAllNodesConnectedToLoopBodyUncached(startNode, endNode));
+            m_loopBodyCache.put(key, cachedBody);
+        }
+        return new ArrayList<NodeAndInports>(cachedBody);
+    }
+
+    /** Implementation of {@link #findAllNodesConnectedToLoopBody(NodeID, NodeID)}, doing the graph traversal. */
+    private ArrayList<NodeAndInports> findAllNodesConnectedToLoopBodyUncached(final NodeID startNode,
+        final NodeID endNode) throws IllegalLoopException {
         ArrayList<NodeAndInports> tempOutput = findAllNodesInbetween(startNode, null, endNode);
         if (startNode.equals(endNode)) {
             // silly case - start = end node.
@@ -1559,9 +1572,15 @@ public NodeGraphAnnotation getSingleNodeGraphAnnotation(final NodeID id)
     /** hold graph based annotations for all nodes. */
     private ArrayList<NodeGraphAnnotation> m_nodeAnnotationCache = null;
 
+    /** loop bodies as per {@link #findAllNodesConnectedToLoopBody(NodeID, NodeID)}, key is start and end node.
+     * Cleared along with the graph annotations. */
+    private final Map<Pair<NodeID, NodeID>, List<NodeAndInports>> m_loopBodyCache =
+        new HashMap<Pair<NodeID, NodeID>, List<NodeAndInports>>();
+
     /** clean cache - called internally whenever the structure (connections/nodes) are altered. */
     private void clearGraphAnnotationCache() {
         m_nodeAnnotationCache = null;
+        m_loopBodyCache.clear();
         // also clear cache in parent - changes here may affect the connectivity outside as well.
         if (m_wfm != null && m_wfm.getParent() != null && m_wfm.getParent().getWorkflow() != null) {
             m_wfm.getParent().getWorkflow().clearGraphAnnotationCache();
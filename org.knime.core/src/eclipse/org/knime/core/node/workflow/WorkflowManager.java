@@ -186,6 +186,7 @@
 import org.knime.core.quickform.AbstractQuickFormConfiguration;
 import org.knime.core.quickform.AbstractQuickFormValueInConfiguration;
 import org.knime.core.quickform.in.QuickFormInputNode;
+import org.knime.core.util.BackgroundFileDeleter;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.IEarlyStartup;
 import org.knime.core.util.LoadVersion;
@@ -227,6 +228,15 @@ public Thread newThread(final Runnable r) {
         }
     });
 
+    /** Executor reading lazily loaded output objects ahead of their first access, see
+     * {@link #prefetchLazyOutputObjects()}. */
+    private static final Executor OUTPUT_PREFETCHER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "KNIME-Output-Prefetcher");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
     /**
      * Executor for asynchronous invocation of queueCheckForNodeStateChangeNotification in an unconnected parent. If a
      * queueCheckForNodeStateChangeNotification-Thread is already waiting, additional ones will be discarded.
@@ -304,6 +314,10 @@ public Thread newThread(final Runnable r) {
     /** Listeners interested in status changes. */
     private final CopyOnWriteArrayList<WorkflowListener> m_wfmListeners;
 
+    /** Events (and the listeners registered at the time the event occurred) not yet dispatched by the
+     * {@link #WORKFLOW_NOTIFIER}. Guarded by itself. */
+    private final List<Pair<WorkflowEvent, WorkflowListener[]>> m_pendingWorkflowEvents = new ArrayList<>();
+
     /**
      * Semaphore to make sure we never deal with inconsistent nodes within the workflow. Changes to state or outputs
      * (port/data) need to synchronize against this so that nodes collecting input (states/specs/data) can make sure
@@ -2864,7 +2878,9 @@ private boolean queueIfQueuable(final NodeContainer nc) {
     boolean doBeforePreExecution(final NodeContainer nc) {
         assert !nc.isLocalWFM() : "No execution of local metanodes";
         try (WorkflowLock lock = lock()) {
-            LOGGER.debug(nc.getNameWithID() + " doBeforePreExecution");
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(nc.getNameWithID() + " doBeforePreExecution");
+            }
             if (nc.performStateTransitionPREEXECUTE()) {
                 lock.queueCheckForNodeStateChangeNotification(true);
                 return true;
@@ -2884,7 +2900,9 @@ boolean doBeforePreExecution(final NodeContainer nc) {
     void doBeforePostExecution(final NodeContainer nc, final NodeContainerExecutionStatus status) {
         assert !nc.isLocalWFM() : "No execution of local metanodes";
         try (WorkflowLock lock = lock()) {
-            LOGGER.debug(nc.getNameWithID() + " doBeforePostExecution");
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(nc.getNameWithID() + " doBeforePostExecution");
+            }
             if (nc instanceof NativeNodeContainer && status.isSuccess()) {
                 NativeNodeContainer nnc = (NativeNodeContainer)nc;
                 if (nnc.getExecutionEnvironment().getUseAsDefault()) {
@@ -2908,10 +2926,12 @@ void doBeforePostExecution(final NodeContainer nc, final NodeContainerExecutionS
     void doBeforeExecution(final NodeContainer nc) {
         assert !nc.getID().equals(this.getID());
         assert !nc.isLocalWFM() : "No execution of local metanodes";
+        nc.getNodeTimer().startExec();
         try (WorkflowLock lock = lock()) {
             // allow NNC to update states etc
-            LOGGER.debug(nc.getNameWithID() + " doBeforeExecution");
-            nc.getNodeTimer().startExec();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(nc.getNameWithID() + " doBeforeExecution");
+            }
             if (nc instanceof SingleNodeContainer) {
                 FlowObjectStack flowObjectStack = nc.getFlowObjectStack();
                 FlowLoopContext slc = flowObjectStack.peek(FlowLoopContext.class);
@@ -2975,10 +2995,13 @@ void doAfterExecution(final NodeContainer nc, final NodeContainerExecutionStatus
         assert isLocalWFM() : "doAfterExecute not allowed for remotely executing workflows";
         assert !nc.getID().equals(this.getID());
         boolean success = status.isSuccess();
+        // the timer update contributes to the (global, synchronized) node statistics - do it before acquiring the
+        // workflow lock so that independent branches don't serialize on the statistics monitor while holding it
+        nc.getNodeTimer().endExec(success);
         try (WorkflowLock lock = lock()) {
-            nc.getNodeTimer().endExec(success);
-            String st = success ? " - success" : " - failure";
-            LOGGER.debug(nc.getNameWithID() + " doAfterExecute" + st);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(nc.getNameWithID() + " doAfterExecute" + (success ? " - success" : " - failure"));
+            }
             if (!success) {
                 disableNodeForExecution(nc.getID());
             }
@@ -7190,7 +7213,9 @@ public void removeListener(final WorkflowListener listener) {
     }
 
     /**
-     * Fire event to all listeners.
+     * Fire event to all listeners. Events are queued and dispatched asynchronously; all events accumulated until the
+     * notifier thread gets to this workflow are delivered in one cycle (see {@link BatchWorkflowListener}), so that at
+     * most one dispatch task per workflow is queued at any time.
      *
      * @param evt event
      */
@@ -7198,21 +7223,60 @@ private final void notifyWorkflowListeners(final WorkflowEvent evt) {
         if (m_wfmListeners.isEmpty()) {
             return;
         }
-        // the iterator is based on the current(!) set of listeners
+        // the event is delivered to the current(!) set of listeners
         // (problem was: during load the addNodeContainer method fired an event
         // by using this method - the event got delivered at a point where
         // the workflow editor was registered and marked the flow as being dirty
         // although it was freshly loaded)
-        final Iterator<WorkflowListener> it = m_wfmListeners.iterator();
-        WORKFLOW_NOTIFIER.execute(new Runnable() {
-            /** {@inheritDoc} */
-            @Override
-            public void run() {
-                while (it.hasNext()) {
-                    it.next().workflowChanged(evt);
+        final WorkflowListener[] listeners = m_wfmListeners.toArray(new WorkflowListener[0]);
+        final boolean isDispatchScheduled;
+        synchronized (m_pendingWorkflowEvents) {
+            isDispatchScheduled = !m_pendingWorkflowEvents.isEmpty();
+            m_pendingWorkflowEvents.add(new Pair<>(evt, listeners));
+        }
+        if (!isDispatchScheduled) {
+            WORKFLOW_NOTIFIER.execute(this::dispatchPendingWorkflowEvents);
+        }
+    }
+
+    /** Delivers all events queued by {@link #notifyWorkflowListeners(WorkflowEvent)}. Consecutive events with the same
+     * set of listeners form one batch, duplicate {@link WorkflowEvent.Type#WORKFLOW_DIRTY} events within a batch are
+     * dropped. Called in the {@link #WORKFLOW_NOTIFIER} thread. */
+    private void dispatchPendingWorkflowEvents() {
+        final List<Pair<WorkflowEvent, WorkflowListener[]>> pending;
+        synchronized (m_pendingWorkflowEvents) {
+            pending = new ArrayList<>(m_pendingWorkflowEvents);
+            m_pendingWorkflowEvents.clear();
+        }
+        int batchStart = 0;
+        while (batchStart < pending.size()) {
+            final WorkflowListener[] listeners = pending.get(batchStart).getSecond();
+            final List<WorkflowEvent> batch = new ArrayList<>();
+            final Set<NodeID> dirtyIDs = new HashSet<>();
+            int batchEnd = batchStart;
+            while (batchEnd < pending.size() && Arrays.equals(listeners, pending.get(batchEnd).getSecond())) {
+                final WorkflowEvent evt = pending.get(batchEnd++).getFirst();
+                if (evt.getType() != WorkflowEvent.Type.WORKFLOW_DIRTY || dirtyIDs.add(evt.getID())) {
+                    batch.add(evt);
+                }
+            }
+            final List<WorkflowEvent> unmodifiableBatch = Collections.unmodifiableList(batch);
+            for (WorkflowListener l : listeners) {
+                try {
+                    if (l instanceof BatchWorkflowListener) {
+                        ((BatchWorkflowListener)l).workflowChanged(unmodifiableBatch);
+                    } else {
+                        for (WorkflowEvent evt : unmodifiableBatch) {
+                            l.workflowChanged(evt);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.error("Exception (\"" + e.getClass().getSimpleName() + "\") during workflow event "
+                        + "notification: " + e.getMessage(), e);
                 }
             }
-        });
+            batchStart = batchEnd;
+        }
     }
 
     // bug fix 1810, notify children about possible job manager changes
@@ -7632,9 +7696,54 @@ public WorkflowLoadResult load(final FileWorkflowPersistor persistor, final Exec
                 message.append("with ").append(result.getType());
         }
         LOGGER.debug(message.toString());
+        manager.prefetchLazyOutputObjects();
         return result;
     }
 
+    /**
+     * Reads the lazily loaded output objects of executed nodes in the background if a successor of the node is not
+     * executed yet - these outputs are likely accessed next (when the successor executes). All other output objects
+     * are read on first access.
+     */
+    private void prefetchLazyOutputObjects() {
+        try (WorkflowLock lock = lock()) {
+            for (NodeContainer nc : m_workflow.getNodeValues()) {
+                if (nc instanceof WorkflowManager) {
+                    ((WorkflowManager)nc).prefetchLazyOutputObjects();
+                } else if (nc instanceof SubNodeContainer) {
+                    ((SubNodeContainer)nc).getWorkflowManager().prefetchLazyOutputObjects();
+                } else if (nc instanceof NativeNodeContainer
+                        && nc.getInternalState().equals(InternalNodeContainerState.EXECUTED)) {
+                    final NativeNodeContainer nnc = (NativeNodeContainer)nc;
+                    final Node node = nnc.getNode();
+                    if (node.hasLazyOutputObjects() && hasNonExecutedSuccessor(nnc)) {
+                        OUTPUT_PREFETCHER.execute(() -> {
+                            NodeContext.pushContext(nnc);
+                            try {
+                                for (int i = 0; i < node.getNrOutPorts(); i++) {
+                                    node.getOutputObject(i);
+                                }
+                            } finally {
+                                NodeContext.removeLastContext();
+                            }
+                        });
+                    }
+                }
+            }
+        }
+    }
+
+    /** @return true if a node connected to an output of the argument node is not executed (or is this workflow). */
+    private boolean hasNonExecutedSuccessor(final NodeContainer nc) {
+        for (ConnectionContainer cc : m_workflow.getConnectionsBySource(nc.getID())) {
+            NodeContainer dest = m_workflow.getNode(cc.getDest());
+            if (dest == null || !dest.getInternalState().equals(InternalNodeContainerState.EXECUTED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Implementation of {@link #load(FileWorkflowPersistor, ExecutionMonitor, boolean)}.
      *
@@ -8187,10 +8296,25 @@ public void save(final File directory, final WorkflowSaveHelper saveHelper, fina
                 final File workflowDir = directoryReference.getFile();
                 workflowDir.mkdirs();
                 boolean isTemplate = getTemplateInformation().getRole().equals(Role.Template);
-                if (isTemplate) {
-                    FileWorkflowPersistor.saveAsTemplate(this, directoryReference, exec, saveHelper);
-                } else {
-                    FileWorkflowPersistor.save(this, directoryReference, exec, saveHelper);
+                // node tables are written in the background while the remaining nodes are saved
+                saveHelper.startParallelDataWrites();
+                boolean isSuccess = false;
+                try {
+                    if (isTemplate) {
+                        FileWorkflowPersistor.saveAsTemplate(this, directoryReference, exec, saveHelper);
+                    } else {
+                        FileWorkflowPersistor.save(this, directoryReference, exec, saveHelper);
+                    }
+                    saveHelper.awaitPendingDataWrites();
+                    isSuccess = true;
+                } finally {
+                    if (!isSuccess) {
+                        saveHelper.cancelPendingDataWrites();
+                        // nodes were possibly marked as saved before their data was written
+                        setDirtyAll();
+                    }
+                }
+                if (!isTemplate) {
                     WorkflowSaveHook.runHooks(this, saveHelper.isSaveData(), workflowDir);
                 }
             } finally {
@@ -8721,15 +8845,7 @@ void cleanup() {
             getConnectionContainers().stream().forEach(c -> c.cleanup());
             if (m_tmpDir != null) {
                 // delete the flow temp dir that we created
-                KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (m_tmpDir.isDirectory() && !FileUtil.deleteRecursively(m_tmpDir)) {
-                            LOGGER.info(
-                                "Could not delete temporary directory for workflow " + getName() + " at " + m_tmpDir);
-                        }
-                    }
-                });
+                BackgroundFileDeleter.delete(m_tmpDir);
             }
 
             //unset workflow annotation ids (in case they are about to be used somewhere else)
@@ -49,8 +49,21 @@
 package org.knime.core.node.workflow;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.knime.core.data.filestore.internal.FileStoreContentIndex;
 import org.knime.core.internal.ReferencedFile;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.KNIMEConstants;
 
 /**
  * Helper object to specify options when workflow gets saved.
@@ -63,6 +76,17 @@ public final class WorkflowSaveHelper {
     private boolean m_isAutoSave;
     private boolean m_isSaveWizardController;
 
+    /** Writes node tables in the background, null if disabled.
+     * See {@link KNIMEConstants#PROPERTY_WORKFLOW_SAVE_THREADS}. */
+    private static final ExecutorService DATA_WRITE_EXECUTOR = createDataWriteExecutor();
+
+    /** Data writes not yet completed, null unless enabled via {@link #startParallelDataWrites()}. */
+    private List<Future<Void>> m_pendingDataWrites;
+
+    /** Links identical file store files of all nodes saved in one save operation, see
+     * {@link #startParallelDataWrites()}. */
+    private FileStoreContentIndex m_fileStoreContentIndex;
+
     /**
      * @param saveData ...
      * @param isAutoSave ...
@@ -106,6 +130,99 @@ public WorkflowSaveHelper setSaveWizardController(final boolean value) {
         return this;
     }
 
+    /** Enables writing node tables in the background until {@link #awaitPendingDataWrites()} is called. Only to be
+     * used by callers that also await the writes. */
+    void startParallelDataWrites() {
+        m_pendingDataWrites = DATA_WRITE_EXECUTOR != null ? new ArrayList<>() : null;
+        m_fileStoreContentIndex = new FileStoreContentIndex();
+    }
+
+    /** @return the index to save file store files with (shared by all nodes in the current save operation) or null if
+     * not in a save operation started with {@link #startParallelDataWrites()}. */
+    FileStoreContentIndex getFileStoreContentIndex() {
+        return m_fileStoreContentIndex;
+    }
+
+    /** @return the executor to write node tables in or null if they are to be written in the saving thread. */
+    ExecutorService getDataWriteExecutor() {
+        return m_pendingDataWrites != null ? DATA_WRITE_EXECUTOR : null;
+    }
+
+    /** @param dataWrite pending table writes of a node, returned by a save method that was passed
+     * {@link #getDataWriteExecutor()}. */
+    void addPendingDataWrite(final Future<Void> dataWrite) {
+        if (m_pendingDataWrites != null) {
+            m_pendingDataWrites.add(dataWrite);
+        }
+    }
+
+    /**
+     * Waits for all pending data writes and disables writing in the background again. If one write fails, the other
+     * ones are canceled.
+     *
+     * @throws IOException if a write failed with an I/O problem
+     * @throws CanceledExecutionException if a write was canceled
+     */
+    void awaitPendingDataWrites() throws IOException, CanceledExecutionException {
+        List<Future<Void>> pendingWrites = m_pendingDataWrites;
+        m_pendingDataWrites = null;
+        m_fileStoreContentIndex = null;
+        if (pendingWrites == null) {
+            return;
+        }
+        try {
+            for (Future<Void> f : pendingWrites) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CanceledExecutionException("Interrupted while waiting for data to be written");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        } finally {
+            for (Future<Void> f : pendingWrites) {
+                f.cancel(true);
+            }
+        }
+    }
+
+    /** Cancels all pending data writes and disables writing in the background again. Used when saving failed. */
+    void cancelPendingDataWrites() {
+        List<Future<Void>> pendingWrites = m_pendingDataWrites;
+        m_pendingDataWrites = null;
+        m_fileStoreContentIndex = null;
+        if (pendingWrites != null) {
+            pendingWrites.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private static ExecutorService createDataWriteExecutor() {
+        final int nrThreads = Integer.getInteger(KNIMEConstants.PROPERTY_WORKFLOW_SAVE_THREADS,
+            Runtime.getRuntime().availableProcessors());
+        if (nrThreads <= 1) {
+            return null;
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(nrThreads, nrThreads, 10L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread t = new Thread(r, "KNIME-Workflow-Data-Writer-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public static File getAutoSaveDirectory(final ReferencedFile workflowDir) {
         File f = workflowDir.getFile();
         return new File(f.getParentFile(), "." + f.getName() + ".autoSave");
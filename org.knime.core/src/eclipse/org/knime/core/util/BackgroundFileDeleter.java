@@ -0,0 +1,264 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Deletes temporary files and directories (table files, blob and file store directories, ...) in background threads.
+ * Files to delete are first renamed (within their parent directory) to a name starting with {@value #TRASH_PREFIX},
+ * so that the caller returns instantly and the original location is free for reuse. The renamed files are then deleted
+ * by a small pool of threads; directories are deleted with a single {@link Files#walkFileTree(Path,
+ * java.nio.file.FileVisitor) walk}, which does not follow symbolic links.
+ *
+ * <p>
+ * Files that could not be deleted (e.g. because the application was terminated before all deletions completed) keep
+ * their trash name and are deleted the next time this class is initialized, see
+ * {@link KNIMEConstants#getKNIMETempPath()}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class BackgroundFileDeleter {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BackgroundFileDeleter.class);
+
+    /** Prefix of files that are about to be deleted. */
+    static final String TRASH_PREFIX = ".knime-deleting-";
+
+    private static final int MAX_THREADS = 4;
+
+    private static final AtomicLong TRASH_UNIFIER = new AtomicLong((long)(100000 * Math.random()));
+
+    private static final ExecutorService EXECUTOR;
+
+    private static final Object LOCK = new Object();
+
+    /** Number of queued or running deletions, guarded by {@link #LOCK}. */
+    private static int pendingCount;
+
+    /** Set when waiting for deletions in a shutdown hook, no logging is done then (bug fix #862). */
+    private static volatile boolean isShuttingDown;
+
+    static {
+        final int nrThreads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() / 2));
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(nrThreads, nrThreads, 10L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread t = new Thread(r, "KNIME-Temp-File-Deleter-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        EXECUTOR = executor;
+        submit(BackgroundFileDeleter::deleteLeftovers);
+    }
+
+    private BackgroundFileDeleter() {
+    }
+
+    /**
+     * Queues files or directories for deletion and returns immediately. Files that don't exist are ignored.
+     *
+     * @param files the files or directories to delete, <code>null</code> elements are ignored
+     */
+    public static void delete(final File... files) {
+        for (File file : files) {
+            if (file == null || !Files.exists(file.toPath(), LinkOption.NOFOLLOW_LINKS)) {
+                continue;
+            }
+            final File trash = moveToTrash(file);
+            FileUtil.unregisterTempFile(file);
+            submit(() -> deleteWithRetry(file, trash));
+        }
+    }
+
+    /**
+     * Blocks the calling thread until all queued deletions have been executed. Intended to be called from shutdown
+     * hooks, deletions are not logged afterwards.
+     */
+    public static void waitUntilFinished() {
+        isShuttingDown = true;
+        synchronized (LOCK) {
+            while (pendingCount > 0) {
+                try {
+                    LOCK.wait();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void submit(final Runnable deletion) {
+        synchronized (LOCK) {
+            pendingCount++;
+        }
+        EXECUTOR.execute(() -> {
+            try {
+                deletion.run();
+            } finally {
+                synchronized (LOCK) {
+                    pendingCount--;
+                    LOCK.notifyAll();
+                }
+            }
+        });
+    }
+
+    /** Renames the argument within its parent directory, returns the argument if that isn't possible. */
+    private static File moveToTrash(final File file) {
+        final File parent = file.getParentFile();
+        if (parent == null || file.getName().startsWith(TRASH_PREFIX)) {
+            return file;
+        }
+        final File trash = new File(parent, TRASH_PREFIX + TRASH_UNIFIER.incrementAndGet());
+        return file.renameTo(trash) ? trash : file;
+    }
+
+    private static void deleteWithRetry(final File original, final File file) {
+        boolean deleted = deleteTree(file.toPath());
+        if (!deleted) {
+            // although all streams are closed, files can sometimes only be deleted after a gc (only seen on windows)
+            System.gc();
+            deleted = deleteTree(file.toPath());
+        }
+        if (isShuttingDown) {
+            return;
+        }
+        if (deleted) {
+            LOGGER.debug("Deleted temporary file \"" + original.getAbsolutePath() + "\"");
+        } else {
+            LOGGER.debug("Failed to delete temporary file \"" + original.getAbsolutePath() + "\" (as \""
+                + file.getAbsolutePath() + "\")");
+        }
+    }
+
+    /**
+     * Deletes a file or directory, not following symbolic links. The walk continues if single files can't be deleted.
+     *
+     * @param root the file or directory to delete
+     * @return whether the root was deleted (or didn't exist)
+     */
+    static boolean deleteTree(final Path root) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    deleteQuietly(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                    deleteQuietly(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+                    deleteQuietly(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            // only thrown by the visitor; checked below
+        }
+        return !Files.exists(root, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // checked by caller (root still exists)
+        }
+    }
+
+    /** Deletes trash files of previous sessions, located in the temp dir or in the temp dirs of workflows. */
+    private static void deleteLeftovers() {
+        final Path tempPath = KNIMEConstants.getKNIMETempPath();
+        if (tempPath == null) {
+            return;
+        }
+        final File[] children = tempPath.toFile().listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.getName().startsWith(TRASH_PREFIX)) {
+                deleteWithRetry(child, child);
+            } else if (child.isDirectory()) {
+                final File[] trashFiles = child.listFiles((dir, name) -> name.startsWith(TRASH_PREFIX));
+                if (trashFiles != null) {
+                    for (File trash : trashFiles) {
+                        deleteWithRetry(trash, trash);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -381,6 +381,16 @@ private static boolean deleteRecursively(final File dir, final boolean removeFro
         }
     } // deleteRecursively(File)
 
+    /**
+     * Removes the argument from the list of temporary files that are deleted on shutdown, used when a file is deleted
+     * in the background (see {@link BackgroundFileDeleter}).
+     *
+     * @param file the file or directory
+     */
+    static void unregisterTempFile(final File file) {
+        TEMP_FILES.remove(file);
+    }
+
     // size of read buffer when reading/writing from/to a zip stream
     private static final int BUFF_SIZE = 16384;
 